@@ -0,0 +1,97 @@
+package com.example.tomo.Friends;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// 공통 친구 수: 인메모리 병합 교집합 vs friend self-join (MySQL, Docker 필요)
+// 사용자 2만 명 × 평균 친구 50명 = friend 행 약 100만 개
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FriendGraphBenchmark {
+
+    static final int USERS = 20_000;
+    static final int FRIENDS_PER_USER = 25;
+
+    MySQLContainer<?> mysql;
+    JdbcTemplate jdbcTemplate;
+    FriendGraph graph;
+    long[][] pairs;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+        mysql.start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                mysql.getJdbcUrl() + "?rewriteBatchedStatements=true", mysql.getUsername(), mysql.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE friend ("
+                + "friend_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                + "user_id BIGINT, friend_user_id BIGINT, "
+                + "UNIQUE KEY uk_friend_user_friend (user_id, friend_user_id), "
+                + "KEY idx_friend_friend_user_user (friend_user_id, user_id))");
+
+        // 각 사용자가 무작위로 FRIENDS_PER_USER 명에게 친구 추가 (관계당 (작은 id, 큰 id) 한 행)
+        Random random = new Random(42);
+        Set<Long> seen = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (long user = 1; user <= USERS; user++) {
+            for (int i = 0; i < FRIENDS_PER_USER; i++) {
+                long friend = 1 + random.nextInt(USERS);
+                long key = Math.min(user, friend) * (USERS + 1) + Math.max(user, friend);
+                if (friend == user || !seen.add(key)) {
+                    continue;
+                }
+                rows.add(new Object[]{Math.min(user, friend), Math.max(user, friend)});
+            }
+        }
+        for (int from = 0; from < rows.size(); from += 10_000) {
+            jdbcTemplate.batchUpdate("INSERT INTO friend (user_id, friend_user_id) VALUES (?, ?)",
+                    rows.subList(from, Math.min(from + 10_000, rows.size())));
+        }
+
+        graph = new FriendGraph(new FriendGraphRepository(dataSource), (MeterRegistry) null);
+        graph.rebuild();
+
+        pairs = new long[1024][];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new long[]{1 + random.nextInt(USERS), 1 + random.nextInt(USERS)};
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mysql.stop();
+    }
+
+    @Benchmark
+    public int inMemory() {
+        long[] pair = pairs[next++ & (pairs.length - 1)];
+        return graph.mutualFriendCount(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public Integer sqlSelfJoin() {
+        long[] pair = pairs[next++ & (pairs.length - 1)];
+        String friendsOf = "SELECT friend_user_id AS id FROM friend WHERE user_id = ? "
+                + "UNION ALL SELECT user_id FROM friend WHERE friend_user_id = ?";
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (" + friendsOf + ") a JOIN (" + friendsOf + ") b ON b.id = a.id",
+                Integer.class, pair[0], pair[0], pair[1], pair[1]);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.tomo.global.Auth;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 폐기 목록 확인 지연 시간 (요청마다 실행되는 경로)
+// 할당 여부는 ./gradlew jmh -Pjmh.profilers=gc 의 gc.alloc.rate.norm 으로 확인
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JtiBloomFilterBenchmark {
+
+    JtiBloomFilter filter;
+    String revokedJti;
+    String activeJti;
+
+    @Setup
+    public void setUp() {
+        filter = new JtiBloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+        revokedJti = UUID.randomUUID().toString();
+        filter.put(revokedJti);
+        activeJti = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean activeToken() {
+        return filter.mightContain(activeJti);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return filter.mightContain(revokedJti);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.tomo.jwt;
+
+import com.example.tomo.Users.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 알고리즘별 서명/검증 처리량 (검증 캐시를 거치지 않도록 RefreshToken 경로로 검증)
+// 실행: ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtSigningBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-for-tomo-jwt-provider-0123456789-abcdefghij";
+    static final UserPrincipal PRINCIPAL = new UserPrincipal(1L, "uid-1", "user@test.com", "user", 0);
+
+    @Param({"HMAC", "ES256"})
+    String algorithm;
+
+    JwtTokenProvider provider;
+    String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        if (algorithm.equals("HMAC")) {
+            provider = new JwtTokenProvider(SECRET, 10_000);
+        } else {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            provider = new JwtTokenProvider(new JwtKeyRing(null, "k1", keyPair.getPrivate(),
+                    Map.of("k1", (ECPublicKey) keyPair.getPublic())), 10_000);
+        }
+        token = provider.createRefreshToken("uid-1");
+    }
+
+    @Benchmark
+    public String sign() {
+        return provider.createAccessToken(PRINCIPAL);
+    }
+
+    @Benchmark
+    public String verify() throws Exception {
+        return provider.validateRefreshTokenAndGetUuid(token);
+    }
+}
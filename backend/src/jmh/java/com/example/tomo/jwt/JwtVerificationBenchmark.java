@@ -0,0 +1,76 @@
+package com.example.tomo.jwt;
+
+import com.example.tomo.Users.UserPrincipal;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+// AccessToken 검증 처리량 비교 (64 스레드)
+// cold: 요청마다 parser 생성 + 서명 검증 (기존 방식)
+// prebuiltParser: 검증 캐시를 끈(크기 0) JwtTokenProvider.verifyAccessToken → 미리 만든 parser 로 매번 서명 검증
+// cached: JwtTokenProvider.verifyAccessToken 의 검증 캐시 사용
+// 실행: ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-for-tomo-jwt-provider-0123456789-abcdefghij";
+
+    JwtTokenProvider provider;
+    JwtTokenProvider uncachedProvider;
+    Key key;
+    String[] tokens;
+
+    @Param({"1000"})
+    int distinctTokens;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 10_000);
+        uncachedProvider = new JwtTokenProvider(SECRET, 0);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            tokens[i] = provider.createAccessToken(new UserPrincipal((long) i, "uid-" + i, "user" + i + "@test.com", "user" + i, 0));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        String next(String[] tokens) {
+            index = (index + 1) % tokens.length;
+            return tokens[index];
+        }
+    }
+
+    @Benchmark
+    public String cold(Cursor cursor) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(cursor.next(tokens))
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String prebuiltParser(Cursor cursor) throws Exception {
+        return uncachedProvider.verifyAccessToken(cursor.next(tokens)).principal().firebaseId();
+    }
+
+    @Benchmark
+    public String cached(Cursor cursor) throws Exception {
+        return provider.verifyAccessToken(cursor.next(tokens)).principal().firebaseId();
+    }
+}
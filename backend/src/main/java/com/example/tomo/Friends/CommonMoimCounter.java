@@ -0,0 +1,53 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Moim_people.MoimPeopleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Moim_people 변경 시점에 친구 쌍별 공통 모임 수를 증분으로 갱신
+@Component
+@RequiredArgsConstructor
+public class CommonMoimCounter {
+
+    private final FriendRepository friendRepository;
+    private final MoimPeopleRepository moimPeopleRepository;
+    private final FriendShipPolicy friendShipPolicy;
+    private final FriendLeaderboardService friendLeaderboardService;
+
+    // 새 친구 관계의 공통 모임 수와 초기 점수 설정 (저장 전에 호출)
+    public void initialize(Friend friend) {
+        int count = (int) moimPeopleRepository.countCommonMoims(
+                friend.getUser().getId(),
+                friend.getFriend().getId()
+        );
+        friend.updateCommonMoimCount(count);
+        friend.updateFriendship(friendShipPolicy.calculateGroupScore(count));
+    }
+
+    // 모임 생성 후 멤버끼리 공통 모임 수 +1
+    public void onMoimJoined(Collection<Long> memberIds) {
+        adjust(memberIds, 1);
+    }
+
+    // 모임 삭제 전에 호출, 멤버끼리 공통 모임 수 -1
+    public void onMoimsRemoved(List<Long> moimIds) {
+        for (Long moimId : moimIds) {
+            adjust(moimPeopleRepository.findUserIdsByMoimId(moimId), -1);
+        }
+    }
+
+    private void adjust(Collection<Long> memberIds, int delta) {
+        Set<Long> members = new HashSet<>(memberIds);
+        if (members.size() < 2) {
+            return;
+        }
+        friendRepository.adjustCommonMoimCount(members, delta, friendShipPolicy.calculateGroupScore(delta));
+        // 멤버끼리의 점수가 바뀌어 순위도 바뀐다
+        friendLeaderboardService.evict(members);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Users.ContactHashRepository;
+import com.example.tomo.Users.dtos.ResponseContactMatchDto;
+import com.example.tomo.global.Exception.RateLimitExceededException;
+import com.example.tomo.global.RateLimit.UsageLimiter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// 주소록 일괄 매칭: 앱이 보낸 연락처 해시(ContactHasher 와 같은 규칙) 중 가입한 사용자를 한 번에 찾음
+// 요청 본문(JSON 문자열 배열)을 스트리밍으로 읽어 CHUNK_SIZE 개씩 조회하므로 전체 목록을 메모리에 올리지 않는다
+// 해시 대입으로 가입 여부를 훑지 못하도록 사용자별 시간당 요청 수와 하루 조회 건수를 제한
+@Service
+public class ContactDiscoveryService {
+
+    static final int CHUNK_SIZE = 500;
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final ContactHashRepository contactHashRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxHashes;
+    private final UsageLimiter requestLimiter;
+    private final UsageLimiter hashLimiter;
+
+    public ContactDiscoveryService(ContactHashRepository contactHashRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${contact.discovery.max-hashes:5000}") int maxHashes,
+                                   @Value("${contact.discovery.requests-per-hour:10}") int requestsPerHour,
+                                   @Value("${contact.discovery.hashes-per-day:20000}") int hashesPerDay) {
+        this.contactHashRepository = contactHashRepository;
+        this.objectMapper = objectMapper;
+        this.maxHashes = maxHashes;
+        this.requestLimiter = new UsageLimiter(requestsPerHour, Duration.ofHours(1), 100_000);
+        this.hashLimiter = new UsageLimiter(hashesPerDay, Duration.ofDays(1), 100_000);
+    }
+
+    // 본인은 제외, 같은 사용자가 이메일/전화번호 해시로 여러 번 맞으면 해시마다 한 건씩 반환
+    public List<ResponseContactMatchDto> discover(Long userId, InputStream body) throws IOException {
+        if (!requestLimiter.tryAcquire(userId, 1)) {
+            throw new RateLimitExceededException("주소록 조회 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        List<ResponseContactMatchDto> matches = new ArrayList<>();
+        Set<String> chunk = new LinkedHashSet<>();
+        Set<String> seen = new HashSet<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("연락처 해시 배열이 필요합니다.");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_STRING) {
+                    throw new IllegalArgumentException("연락처 해시는 문자열이어야 합니다.");
+                }
+                String hash = parser.getText().toLowerCase(Locale.ROOT);
+                if (!SHA256_HEX.matcher(hash).matches()) {
+                    throw new IllegalArgumentException("잘못된 연락처 해시입니다.");
+                }
+                if (!seen.add(hash)) {
+                    continue;
+                }
+                if (seen.size() > maxHashes) {
+                    throw new IllegalArgumentException("한 번에 최대 " + maxHashes + "개까지 조회할 수 있습니다.");
+                }
+                chunk.add(hash);
+                if (chunk.size() == CHUNK_SIZE) {
+                    collect(userId, chunk, matches);
+                }
+            }
+        }
+        collect(userId, chunk, matches);
+        return matches;
+    }
+
+    private void collect(Long userId, Set<String> chunk, List<ResponseContactMatchDto> matches) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (!hashLimiter.tryAcquire(userId, chunk.size())) {
+            throw new RateLimitExceededException("하루에 조회할 수 있는 연락처 수(" + hashLimiter.getLimit() + "개)를 초과했습니다.");
+        }
+        for (ContactHashRepository.ContactMatchRow row : contactHashRepository.findMatches(chunk)) {
+            if (!userId.equals(row.userId())) {
+                matches.add(row.match());
+            }
+        }
+        chunk.clear();
+    }
+}
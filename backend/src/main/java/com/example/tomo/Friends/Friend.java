@@ -8,9 +8,19 @@ import java.time.LocalDate;
 
 
 
+// 친구 관계 하나를 행 하나로 저장: user 가 id 가 작은 쪽, friend 가 큰 쪽 (user_id < friend_user_id)
+// 한 사용자의 친구는 user_id 쪽(uk_friend_user_friend)과 friend_user_id 쪽(idx_friend_friend_user_user) 양쪽에서 읽는다
 @Entity
 @Getter
-@Table(name = "friend")
+@Table(name = "friend",
+        uniqueConstraints = @UniqueConstraint(name = "uk_friend_user_friend", columnNames = {"user_id", "friend_user_id"}),
+        indexes = {
+                @Index(name = "idx_friend_friend_user_user", columnList = "friend_user_id, user_id"),
+                @Index(name = "idx_friend_user_friendship", columnList = "user_id, friendship"),
+                @Index(name = "idx_friend_friend_user_friendship", columnList = "friend_user_id, friendship"),
+                @Index(name = "idx_friend_user_created", columnList = "user_id, created_at"),
+                @Index(name = "idx_friend_friend_user_created", columnList = "friend_user_id, created_at")
+        })
 public class Friend {
 
     @Id
@@ -28,9 +38,11 @@ public class Friend {
 
     public Friend() {}
 
+    // 전달 순서와 관계없이 id 가 작은 쪽을 user 로 저장
     public Friend(User user, User friend) {
-        this.user = user;
-        this.friend = friend;
+        boolean swap = user.getId() != null && friend.getId() != null && user.getId() > friend.getId();
+        this.user = swap ? friend : user;
+        this.friend = swap ? user : friend;
     }
 
     private Integer m_score;
@@ -38,6 +50,10 @@ public class Friend {
 
     private Integer friendship;
 
+    // 두 사용자가 함께 속한 모임 수 (모임 생성/삭제 시 증분 갱신)
+    @Column(name = "common_moim_count")
+    private Integer commonMoimCount;
+
     private LocalDate created_at;
 
 
@@ -47,11 +63,20 @@ public class Friend {
         created_at = LocalDate.now();
         m_score = 0;
         b_score = 0;
-        friendship = 0;
+        if (friendship == null) {
+            friendship = 0;
+        }
+        if (commonMoimCount == null) {
+            commonMoimCount = 0;
+        }
     }
 
     public void updateFriendship(Integer friendship) {
         this.friendship = friendship;
     }
 
+    public void updateCommonMoimCount(Integer commonMoimCount) {
+        this.commonMoimCount = commonMoimCount;
+    }
+
 }
@@ -0,0 +1,139 @@
+package com.example.tomo.Friends;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 친구 여러 명 추가/삭제용 (JDBC)
+// 대상 수와 관계없이 조회는 IN 한 번, 저장/삭제는 다중 행 문장 한 번 (ROWS_PER_STATEMENT 단위)
+@Repository
+@RequiredArgsConstructor
+public class FriendBatchRepository {
+
+    static final int ROWS_PER_STATEMENT = 500;
+
+    public record UserKeyRow(long userId, String email, String inviteCode, String legacyInviteCode) {
+    }
+
+    public record NewFriendship(long friendId, int commonMoimCount, int friendship) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 이메일, 초대 코드, 이전 형식 초대 코드 중 하나라도 맞는 사용자 (각 컬럼 인덱스의 index merge)
+    public List<UserKeyRow> findUsersByKeys(Collection<String> emails, Collection<String> inviteCodes,
+                                            Collection<String> legacyInviteCodes) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addIn(conditions, args, "email", emails);
+        addIn(conditions, args, "invite_code", inviteCodes);
+        addIn(conditions, args, "legacy_invite_code", legacyInviteCodes);
+        if (conditions.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                "SELECT user_id, email, invite_code, legacy_invite_code FROM users WHERE "
+                        + String.join(" OR ", conditions),
+                (rs, rowNum) -> new UserKeyRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)),
+                args.toArray());
+    }
+
+    // otherIds 중 userId 와 이미 친구인 사용자 (friend 는 관계당 (작은 id, 큰 id) 한 행)
+    public Set<Long> findFriendIdsAmong(long userId, Collection<Long> otherIds) {
+        if (otherIds.isEmpty()) {
+            return Set.of();
+        }
+        String in = placeholders(otherIds.size());
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT friend_user_id FROM friend WHERE user_id = ? AND friend_user_id IN (" + in + ") "
+                        + "UNION ALL SELECT user_id FROM friend WHERE friend_user_id = ? AND user_id IN (" + in + ")",
+                Long.class, pairArgs(userId, otherIds)));
+    }
+
+    // userId 와 otherIds 각각이 함께 속한 모임 수 (없으면 맵에 없음)
+    public Map<Long, Integer> countCommonMoims(long userId, Collection<Long> otherIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (otherIds.isEmpty()) {
+            return counts;
+        }
+        List<Object> args = new ArrayList<>(otherIds.size() + 1);
+        args.add(userId);
+        args.addAll(otherIds);
+        jdbcTemplate.query(
+                "SELECT mp2.user_id, COUNT(DISTINCT mp1.moim_id) FROM moim_people mp1 "
+                        + "JOIN moim_people mp2 ON mp2.moim_id = mp1.moim_id "
+                        + "WHERE mp1.user_id = ? AND mp2.user_id IN (" + placeholders(otherIds.size()) + ") "
+                        + "GROUP BY mp2.user_id",
+                (RowCallbackHandler) rs -> counts.put(rs.getLong(1), rs.getInt(2)),
+                args.toArray());
+        return counts;
+    }
+
+    // Friend.prePersist 와 같은 초기값으로 저장. 동시에 같은 관계가 생기면 uk_friend_user_friend 에서 건너뜀
+    // IGNORE 는 외래 키 오류(대상이 동시에 탈퇴)도 건너뛰므로, 실제로 들어간 행 수를 반환해 호출하는 쪽이 확인한다
+    public int insertFriendships(long userId, List<NewFriendship> friendships, LocalDate today) {
+        int inserted = 0;
+        for (int from = 0; from < friendships.size(); from += ROWS_PER_STATEMENT) {
+            List<NewFriendship> chunk = friendships.subList(from, Math.min(from + ROWS_PER_STATEMENT, friendships.size()));
+            StringBuilder sql = new StringBuilder("INSERT IGNORE INTO friend "
+                    + "(user_id, friend_user_id, m_score, b_score, friendship, common_moim_count, created_at) VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 5);
+            for (int i = 0; i < chunk.size(); i++) {
+                NewFriendship friendship = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, 0, 0, ?, ?, ?)" : ", (?, ?, 0, 0, ?, ?, ?)");
+                args.add(Math.min(userId, friendship.friendId()));
+                args.add(Math.max(userId, friendship.friendId()));
+                args.add(friendship.friendship());
+                args.add(friendship.commonMoimCount());
+                args.add(Date.valueOf(today));
+            }
+            inserted += jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+        return inserted;
+    }
+
+    public int deleteFriendships(long userId, Collection<Long> friendIds) {
+        if (friendIds.isEmpty()) {
+            return 0;
+        }
+        String in = placeholders(friendIds.size());
+        return jdbcTemplate.update(
+                "DELETE FROM friend WHERE (user_id = ? AND friend_user_id IN (" + in + ")) "
+                        + "OR (friend_user_id = ? AND user_id IN (" + in + "))",
+                pairArgs(userId, friendIds));
+    }
+
+    private static void addIn(List<String> conditions, List<Object> args, String column, Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        conditions.add(column + " IN (" + placeholders(values.size()) + ")");
+        args.addAll(values);
+    }
+
+    // (userId, otherIds..., userId, otherIds...)
+    private static Object[] pairArgs(long userId, Collection<Long> otherIds) {
+        List<Object> args = new ArrayList<>(otherIds.size() * 2 + 2);
+        args.add(userId);
+        args.addAll(otherIds);
+        args.add(userId);
+        args.addAll(otherIds);
+        return args.toArray();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
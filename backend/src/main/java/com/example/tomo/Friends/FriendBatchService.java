@@ -0,0 +1,222 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Friends.FriendBatchRepository.NewFriendship;
+import com.example.tomo.Friends.FriendBatchRepository.UserKeyRow;
+import com.example.tomo.Friends.dtos.ResponseFriendBatchItemDto;
+import com.example.tomo.Sync.SyncService;
+import com.example.tomo.Users.InviteCodes;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// 친구 여러 명을 한 요청으로 추가/삭제 (가입 직후 주소록 친구를 한꺼번에 추가하는 경우 등)
+// 대상 조회, 기존 친구 확인, 공통 모임 집계, 저장/삭제가 각각 쿼리 한 번이라 대상 수와 관계없이 쿼리 수가 일정하다
+// 항목별 결과는 요청 순서대로 반환하고, 없는 사용자 등은 그 항목만 실패로 표시한다
+@Service
+public class FriendBatchService {
+
+    private final FriendBatchRepository friendBatchRepository;
+    private final FriendShipPolicy friendShipPolicy;
+    private final FriendGraph friendGraph;
+    private final FriendSuggestionService friendSuggestionService;
+    private final SyncService syncService;
+    private final FriendLeaderboardService friendLeaderboardService;
+    private final int maxSize;
+
+    public FriendBatchService(FriendBatchRepository friendBatchRepository,
+                              FriendShipPolicy friendShipPolicy,
+                              FriendGraph friendGraph,
+                              FriendSuggestionService friendSuggestionService,
+                              SyncService syncService,
+                              FriendLeaderboardService friendLeaderboardService,
+                              @Value("${friend.batch.max-size:100}") int maxSize) {
+        this.friendBatchRepository = friendBatchRepository;
+        this.friendShipPolicy = friendShipPolicy;
+        this.friendGraph = friendGraph;
+        this.friendSuggestionService = friendSuggestionService;
+        this.syncService = syncService;
+        this.friendLeaderboardService = friendLeaderboardService;
+        this.maxSize = maxSize;
+    }
+
+    @Transactional
+    public List<ResponseFriendBatchItemDto> addFriends(Long userId, List<String> queries) {
+        List<Item> items = resolve(userId, queries);
+        List<Long> targetIds = pendingTargetIds(items);
+        Set<Long> existing = friendBatchRepository.findFriendIdsAmong(userId, targetIds);
+
+        List<Long> added = new ArrayList<>();
+        for (Item item : items) {
+            if (item.status == null) {
+                item.status = existing.contains(item.targetId) ? FriendBatchStatus.ALREADY_FRIEND : FriendBatchStatus.ADDED;
+                if (item.status == FriendBatchStatus.ADDED) {
+                    added.add(item.targetId);
+                }
+            }
+        }
+        if (!added.isEmpty()) {
+            // 이미 함께 속한 모임 수로 공통 모임 카운터와 초기 점수 설정 (CommonMoimCounter.initialize 와 같은 규칙)
+            Map<Long, Integer> commonMoimCounts = friendBatchRepository.countCommonMoims(userId, added);
+            List<NewFriendship> friendships = new ArrayList<>(added.size());
+            for (Long friendId : added) {
+                int count = commonMoimCounts.getOrDefault(friendId, 0);
+                friendships.add(new NewFriendship(friendId, count, friendShipPolicy.calculateGroupScore(count)));
+            }
+            int inserted = friendBatchRepository.insertFriendships(userId, friendships, LocalDate.now());
+            if (inserted < friendships.size()) {
+                added = dropSkipped(userId, items, added);
+            }
+        }
+        if (!added.isEmpty()) {
+            added.forEach(friendId -> friendGraph.addFriendship(userId, friendId));
+            friendSuggestionService.onFriendshipsChanged(userId, added);
+            syncService.recordFriendsChanged(userId, added, false);
+            friendLeaderboardService.onFriendshipsChanged(userId, added);
+        }
+        return toResponse(items);
+    }
+
+    @Transactional
+    public List<ResponseFriendBatchItemDto> removeFriends(Long userId, List<String> queries) {
+        List<Item> items = resolve(userId, queries);
+        List<Long> targetIds = pendingTargetIds(items);
+        Set<Long> existing = friendBatchRepository.findFriendIdsAmong(userId, targetIds);
+
+        List<Long> removed = new ArrayList<>();
+        for (Item item : items) {
+            if (item.status == null) {
+                item.status = existing.contains(item.targetId) ? FriendBatchStatus.REMOVED : FriendBatchStatus.NOT_FRIEND;
+                if (item.status == FriendBatchStatus.REMOVED) {
+                    removed.add(item.targetId);
+                }
+            }
+        }
+        if (!removed.isEmpty()) {
+            friendBatchRepository.deleteFriendships(userId, removed);
+            removed.forEach(friendId -> friendGraph.removeFriendship(userId, friendId));
+            friendSuggestionService.onFriendshipsChanged(userId, removed);
+            syncService.recordFriendsChanged(userId, removed, true);
+            friendLeaderboardService.onFriendshipsChanged(userId, removed);
+        }
+        return toResponse(items);
+    }
+
+    // INSERT IGNORE 가 건너뛴 행이 있으면 실제로 저장된 관계만 남기고 나머지는 ALREADY_FRIEND 로 바꾼다
+    // 같은 트랜잭션의 일반 SELECT 는 첫 조회 시점 스냅샷(REPEATABLE READ)이라 그 뒤 다른 요청이 커밋한 행은 보이지 않는다
+    // → 여기서 보이는 행은 이 INSERT 가 넣은 행뿐이므로, 훅(그래프, 추천, 동기화, 순위)은 저장한 관계에만 실행된다
+    // 대상이 동시에 탈퇴해 외래 키로 건너뛴 드문 경우도 추가되지 않았으므로 ALREADY_FRIEND 로 보고한다
+    private List<Long> dropSkipped(Long userId, List<Item> items, List<Long> added) {
+        Set<Long> inserted = friendBatchRepository.findFriendIdsAmong(userId, added);
+        for (Item item : items) {
+            if (item.status == FriendBatchStatus.ADDED && !inserted.contains(item.targetId)) {
+                item.status = FriendBatchStatus.ALREADY_FRIEND;
+            }
+        }
+        return added.stream().filter(inserted::contains).toList();
+    }
+
+    // UserService.getUser 와 같은 규칙으로 구분한 뒤 IN 조회 한 번으로 대상 사용자 id 확인
+    // 대상이 정해진 항목은 status 가 null 로 남는다
+    private List<Item> resolve(Long userId, List<String> queries) {
+        if (queries == null || queries.isEmpty()) {
+            throw new IllegalArgumentException("이메일 또는 초대 코드 목록이 필요합니다.");
+        }
+        if (queries.size() > maxSize) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxSize + "명까지 처리할 수 있습니다.");
+        }
+
+        // MySQL 기본 collation 이 대소문자를 구분하지 않으므로 결과 매핑도 대소문자 무시
+        Set<String> emails = new HashSet<>();
+        Set<String> inviteCodes = new HashSet<>();
+        Set<String> legacyInviteCodes = new HashSet<>();
+        for (String query : queries) {
+            String key = query == null ? "" : query.strip();
+            if (key.indexOf('@') >= 0) {
+                emails.add(key);
+            } else if (InviteCodes.isLegacy(key)) {
+                legacyInviteCodes.add(key);
+            } else if (!key.isEmpty()) {
+                inviteCodes.add(key);
+            }
+        }
+
+        Map<String, Long> byEmail = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Long> byInviteCode = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, List<Long>> byLegacyInviteCode = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (UserKeyRow row : friendBatchRepository.findUsersByKeys(emails, inviteCodes, legacyInviteCodes)) {
+            if (row.email() != null) {
+                byEmail.put(row.email(), row.userId());
+            }
+            if (row.inviteCode() != null) {
+                byInviteCode.put(row.inviteCode(), row.userId());
+            }
+            if (row.legacyInviteCode() != null) {
+                byLegacyInviteCode.computeIfAbsent(row.legacyInviteCode(), code -> new ArrayList<>()).add(row.userId());
+            }
+        }
+
+        List<Item> items = new ArrayList<>(queries.size());
+        Set<Long> seen = new HashSet<>();
+        for (String query : queries) {
+            Item item = new Item(query);
+            items.add(item);
+            String key = query == null ? "" : query.strip();
+            if (key.isEmpty()) {
+                item.status = FriendBatchStatus.INVALID;
+                continue;
+            }
+
+            Long targetId;
+            if (key.indexOf('@') >= 0) {
+                targetId = byEmail.get(key);
+            } else if (InviteCodes.isLegacy(key)) {
+                List<Long> matches = byLegacyInviteCode.getOrDefault(key, List.of());
+                if (matches.size() > 1) {
+                    item.status = FriendBatchStatus.AMBIGUOUS;
+                    continue;
+                }
+                targetId = matches.isEmpty() ? null : matches.get(0);
+            } else {
+                targetId = byInviteCode.get(key);
+            }
+
+            if (targetId == null) {
+                item.status = FriendBatchStatus.NOT_FOUND;
+            } else if (targetId.equals(userId)) {
+                item.status = FriendBatchStatus.SELF;
+            } else if (!seen.add(targetId)) {
+                item.status = FriendBatchStatus.DUPLICATE;
+            } else {
+                item.targetId = targetId;
+            }
+        }
+        return items;
+    }
+
+    private static List<Long> pendingTargetIds(List<Item> items) {
+        return items.stream().filter(item -> item.status == null).map(item -> item.targetId).toList();
+    }
+
+    private static List<ResponseFriendBatchItemDto> toResponse(List<Item> items) {
+        return items.stream().map(item -> new ResponseFriendBatchItemDto(item.query, item.status)).toList();
+    }
+
+    private static final class Item {
+
+        private final String query;
+        private Long targetId;
+        private FriendBatchStatus status;
+
+        private Item(String query) {
+            this.query = query;
+        }
+    }
+}
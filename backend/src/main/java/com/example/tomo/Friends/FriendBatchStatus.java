@@ -0,0 +1,16 @@
+package com.example.tomo.Friends;
+
+// 친구 일괄 추가/삭제의 항목별 결과
+public enum FriendBatchStatus {
+    ADDED,
+    REMOVED,
+    ALREADY_FRIEND,
+    NOT_FRIEND,
+    NOT_FOUND,
+    // 이전 형식 초대 코드를 여러 명이 같이 씀 (이메일로 다시 요청)
+    AMBIGUOUS,
+    SELF,
+    // 같은 요청 안에서 이미 나온 사용자 (이메일과 초대 코드를 함께 보낸 경우 등)
+    DUPLICATE,
+    INVALID
+}
@@ -1,23 +1,36 @@
 package com.example.tomo.Friends;
 
 
+import com.example.tomo.Friends.dtos.FriendPageDto;
+import com.example.tomo.Friends.dtos.RequestFriendBatchDto;
+import com.example.tomo.Friends.dtos.ResponseClosestFriendDto;
+import com.example.tomo.Friends.dtos.ResponseFriendBatchItemDto;
 import com.example.tomo.Friends.dtos.ResponseFriendDetailDto;
+import com.example.tomo.Friends.dtos.ResponseFriendRankDto;
+import com.example.tomo.Friends.dtos.ResponseFriendSuggestionDto;
 
+import com.example.tomo.Users.UserPrincipal;
 import com.example.tomo.Users.UserService;
+import com.example.tomo.Users.dtos.ResponseContactMatchDto;
 import com.example.tomo.Users.dtos.ResponsePostUniformDto;
+import com.example.tomo.Users.dtos.ResponseUserSuggestionDto;
 import com.example.tomo.Users.dtos.getFriendResponseDto;
+import com.example.tomo.global.Exception.RateLimitExceededException;
 import com.example.tomo.global.ReponseType.ApiResponse;
 import com.example.tomo.global.ReponseType.NoDataApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @Tag(name = "Friend API", description = "친구 관련 API")
@@ -28,10 +41,14 @@ public class FriendController {
 
     private final FriendService friendService;
     private final UserService userService;
+    private final ContactDiscoveryService contactDiscoveryService;
+    private final FriendSuggestionService friendSuggestionService;
+    private final FriendBatchService friendBatchService;
+    private final FriendLeaderboardService friendLeaderboardService;
 
     @Operation(
             summary = "친구 추가",
-            description = "이메일을 이용하여 친구를 추가합니다.",
+            description = "이메일 또는 초대 코드(알 수도 있는 사람, 자동완성 결과의 inviteCode)로 친구를 추가합니다.",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "친구 추가 성공"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "이미 존재하는 친구")
@@ -39,17 +56,59 @@ public class FriendController {
     )
     @PostMapping("/friends")
     public ResponseEntity<ResponsePostUniformDto> addFriendsUsingEmail(
-            @AuthenticationPrincipal String uid,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestParam String query
             ) {
         try {
-            return ResponseEntity.status(HttpStatus.CREATED).body(userService.addFriends(uid,query));
+            return ResponseEntity.status(HttpStatus.CREATED).body(userService.addFriends(principal.id(),query));
         } catch (EntityExistsException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(new ResponsePostUniformDto(false, e.getMessage()));
         }
     }
 
+    @Operation(
+            summary = "친구 일괄 추가",
+            description = "이메일 또는 초대 코드 목록으로 여러 명을 한 번에 친구로 추가합니다. "
+                    + "항목별 결과(ADDED, ALREADY_FRIEND, NOT_FOUND, AMBIGUOUS, SELF, DUPLICATE, INVALID)를 요청 순서대로 반환하며, 한 번에 최대 100명까지 보낼 수 있습니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "처리 완료"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "빈 목록 또는 개수 초과")
+            }
+    )
+    @PostMapping("/friends/batch")
+    public ResponseEntity<ApiResponse<List<ResponseFriendBatchItemDto>>> addFriendsInBatch(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestBody RequestFriendBatchDto request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    friendBatchService.addFriends(principal.id(), request.getQueries()), "처리 완료"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.failure(e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "친구 일괄 삭제",
+            description = "이메일 또는 초대 코드 목록으로 여러 친구를 한 번에 삭제합니다. "
+                    + "항목별 결과(REMOVED, NOT_FRIEND, NOT_FOUND, AMBIGUOUS, SELF, DUPLICATE, INVALID)를 요청 순서대로 반환합니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "처리 완료"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "빈 목록 또는 개수 초과")
+            }
+    )
+    @PostMapping("/friends/batch/remove")
+    public ResponseEntity<ApiResponse<List<ResponseFriendBatchItemDto>>> removeFriendsInBatch(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestBody RequestFriendBatchDto request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    friendBatchService.removeFriends(principal.id(), request.getQueries()), "처리 완료"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.failure(e.getMessage()));
+        }
+    }
+
     @Operation(
             summary = "친구 조회",
             description = "이메일로 친구 정보를 조회합니다.",
@@ -71,12 +130,12 @@ public class FriendController {
     }
     @GetMapping("/friends/detail")
     public ResponseEntity<ApiResponse<ResponseFriendDetailDto>> getFriendsDetailUsingEmail(
-            @AuthenticationPrincipal String uid,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestParam String query
     ) {
        try{
            return ResponseEntity.status(200)
-                   .body(ApiResponse.success(friendService.getFriendDetail(uid,query), "조회 성공"));
+                   .body(ApiResponse.success(friendService.getFriendDetail(principal.id(),query), "조회 성공"));
        }catch (EntityNotFoundException e){
            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.failure(e.getMessage()));
        }
@@ -93,15 +152,145 @@ public class FriendController {
     )
     @GetMapping("/friends/list")
     public ResponseEntity<ApiResponse<List<ResponseFriendDetailDto>>> getFriendDetails(
-            @AuthenticationPrincipal String uid) {
+            @AuthenticationPrincipal UserPrincipal principal) {
         try {
-            return ResponseEntity.ok(ApiResponse.success(friendService.getFriends(uid), "성공"));
+            return ResponseEntity.ok(ApiResponse.success(friendService.getFriends(principal.id()), "성공"));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.failure("로그인된 사용자가 아닙니다"));
         }
     }
 
+    @Operation(
+            summary = "사용자 검색 자동완성",
+            description = "이름, 초대 코드의 앞부분(2글자 이상) 또는 이메일 전체로 사용자를 찾아 일치도가 높은 순으로 반환합니다. "
+                    + "본인은 제외되고, 이메일은 가려서 반환합니다. 각 항목의 inviteCode 로 친구 추가를 요청할 수 있습니다. "
+                    + "사용자별로 분당 요청 수가 제한됩니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "요청 수 제한 초과")
+            }
+    )
+    @GetMapping("/friends/suggestions")
+    public ResponseEntity<ApiResponse<List<ResponseUserSuggestionDto>>> suggestUsers(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @io.swagger.v3.oas.annotations.Parameter(description = "입력 중인 검색어")
+            @RequestParam String query,
+            @io.swagger.v3.oas.annotations.Parameter(description = "최대 개수 (기본 10, 최대 20)")
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(userService.suggestUsers(principal.id(), query, size), "성공"));
+        } catch (RateLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ApiResponse.failure(e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "주소록으로 친구 찾기",
+            description = "주소록의 전화번호/이메일 해시 목록(JSON 문자열 배열)을 받아 가입한 사용자를 한 번에 반환합니다. "
+                    + "해시는 SHA-256(salt + 정규화한 값)의 hex 이며, 한 번에 최대 5000개까지 보낼 수 있습니다. "
+                    + "사용자별로 시간당 요청 수와 하루 조회 건수가 제한됩니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "잘못된 해시 또는 개수 초과"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "요청 수 또는 조회 건수 제한 초과")
+            }
+    )
+    @PostMapping(value = "/friends/discover", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<List<ResponseContactMatchDto>>> discoverContacts(
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    contactDiscoveryService.discover(principal.id(), request.getInputStream()), "성공"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.failure(e.getMessage()));
+        } catch (RateLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ApiResponse.failure(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.failure("요청 본문을 읽을 수 없습니다."));
+        }
+    }
+
+    @Operation(
+            summary = "알 수도 있는 사람",
+            description = "같은 모임 멤버와 친구의 친구 중 아직 친구가 아닌 사용자를 공통 모임 수, 공통 친구 수 기준 점수 순으로 반환합니다. "
+                    + "각 항목의 inviteCode 로 친구 추가/일괄 추가를 요청할 수 있습니다. "
+                    + "목록은 모임/친구 변경 후 잠시 뒤에 갱신됩니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+            }
+    )
+    @GetMapping("/friends/recommendations")
+    public ResponseEntity<ApiResponse<List<ResponseFriendSuggestionDto>>> getFriendSuggestions(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @io.swagger.v3.oas.annotations.Parameter(description = "최대 개수 (기본 10, 최대 20)")
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(friendSuggestionService.getSuggestions(principal.id(), size), "성공"));
+    }
+
+    @Operation(
+            summary = "친한 친구 순위",
+            description = "친구를 친밀도 점수 내림차순으로 상위 size 명까지 반환합니다. 점수 재계산 후 잠시 뒤에 반영될 수 있습니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공")
+            }
+    )
+    @GetMapping("/friends/leaderboard")
+    public ResponseEntity<ApiResponse<List<ResponseClosestFriendDto>>> getClosestFriends(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @io.swagger.v3.oas.annotations.Parameter(description = "최대 개수 (기본/최대 50)")
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(friendLeaderboardService.getClosestFriends(principal.id(), size), "성공"));
+    }
+
+    @Operation(
+            summary = "친구의 친구 중 내 순위",
+            description = "친구(email)의 친구 목록을 친밀도 점수 순으로 세웠을 때 내 순위와 친구 수를 반환합니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "존재하지 않는 사용자 또는 친구가 아님")
+            }
+    )
+    @GetMapping("/friends/leaderboard/rank")
+    public ResponseEntity<ApiResponse<ResponseFriendRankDto>> getRankAmongFriendsOf(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam String email) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    friendLeaderboardService.getRankAmongFriendsOf(principal.id(), email), "성공"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.failure(e.getMessage()));
+        }
+    }
+
+    @Operation(
+            summary = "친구 목록 페이지 조회",
+            description = "친구 목록을 점수 또는 친구가 된 날짜 내림차순으로 페이지 단위 조회합니다",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "잘못된 커서"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "존재하지 않는 사용자")
+            }
+    )
+    @GetMapping("/friends/page")
+    public ResponseEntity<ApiResponse<FriendPageDto>> getFriendPage(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @io.swagger.v3.oas.annotations.Parameter(description = "정렬 기준 (SCORE, CREATED_AT)")
+            @RequestParam(defaultValue = "SCORE") FriendSortType sort,
+            @io.swagger.v3.oas.annotations.Parameter(description = "페이지 크기 (기본 20, 최대 100)")
+            @RequestParam(required = false) Integer size,
+            @io.swagger.v3.oas.annotations.Parameter(description = "이전 응답의 nextCursor")
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(friendService.getFriendPage(principal.id(), sort, size, cursor), "성공"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.failure(e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.failure(e.getMessage()));
+        }
+    }
+
     @Operation(
             summary = "친구 삭제",
             description = "본인의 친구를 이메일을 통해 삭제합니다",
@@ -113,12 +302,12 @@ public class FriendController {
     )
     @DeleteMapping("/friends")
     public ResponseEntity<NoDataApiResponse> removeFriend(
-            @AuthenticationPrincipal String uid,
+            @AuthenticationPrincipal UserPrincipal principal,
             @io.swagger.v3.oas.annotations.Parameter(description = "삭제할 친구 이메일", required = true)
             @RequestParam String friendEmail) {
 
         try {
-            friendService.removeFriend(uid, friendEmail);
+            friendService.removeFriend(principal.id(), friendEmail);
             return ResponseEntity.ok(NoDataApiResponse.success( "친구가 삭제되었습니다."));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -0,0 +1,313 @@
+package com.example.tomo.Friends;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// 인메모리 친구 그래프: 사용자 id → 정렬된 친구 id 배열 (long[])
+// 공통 친구 수는 두 정렬 배열의 병합 교집합으로 계산 (크기 차이가 크면 작은 쪽을 이분 탐색)
+// - 시작 시 friend 를 양쪽 인덱스 순서로 스트리밍해 만들고, 주기적으로 다시 만든다
+//   (다른 인스턴스에서 생긴 변경은 재구성 때 반영)
+// - 첫 재구성이 끝나기 전(isReady() == false)에는 그래프가 비어 있으므로 조회를 DB 로 보낸다
+// - 친구 추가/삭제, 탈퇴는 커밋 후 해당 사용자 배열만 복사해 교체 (읽기는 잠금 없음)
+// 메모리: 방향 간선(친구 관계당 2개)당 8B + 친구가 있는 사용자당 약 80B (배열 헤더, 맵 노드, Long 키)
+//   → 친구 관계 100만 건(간선 200만 개), 사용자 20만 명 기준 약 16MB + 16MB
+@Slf4j
+@Component
+public class FriendGraph {
+
+    static final long[] EMPTY = new long[0];
+    static final long BYTES_PER_EDGE = Long.BYTES;
+    static final long BYTES_PER_USER = 80;
+
+    private final FriendGraphRepository repository;
+
+    private volatile Map<Long, long[]> adjacency = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // 재구성 중 들어온 변경 (새 그래프로 교체할 때 다시 적용). writeLock 으로 보호
+    private final Object writeLock = new Object();
+    private List<Consumer<Map<Long, long[]>>> journal;
+
+    @Autowired
+    public FriendGraph(FriendGraphRepository repository, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(repository, meterRegistry.getIfAvailable());
+    }
+
+    public FriendGraph(FriendGraphRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        if (meterRegistry != null) {
+            Gauge.builder("friend.graph.edges", this, FriendGraph::edgeCount)
+                    .description("친구 그래프의 방향 간선 수 (friend 행 수의 2배)")
+                    .register(meterRegistry);
+            Gauge.builder("friend.graph.bytes", this, FriendGraph::estimatedBytes)
+                    .description("친구 그래프 예상 메모리 사용량")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 정렬된 친구 id 배열 (수정하지 말 것)
+    public long[] friendsOf(long userId) {
+        if (!ready) {
+            return repository.findFriendIds(userId);
+        }
+        return adjacency.getOrDefault(userId, EMPTY);
+    }
+
+    public boolean areFriends(long userId, long friendId) {
+        return Arrays.binarySearch(friendsOf(userId), friendId) >= 0;
+    }
+
+    public int mutualFriendCount(long userId, long otherId) {
+        long[] a = friendsOf(userId);
+        long[] b = friendsOf(otherId);
+        if (a.length > b.length) {
+            long[] t = a;
+            a = b;
+            b = t;
+        }
+        int count = 0;
+        if (a.length * 16L < b.length) {
+            for (long id : a) {
+                if (Arrays.binarySearch(b, id) >= 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    public long[] mutualFriends(long userId, long otherId) {
+        long[] a = friendsOf(userId);
+        long[] b = friendsOf(otherId);
+        long[] result = new long[Math.min(a.length, b.length)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    // 친구 추가 (양방향, 트랜잭션 안이면 커밋 후 반영)
+    public void addFriendship(long userId, long friendId) {
+        afterCommit(() -> apply(graph -> {
+            graph.compute(userId, (id, friends) -> insert(friends, friendId));
+            graph.compute(friendId, (id, friends) -> insert(friends, userId));
+        }));
+    }
+
+    // 친구 삭제 (양방향)
+    public void removeFriendship(long userId, long friendId) {
+        afterCommit(() -> apply(graph -> {
+            graph.computeIfPresent(userId, (id, friends) -> delete(friends, friendId));
+            graph.computeIfPresent(friendId, (id, friends) -> delete(friends, userId));
+        }));
+    }
+
+    // 탈퇴: 본인 배열과 친구들 배열에 있는 본인 id 제거
+    public void removeUser(long userId) {
+        afterCommit(() -> apply(graph -> {
+            long[] friends = graph.remove(userId);
+            if (friends == null) {
+                return;
+            }
+            for (long friendId : friends) {
+                graph.computeIfPresent(friendId, (id, list) -> delete(list, userId));
+            }
+        }));
+    }
+
+    public long edgeCount() {
+        long edges = 0;
+        for (long[] friends : adjacency.values()) {
+            edges += friends.length;
+        }
+        return edges;
+    }
+
+    public long estimatedBytes() {
+        return edgeCount() * BYTES_PER_EDGE + adjacency.size() * BYTES_PER_USER;
+    }
+
+    // 전체 재구성: 정렬된 묶음 단위로 스트리밍하므로 사용자별 배열을 바로 잘라 담는다
+    @Scheduled(fixedDelayString = "${friend-graph.rebuild-ms:3600000}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            journal = new ArrayList<>();
+        }
+        try {
+            long started = System.nanoTime();
+            Map<Long, long[]> rebuilt = new ConcurrentHashMap<>();
+            Loader loader = new Loader(rebuilt);
+            repository.forEachEdge(loader::accept);
+            loader.flush();
+
+            synchronized (writeLock) {
+                journal.forEach(change -> change.accept(rebuilt));
+                adjacency = rebuilt;
+                ready = true;
+            }
+            log.info("Friend graph rebuilt: {} users, {} edges in {} ms",
+                    rebuilt.size(), loader.edges, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Failed to rebuild friend graph", e);
+        } finally {
+            synchronized (writeLock) {
+                journal = null;
+            }
+        }
+    }
+
+    private void apply(Consumer<Map<Long, long[]>> change) {
+        synchronized (writeLock) {
+            change.accept(adjacency);
+            if (journal != null) {
+                journal.add(change);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static long[] insert(long[] friends, long friendId) {
+        if (friends == null) {
+            return new long[]{friendId};
+        }
+        int index = Arrays.binarySearch(friends, friendId);
+        if (index >= 0) {
+            return friends;
+        }
+        int at = -index - 1;
+        long[] copy = new long[friends.length + 1];
+        System.arraycopy(friends, 0, copy, 0, at);
+        copy[at] = friendId;
+        System.arraycopy(friends, at, copy, at + 1, friends.length - at);
+        return copy;
+    }
+
+    // 정렬된 두 배열의 합집합 (중복 제거)
+    static long[] union(long[] a, long[] b) {
+        long[] result = new long[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            result[n++] = next;
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    // 마지막 친구가 빠지면 null 을 돌려 맵에서 제거
+    static long[] delete(long[] friends, long friendId) {
+        int index = Arrays.binarySearch(friends, friendId);
+        if (index < 0) {
+            return friends;
+        }
+        if (friends.length == 1) {
+            return null;
+        }
+        long[] copy = new long[friends.length - 1];
+        System.arraycopy(friends, 0, copy, 0, index);
+        System.arraycopy(friends, index + 1, copy, index, friends.length - index - 1);
+        return copy;
+    }
+
+    // 사용자별로 정렬된 묶음(run)으로 들어오는 간선을 사용자별 배열로 묶음
+    // 같은 사용자의 묶음이 여러 번 오면 (friend 를 양쪽 순서로 두 번 읽으므로) 기존 배열과 병합
+    private static final class Loader {
+
+        private final Map<Long, long[]> graph;
+        private long[] buffer = new long[64];
+        private int size;
+        private long currentUser = Long.MIN_VALUE;
+        private long edges;
+
+        Loader(Map<Long, long[]> graph) {
+            this.graph = graph;
+        }
+
+        void accept(long userId, long friendId) {
+            if (userId != currentUser || (size > 0 && friendId < buffer[size - 1])) {
+                flush();
+                currentUser = userId;
+            }
+            if (size > 0 && buffer[size - 1] == friendId) {
+                return;
+            }
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+            }
+            buffer[size++] = friendId;
+            edges++;
+        }
+
+        void flush() {
+            if (size > 0) {
+                graph.merge(currentUser, Arrays.copyOf(buffer, size), FriendGraph::union);
+            }
+            size = 0;
+        }
+    }
+}
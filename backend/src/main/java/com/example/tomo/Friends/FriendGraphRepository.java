@@ -0,0 +1,53 @@
+package com.example.tomo.Friends;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+// 친구 그래프 적재용 friend 스트리밍 조회 (JDBC)
+@Repository
+public class FriendGraphRepository {
+
+    public interface EdgeConsumer {
+        void accept(long userId, long friendId);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FriendGraphRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때만 결과를 메모리에 다 올리지 않고 한 행씩 읽는다
+        this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    // 친구 관계는 (작은 id, 큰 id) 행 하나이므로 두 번 읽어 양방향 간선을 전달
+    // 1) (user_id, friend_user_id) 순: uk_friend_user_friend 순서 → 각 사용자의 큰 id 친구들
+    // 2) (friend_user_id, user_id) 순: idx_friend_friend_user_user 순서 → 각 사용자의 작은 id 친구들
+    // 두 번 모두 인덱스 순서 그대로 읽어 정렬 비용 없음. 사용자별 친구는 정렬된 묶음 두 개로 나뉘어 들어온다
+    public void forEachEdge(EdgeConsumer consumer) {
+        jdbcTemplate.query(
+                "SELECT user_id, friend_user_id FROM friend "
+                        + "WHERE user_id IS NOT NULL AND friend_user_id IS NOT NULL "
+                        + "ORDER BY user_id, friend_user_id",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getLong(2)));
+        jdbcTemplate.query(
+                "SELECT friend_user_id, user_id FROM friend "
+                        + "WHERE user_id IS NOT NULL AND friend_user_id IS NOT NULL "
+                        + "ORDER BY friend_user_id, user_id",
+                (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1), rs.getLong(2)));
+    }
+
+    // 그래프 준비 전 조회용: 한 사용자의 친구 id (정렬). uk_friend_user_friend, idx_friend_friend_user_user 범위 읽기
+    public long[] findFriendIds(long userId) {
+        long[] ids = jdbcTemplate.queryForList(
+                        "SELECT friend_user_id FROM friend WHERE user_id = ? AND friend_user_id IS NOT NULL "
+                                + "UNION ALL SELECT user_id FROM friend WHERE friend_user_id = ? AND user_id IS NOT NULL",
+                        Long.class, userId, userId)
+                .stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+}
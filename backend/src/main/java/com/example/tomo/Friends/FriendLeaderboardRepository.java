@@ -0,0 +1,70 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Friends.dtos.FriendLeaderboardRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+// 친구를 점수 순으로 읽는 조회 (JDBC)
+// friend 는 관계당 한 행이라 user_id 쪽(idx_friend_user_friendship)과 friend_user_id 쪽(idx_friend_friend_user_friendship)을
+// 각각 인덱스 순서로 읽어 합친다 → 친구 수와 관계없이 읽는 행이 limit 의 2배 이내
+@Repository
+@RequiredArgsConstructor
+public class FriendLeaderboardRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 점수 내림차순, 동점이면 friend_id 내림차순 (친구 목록 점수 정렬과 같은 순서)
+    public List<FriendLeaderboardRow> findTop(long userId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT t.friend_id, t.other_id, u.email, u.username, t.friendship FROM ("
+                        + "(SELECT friend_id, friend_user_id AS other_id, friendship FROM friend WHERE user_id = ? "
+                        + "ORDER BY friendship DESC, friend_id DESC LIMIT ?) "
+                        + "UNION ALL "
+                        + "(SELECT friend_id, user_id, friendship FROM friend WHERE friend_user_id = ? "
+                        + "ORDER BY friendship DESC, friend_id DESC LIMIT ?)"
+                        + ") t JOIN users u ON u.user_id = t.other_id "
+                        + "ORDER BY t.friendship DESC, t.friend_id DESC LIMIT ?",
+                (rs, rowNum) -> new FriendLeaderboardRow(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                        rs.getString(4), rs.getInt(5)),
+                userId, limit, userId, limit, limit);
+    }
+
+    // 두 사용자의 친구 관계 (friend_id, friendship). uk_friend_user_friend 한 번 읽기
+    public Optional<FriendLeaderboardRow> findBetween(long userId, long friendUserId) {
+        return jdbcTemplate.query(
+                "SELECT friend_id, friendship FROM friend WHERE user_id = ? AND friend_user_id = ?",
+                (rs, rowNum) -> new FriendLeaderboardRow(rs.getLong(1), friendUserId, null, null, rs.getInt(2)),
+                Math.min(userId, friendUserId), Math.max(userId, friendUserId)).stream().findFirst();
+    }
+
+    // userId 의 친구 중 (friendship, friendId) 보다 앞 순서인 친구 수 (인덱스 범위만 센다)
+    public int countAhead(long userId, int friendship, long friendId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM friend WHERE user_id = ? "
+                        + "AND (friendship > ? OR (friendship = ? AND friend_id > ?))) "
+                        + "+ (SELECT COUNT(*) FROM friend WHERE friend_user_id = ? "
+                        + "AND (friendship > ? OR (friendship = ? AND friend_id > ?)))",
+                Integer.class,
+                userId, friendship, friendship, friendId, userId, friendship, friendship, friendId);
+        return count == null ? 0 : count;
+    }
+
+    public int countFriends(long userId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM friend WHERE user_id = ?) "
+                        + "+ (SELECT COUNT(*) FROM friend WHERE friend_user_id = ?)",
+                Integer.class, userId, userId);
+        return count == null ? 0 : count;
+    }
+
+    public List<Long> findFriendIds(long userId) {
+        return jdbcTemplate.queryForList(
+                "SELECT friend_user_id FROM friend WHERE user_id = ? "
+                        + "UNION ALL SELECT user_id FROM friend WHERE friend_user_id = ?",
+                Long.class, userId, userId);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Friends.dtos.FriendLeaderboardRow;
+import com.example.tomo.Friends.dtos.ResponseClosestFriendDto;
+import com.example.tomo.Friends.dtos.ResponseFriendRankDto;
+import com.example.tomo.Users.User;
+import com.example.tomo.Users.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// 친한 친구 순위: 사용자별 점수 상위 K 명을 인메모리 캐시 (크기 제한 + TTL)
+// 캐시에 없으면 점수 인덱스에서 2K 행 이내로 읽어 채우므로 친구 수와 관계없이 조회 비용이 일정하다
+// 친구 추가/삭제, 공통 모임 수 변경 시 해당 사용자만 evict, 점수 재계산 후에는 전체 비움 (다른 인스턴스는 TTL 로 갱신)
+@Service
+public class FriendLeaderboardService {
+
+    private final FriendLeaderboardRepository leaderboardRepository;
+    private final UserRepository userRepository;
+    private final Cache<Long, List<FriendLeaderboardRow>> cache;
+    private final int topK;
+
+    public FriendLeaderboardService(FriendLeaderboardRepository leaderboardRepository,
+                                    UserRepository userRepository,
+                                    @Value("${friend.leaderboard.top-k:50}") int topK,
+                                    @Value("${friend.leaderboard.cache.max-size:10000}") long maxSize,
+                                    @Value("${friend.leaderboard.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.userRepository = userRepository;
+        this.topK = topK;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // 점수 상위 size 명 (최대 K 명)
+    public List<ResponseClosestFriendDto> getClosestFriends(Long userId, Integer size) {
+        List<FriendLeaderboardRow> top = top(userId);
+        int limit = Math.max(1, Math.min(size == null ? topK : size, topK));
+        List<ResponseClosestFriendDto> result = new ArrayList<>(Math.min(limit, top.size()));
+        for (int i = 0; i < top.size() && i < limit; i++) {
+            FriendLeaderboardRow row = top.get(i);
+            result.add(new ResponseClosestFriendDto(i + 1, row.email(), row.username(), row.friendship()));
+        }
+        return result;
+    }
+
+    // 친구(friendEmail)의 친구 목록에서 내 순위
+    // 친구의 상위 K 명 안이면 캐시에서, 아니면 내 앞 순서인 친구 수를 인덱스 범위로 센다
+    public ResponseFriendRankDto getRankAmongFriendsOf(Long userId, String friendEmail) {
+        User friend = userRepository.findByEmail(friendEmail)
+                .orElseThrow(() -> new EntityNotFoundException("친구를 찾을 수 없습니다."));
+        FriendLeaderboardRow relation = leaderboardRepository.findBetween(userId, friend.getId())
+                .orElseThrow(() -> new EntityNotFoundException("친구 관계가 아닙니다."));
+
+        List<FriendLeaderboardRow> top = top(friend.getId());
+        // 상위 K 명보다 적으면 전체 친구가 캐시에 있다
+        int friendCount = top.size() < topK ? top.size() : leaderboardRepository.countFriends(friend.getId());
+        for (int i = 0; i < top.size(); i++) {
+            if (top.get(i).friendUserId() == userId) {
+                return new ResponseFriendRankDto(friendEmail, i + 1, friendCount, top.get(i).friendship());
+            }
+        }
+        int rank = leaderboardRepository.countAhead(friend.getId(), relation.friendship(), relation.friendId()) + 1;
+        return new ResponseFriendRankDto(friendEmail, rank, Math.max(friendCount, rank), relation.friendship());
+    }
+
+    // 친구 추가/삭제: 양쪽 모두의 순위가 바뀐다
+    public void onFriendshipChanged(Long userId, Long friendId) {
+        evict(List.of(userId, friendId));
+    }
+
+    public void onFriendshipsChanged(Long userId, Collection<Long> friendIds) {
+        List<Long> affected = new ArrayList<>(friendIds.size() + 1);
+        affected.add(userId);
+        affected.addAll(friendIds);
+        evict(affected);
+    }
+
+    // 탈퇴: friend 행 삭제 전에 호출
+    public void onUserDeleted(Long userId) {
+        List<Long> affected = new ArrayList<>(leaderboardRepository.findFriendIds(userId));
+        affected.add(userId);
+        evict(affected);
+    }
+
+    // 트랜잭션 중이면 커밋 후에도 한 번 더 제거 (커밋 전 다른 요청이 옛 순위를 다시 올리는 경우 방지)
+    public void evict(Collection<Long> userIds) {
+        List<Long> keys = List.copyOf(userIds);
+        cache.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(keys);
+                }
+            });
+        }
+    }
+
+    // 점수 재계산 후
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private List<FriendLeaderboardRow> top(Long userId) {
+        return cache.get(userId, id -> leaderboardRepository.findTop(id, topK));
+    }
+}
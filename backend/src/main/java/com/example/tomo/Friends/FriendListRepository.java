@@ -0,0 +1,68 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Friends.dtos.FriendListRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+// 친구 목록 조회 (JDBC, friend ⨝ users 프로젝션)
+// user_id = ? OR friend_user_id = ? 는 인덱스 하나로 읽을 수 없어 풀스캔이 되므로
+// user_id 쪽과 friend_user_id 쪽을 각각 인덱스 범위로 읽어 UNION ALL 로 합친다 (FriendLeaderboardRepository 와 같은 방식)
+@Repository
+@RequiredArgsConstructor
+public class FriendListRepository {
+
+    private static final String COLUMNS = "friend_id, created_at, common_moim_count, friendship";
+
+    private static final RowMapper<FriendListRow> ROW_MAPPER = (rs, rowNum) -> new FriendListRow(
+            rs.getLong("friend_id"),
+            rs.getString("email"),
+            rs.getString("username"),
+            rs.getObject("created_at", LocalDate.class),
+            (Integer) rs.getObject("common_moim_count"),
+            (Integer) rs.getObject("friendship"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 전체 친구 목록 (friend_id 순). uk_friend_user_friend, idx_friend_friend_user_user 범위 읽기
+    public List<FriendListRow> findFriendRows(long userId) {
+        return jdbcTemplate.query(
+                "SELECT t.friend_id, u.email, u.username, t.created_at, t.common_moim_count, t.friendship FROM ("
+                        + "SELECT " + COLUMNS + ", friend_user_id AS other_id FROM friend WHERE user_id = ? "
+                        + "UNION ALL "
+                        + "SELECT " + COLUMNS + ", user_id FROM friend WHERE friend_user_id = ?"
+                        + ") t JOIN users u ON u.user_id = t.other_id "
+                        + "ORDER BY t.friend_id",
+                ROW_MAPPER, userId, userId);
+    }
+
+    // 정렬 기준 내림차순 keyset 페이지. after 가 null 이면 첫 페이지, 아니면 (after, lastId) 다음부터
+    // after 는 SCORE 면 점수(Integer), CREATED_AT 이면 날짜(LocalDate)
+    // 양쪽에서 (column, friend_id) 내림차순으로 limit 행씩만 읽고 합쳐서 다시 limit → 읽는 행이 limit 의 2배 이내
+    // (user_id, column) 인덱스 뒤에 PK 가 붙어 있어 동점 순서까지 인덱스 순서로 읽는다
+    public List<FriendListRow> findPage(long userId, FriendSortType sort, Object after, Long lastId, int limit) {
+        String column = sort.column();
+        if (after instanceof LocalDate date) {
+            after = Date.valueOf(date);
+        }
+        String cursor = after == null ? ""
+                : "AND (" + column + " < ? OR (" + column + " = ? AND friend_id < ?)) ";
+        String order = "ORDER BY " + column + " DESC, friend_id DESC LIMIT ?";
+        String sql = "SELECT t.friend_id, u.email, u.username, t.created_at, t.common_moim_count, t.friendship FROM ("
+                + "(SELECT " + COLUMNS + ", friend_user_id AS other_id FROM friend WHERE user_id = ? " + cursor + order + ") "
+                + "UNION ALL "
+                + "(SELECT " + COLUMNS + ", user_id FROM friend WHERE friend_user_id = ? " + cursor + order + ")"
+                + ") t JOIN users u ON u.user_id = t.other_id "
+                + "ORDER BY t." + column + " DESC, t.friend_id DESC LIMIT ?";
+
+        Object[] args = after == null
+                ? new Object[]{userId, limit, userId, limit, limit}
+                : new Object[]{userId, after, after, lastId, limit, userId, after, after, lastId, limit, limit};
+        return jdbcTemplate.query(sql, ROW_MAPPER, args);
+    }
+}
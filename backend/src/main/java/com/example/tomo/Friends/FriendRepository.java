@@ -1,6 +1,8 @@
 package com.example.tomo.Friends;
 
-import com.example.tomo.Users.User;
+import com.example.tomo.Friends.dtos.FriendCommonMoimCount;
+import com.example.tomo.Friends.dtos.FriendScoreRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,16 +10,31 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FriendRepository extends JpaRepository<Friend, Long> {
 
-    // 본인과 친구 관계 조회
-    Optional<Friend> findByUserAndFriend(User user, User friend);
+    // 친구 관계는 (작은 id, 큰 id) 행 하나 → 두 사용자의 순서와 관계없이 조회
+    default Optional<Friend> findBetween(Long userId, Long otherId) {
+        return findByUserIdAndFriendId(Math.min(userId, otherId), Math.max(userId, otherId));
+    }
 
-    boolean existsByUserAndFriend(User user, User friend);
+    default boolean existsBetween(Long userId, Long otherId) {
+        return existsByUserIdAndFriendId(Math.min(userId, otherId), Math.max(userId, otherId));
+    }
+
+    default int deleteBetween(Long userId, Long otherId) {
+        return deleteByPair(Math.min(userId, otherId), Math.max(userId, otherId));
+    }
+
+    boolean existsByUserIdAndFriendId(Long userId, Long friendId);
+
+    @Modifying
+    @Query("DELETE FROM Friend f WHERE f.user.id = :userId AND f.friend.id = :friendId")
+    int deleteByPair(@Param("userId") Long userId, @Param("friendId") Long friendId);
 
     @Modifying
     @Query("DELETE FROM Friend f WHERE f.user.id = :userId OR f.friend.id = :userId")
@@ -26,4 +43,35 @@ public interface FriendRepository extends JpaRepository<Friend, Long> {
     Optional<Friend> findByUserIdAndFriendId(Long userId, Long friendId);
 
     List<Friend> findAllByUserId(Long userId);
+
+    // 같은 모임에 속한 멤버끼리의 친구 관계에 공통 모임 수와 모임 점수 반영 (관계당 한 행)
+    @Modifying
+    @Query("UPDATE Friend f " +
+            "SET f.commonMoimCount = f.commonMoimCount + :delta, " +
+            "f.friendship = f.friendship + :scoreDelta " +
+            "WHERE f.user.id IN :memberIds AND f.friend.id IN :memberIds")
+    int adjustCommonMoimCount(@Param("memberIds") Collection<Long> memberIds,
+                              @Param("delta") int delta,
+                              @Param("scoreDelta") int scoreDelta);
+
+    // friend_id 기준 keyset 페이지 조회 (점수 재계산 배치용)
+    @Query("SELECT new com.example.tomo.Friends.dtos.FriendScoreRow(" +
+            "f.id, f.created_at, f.commonMoimCount, f.friendship) " +
+            "FROM Friend f " +
+            "WHERE f.id > :lastId " +
+            "ORDER BY f.id")
+    List<FriendScoreRow> findScoreRowsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 여러 친구 관계의 공통 모임 수를 한 번에 집계
+    @Query("""
+        SELECT new com.example.tomo.Friends.dtos.FriendCommonMoimCount(f.id, COUNT(DISTINCT mp1.moim.id))
+        FROM Friend f
+        JOIN Moim_people mp1
+            ON mp1.user.id = f.user.id
+        JOIN Moim_people mp2
+            ON mp2.moim.id = mp1.moim.id AND mp2.user.id = f.friend.id
+        WHERE f.id IN :friendIds
+        GROUP BY f.id
+    """)
+    List<FriendCommonMoimCount> countCommonMoimsByFriendIds(@Param("friendIds") Collection<Long> friendIds);
 }
@@ -1,16 +1,23 @@
 package com.example.tomo.Friends;
 
+import com.example.tomo.Friends.dtos.FriendListRow;
+import com.example.tomo.Friends.dtos.FriendPageDto;
 import com.example.tomo.Friends.dtos.ResponseFriendDetailDto;
-import com.example.tomo.Moim_people.MoimPeopleRepository;
+import com.example.tomo.Sync.SyncService;
 import com.example.tomo.Users.User;
 import com.example.tomo.Users.UserRepository;
 import com.example.tomo.Users.UserService;
+import com.example.tomo.global.Batch.LeaseManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,58 +25,83 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FriendService {
 
+    static final String SCORE_JOB = "friendship-score";
+    static final int DEFAULT_FRIEND_PAGE_SIZE = 20;
+    static final int MAX_FRIEND_PAGE_SIZE = 100;
+
     private final FriendRepository friendRepository;
+    private final FriendListRepository friendListRepository;
     private final UserRepository userRepository;
-    private final MoimPeopleRepository moimPeopleRepository;
-    private final FriendShipPolicy friendShipPolicy;
     private final UserService userService;
-
-    // 매일 자정마다 실행
-    @Transactional
-    @Scheduled(cron = "0 * * * * *")
+    private final FriendshipRecalculationJob friendshipRecalculationJob;
+    private final SetBasedFriendshipScorer setBasedFriendshipScorer;
+    private final LeaseManager leaseManager;
+    private final FriendGraph friendGraph;
+    private final FriendSuggestionService friendSuggestionService;
+    private final SyncService syncService;
+    private final FriendLeaderboardService friendLeaderboardService;
+
+    // JAVA: chunk 단위 재계산(기준 구현), SQL: friend_id 범위별 집합 기반 UPDATE
+    @Value("${friendship.scoring.mode:JAVA}")
+    private FriendshipScoringMode scoringMode;
+
+    // 모든 인스턴스에서 10분마다 시도하지만, 리스를 잡은 한 인스턴스만 하루 한 번 실행
+    // 실행 중인 인스턴스가 죽으면 리스 만료 후 다른 인스턴스가 체크포인트부터 이어서 처리
+    // chunk 단위로 커밋하므로 전체를 하나의 트랜잭션으로 묶지 않는다
+    // 매일은 기간 점수만 갱신하고, 공통 모임 수는 모임 변경 시 증분으로 유지된 값을 사용
+    // 주 경계가 바뀐 관계만 고르지 않고 전체를 읽는다: 기간 점수가 floor(일수 * 5 / 7) 이라 7일 중 5일은 값이 바뀌어
+    // 매일 약 5/7 의 관계가 갱신 대상이고, 고를 수 있는 인덱스 조건도 없다 (값이 그대로인 행은 쓰지 않는다)
+    // 목록 정렬과 순위가 저장된 점수를 쓰므로 조회 시점 계산으로 옮길 수도 없다
+    @Scheduled(cron = "0 */10 * * * *")
     public void updateAllFriendshipScores() {
-        List<Friend> friends = friendRepository.findAll();
-
-        for (Friend friend : friends) {
-            long joinCount = moimPeopleRepository.countCommonMoims(
-                    friend.getUser().getId(),
-                    friend.getFriend().getId()
-            );
-
-            int score = friendShipPolicy.calculateTotalScore(
-                    friend.getCreated_at(),
-                    (int) joinCount
-            );
+        runScoring(LocalDate.now().atStartOfDay(), false);
+    }
 
-            friend.updateFriendship(score);
-        }
+    // 공통 모임 수까지 전부 다시 집계 (정책 변경, 카운터 불일치 복구용)
+    // 기본값 "-" 는 스케줄 비활성화 → 필요할 때 friendship.recount.cron 을 지정하거나 직접 호출
+    // 같은 리스를 쓰므로 매일 갱신과 동시에 돌지 않는다
+    @Scheduled(cron = "${friendship.recount.cron:-}")
+    public void recountAllFriendshipScores() {
+        runScoring(LocalDateTime.now(), true);
+    }
 
-        // 일괄 저장
-        friendRepository.saveAll(friends);
+    private void runScoring(LocalDateTime notBefore, boolean recount) {
+        leaseManager.runExclusively(SCORE_JOB, notBefore, heartbeat -> {
+            try {
+                if (scoringMode == FriendshipScoringMode.SQL) {
+                    return (recount ? setBasedFriendshipScorer.recount(heartbeat)
+                            : setBasedFriendshipScorer.run(heartbeat)).completed();
+                }
+                return (recount ? friendshipRecalculationJob.recount(heartbeat)
+                        : friendshipRecalculationJob.run(heartbeat)).completed();
+            } finally {
+                // 중간에 멈춰도 이미 커밋된 chunk 의 점수는 바뀌었다
+                friendLeaderboardService.invalidateAll();
+            }
+        });
     }
 
     @Transactional
-    public void removeFriend(String uid, String friendEmail) {
-        // 본인 User 조회
-        User user = userRepository.findByFirebaseId(uid)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
-
+    public void removeFriend(Long userId, String friendEmail) {
         // 친구 User 조회
         User friend = userRepository.findByEmail(friendEmail)
                 .orElseThrow(() -> new EntityNotFoundException("친구를 찾을 수 없습니다."));
 
-        // 본인이 친구로 등록한 레코드 삭제
-        friendRepository.findByUserAndFriend(user, friend)
-                .ifPresent(friendRepository::delete);
+        // 친구 관계 행 하나 삭제 (조회 없이 DELETE 한 번)
+        friendRepository.deleteBetween(userId, friend.getId());
 
-        // 친구가 본인을 친구로 등록한 레코드 삭제
-        friendRepository.findByUserAndFriend(friend, user)
-                .ifPresent(friendRepository::delete);
+        friendGraph.removeFriendship(userId, friend.getId());
+        friendSuggestionService.onFriendshipChanged(userId, friend.getId());
+        syncService.recordFriendChanged(userId, friend.getId(), true);
+        friendLeaderboardService.onFriendshipChanged(userId, friend.getId());
     }
+    // 친구 점수는 상세, 목록, 페이지, 순위 모두 저장된 friendship 값 하나를 쓴다
+    // (매일 배치가 기간 점수를, 모임 변경이 모임 점수를 갱신) → 페이지 정렬 순서와 응답 점수가 항상 같다
     @Transactional
-    public ResponseFriendDetailDto getFriendDetail(String uid, String query){
+    public ResponseFriendDetailDto getFriendDetail(Long userId, String query){
         User user = userService.getUser(query);
-        Friend friend = this.getFriendByUidAndEmail(uid,user.getEmail());
+        Friend friend = friendRepository.findBetween(userId, user.getId())
+                .orElseThrow(()->new EntityNotFoundException("친구 관계가 아닙니다."));
 
         return new ResponseFriendDetailDto(
                 user.getEmail(),
@@ -79,35 +111,70 @@ public class FriendService {
 
     }
 
+    // friend ⨝ users 프로젝션 한 번으로 조회 (친구 수와 무관하게 쿼리 수 일정)
     @Transactional
-    public List<ResponseFriendDetailDto> getFriends(String uid){
-        User user = userRepository.findByFirebaseId(uid)
-                .orElseThrow(() -> new EntityNotFoundException("존재하지 않는 사용자입니다"));
-        List<Friend> friends = friendRepository.findAllByUserId(user.getId());
-
-        return friends.stream()
-                .map((friend) -> new ResponseFriendDetailDto(
-                        userRepository.findById(friend.getFriend().getId())
-                                .orElseThrow(() -> new EntityNotFoundException("존재하지 않는 사용자입니다"))
-                                .getEmail(),
-                        userRepository.findById(friend.getFriend().getId())
-                                .orElseThrow(() -> new EntityNotFoundException("존재하지 않는 사용자입니다"))
-                                .getUsername(),
-                        friend.getFriendship(),
-                        friend.getCreated_at()
-                ))
+    public List<ResponseFriendDetailDto> getFriends(Long userId){
+        return friendListRepository.findFriendRows(userId).stream()
+                .map(FriendService::toDetail)
                 .collect(Collectors.toList());
     }
 
+    // 친구 목록 keyset 페이지 조회
+    @Transactional
+    public FriendPageDto getFriendPage(Long userId, FriendSortType sort, Integer size, String cursor) {
+        int pageSize = Math.max(1, Math.min(size == null ? DEFAULT_FRIEND_PAGE_SIZE : size, MAX_FRIEND_PAGE_SIZE));
+        // 한 건 더 조회해서 다음 페이지 존재 여부 확인
+        int limit = pageSize + 1;
+        List<FriendListRow> rows = findFriendPage(userId, sort, cursor, limit);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = toCursor(sort, rows.get(pageSize - 1));
+        }
+
+        List<ResponseFriendDetailDto> friends = rows.stream()
+                .map(FriendService::toDetail)
+                .toList();
+        return new FriendPageDto(friends, nextCursor);
+    }
+
+    private List<FriendListRow> findFriendPage(Long userId, FriendSortType sort, String cursor, int limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return friendListRepository.findPage(userId, sort, null, null, limit);
+        }
 
+        // 커서 형식: {정렬 값}_{friend_id}
+        int separator = cursor.lastIndexOf('_');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("잘못된 커서입니다");
+        }
+        try {
+            String value = cursor.substring(0, separator);
+            long lastId = Long.parseLong(cursor.substring(separator + 1));
+            Object after = sort == FriendSortType.CREATED_AT ? LocalDate.parse(value) : Integer.valueOf(value);
+            return friendListRepository.findPage(userId, sort, after, lastId, limit);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다");
+        }
+    }
 
-    public Friend getFriendByUidAndEmail(String uid, String email){
-        User me = userRepository.findByFirebaseId(uid)
-                .orElseThrow(()->new EntityNotFoundException("존재하지 않는 사용자 입니다"));
+    private String toCursor(FriendSortType sort, FriendListRow row) {
+        Object value = sort == FriendSortType.CREATED_AT ? row.createdAt() : row.friendship();
+        return value + "_" + row.friendId();
+    }
+
+    private static ResponseFriendDetailDto toDetail(FriendListRow row) {
+        return new ResponseFriendDetailDto(row.email(), row.username(), row.friendship(), row.createdAt());
+    }
+
+
+
+    public Friend getFriendByUserIdAndEmail(Long userId, String email){
         User other = userRepository.findByEmail(email)
                 .orElseThrow(()->new EntityNotFoundException("존재하지 않는 사용자 입니다"));
 
-        return friendRepository.findByUserIdAndFriendId(me.getId(),other.getId())
+        return friendRepository.findBetween(userId, other.getId())
                 .orElseThrow(()->new EntityNotFoundException("친구 관계가 아닙니다."));
     }
 
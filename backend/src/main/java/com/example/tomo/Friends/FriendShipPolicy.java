@@ -8,20 +8,44 @@ import java.time.temporal.ChronoUnit;
 @Component
 public class FriendShipPolicy {
 
+    // 일주일당 점수
+    public static final int TIME_POINTS_PER_WEEK = 5;
+    // 공통 모임 1개당 점수
+    public static final int GROUP_POINTS_PER_MOIM = 5;
+
     // 기간 점수 계산
     public int calculateTimeScore(LocalDate createdAt) {
-        long daysBetween = ChronoUnit.DAYS.between(createdAt, LocalDate.now());
+        return calculateTimeScore(createdAt, LocalDate.now());
+    }
+
+    public int calculateTimeScore(LocalDate createdAt, LocalDate today) {
+        long daysBetween = ChronoUnit.DAYS.between(createdAt, today);
         double weeks = daysBetween / 7.0;
-        return (int) Math.floor(weeks * 5); // 일주일당 5점, 반내림
+        return (int) Math.floor(weeks * TIME_POINTS_PER_WEEK); // 일주일당 5점, 반내림
     }
 
     // 모임 참여 점수 계산 (임시 규칙)
     public int calculateGroupScore(int joinedCount) {
-        return joinedCount * 5; // 예: 모임 참여 1회당 5점
+        return joinedCount * GROUP_POINTS_PER_MOIM; // 예: 모임 참여 1회당 5점
     }
 
     // 최종 합산
     public int calculateTotalScore(LocalDate createdAt, int joinedCount) {
-        return calculateTimeScore(createdAt) + calculateGroupScore(joinedCount);
+        return calculateTotalScore(createdAt, joinedCount, LocalDate.now());
+    }
+
+    public int calculateTotalScore(LocalDate createdAt, int joinedCount, LocalDate today) {
+        return calculateTimeScore(createdAt, today) + calculateGroupScore(joinedCount);
+    }
+
+    // 위 규칙을 MySQL 식으로 변환 (집합 기반 재계산용)
+    // floor(일수 / 7 * 5) 는 정수 나눗셈 (일수 * 5) DIV 7 과 같다 (일수 >= 0)
+    public String toSqlScoreExpression(String createdAtColumn, String joinedCountColumn, String todayParameter) {
+        return "((DATEDIFF(" + todayParameter + ", " + createdAtColumn + ") * " + TIME_POINTS_PER_WEEK + ") DIV 7)"
+                + " + " + toSqlGroupScoreExpression(joinedCountColumn);
+    }
+
+    public String toSqlGroupScoreExpression(String joinedCountColumn) {
+        return "(" + joinedCountColumn + " * " + GROUP_POINTS_PER_MOIM + ")";
     }
 }
@@ -0,0 +1,18 @@
+package com.example.tomo.Friends;
+
+// 친구 목록 페이지 정렬 기준 (모두 내림차순, 같은 값이면 friend_id 내림차순)
+// column: friend 테이블의 정렬 컬럼 (양쪽 (user_id, column), (friend_user_id, column) 인덱스가 있어야 한다)
+public enum FriendSortType {
+    SCORE("friendship"),
+    CREATED_AT("created_at");
+
+    private final String column;
+
+    FriendSortType(String column) {
+        this.column = column;
+    }
+
+    String column() {
+        return column;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.tomo.Friends;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+// 알 수도 있는 사람 후보 (user_id 별 상위 K 명). FriendSuggestionRepository 가 JDBC 로 통째로 교체한다
+@Entity
+@Getter
+@Table(name = "friend_suggestion",
+        uniqueConstraints = @UniqueConstraint(name = "uk_friend_suggestion_user_candidate",
+                columnNames = {"user_id", "candidate_id"}),
+        indexes = {
+                @Index(name = "idx_friend_suggestion_user_score", columnList = "user_id, score"),
+                @Index(name = "idx_friend_suggestion_candidate", columnList = "candidate_id")
+        })
+public class FriendSuggestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "friend_suggestion_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(nullable = false)
+    private int score;
+
+    @Column(name = "common_moim_count", nullable = false)
+    private int commonMoimCount;
+
+    @Column(name = "mutual_friend_count", nullable = false)
+    private int mutualFriendCount;
+
+    public FriendSuggestion() {}
+}
@@ -0,0 +1,22 @@
+package com.example.tomo.Friends;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 후보를 다시 계산해야 하는 사용자 (모임/친구 변경과 같은 트랜잭션에서 기록)
+@Entity
+@Getter
+@Table(name = "friend_suggestion_dirty")
+public class FriendSuggestionDirty {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "marked_at", nullable = false)
+    private LocalDateTime markedAt;
+
+    public FriendSuggestionDirty() {}
+}
@@ -0,0 +1,8 @@
+package com.example.tomo.Friends;
+
+// 알 수도 있는 사람 점수 규칙 (다른 규칙을 쓰려면 @Primary 빈으로 교체)
+public interface FriendSuggestionPolicy {
+
+    // 0 이하이면 추천하지 않음
+    int score(int commonMoimCount, int mutualFriendCount);
+}
@@ -0,0 +1,170 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Friends.dtos.FriendSuggestionCandidate;
+import com.example.tomo.Friends.dtos.ResponseFriendSuggestionDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// friend_suggestion / friend_suggestion_dirty 접근 (JDBC)
+@Repository
+@RequiredArgsConstructor
+public class FriendSuggestionRepository {
+
+    // 한 사용자의 친구 id (friend 는 관계당 (작은 id, 큰 id) 한 행), 파라미터 2개
+    private static final String FRIENDS_OF =
+            "SELECT friend_user_id AS friend_id FROM friend WHERE user_id = ? "
+                    + "UNION ALL SELECT user_id FROM friend WHERE friend_user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 추천 목록 조회: idx_friend_suggestion_user_score 한 번 읽기
+    public List<ResponseFriendSuggestionDto> findTop(long userId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT u.username, u.invite_code, s.common_moim_count, s.mutual_friend_count "
+                        + "FROM friend_suggestion s JOIN users u ON u.user_id = s.candidate_id "
+                        + "WHERE s.user_id = ? ORDER BY s.score DESC, s.candidate_id DESC LIMIT ?",
+                (rs, rowNum) -> new ResponseFriendSuggestionDto(rs.getString(1), rs.getString(2), rs.getInt(3), rs.getInt(4)),
+                userId, limit);
+    }
+
+    // ---- 변경 기록 (변경과 같은 트랜잭션에서 호출) ----
+
+    public void markDirty(Collection<Long> userIds) {
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO friend_suggestion_dirty (user_id, marked_at) VALUES (?, NOW(6))",
+                userIds.stream().distinct().map(id -> new Object[]{id}).toList());
+    }
+
+    // userIds 의 친구들 (공통 친구 수가 바뀜). 친구 관계는 행 하나라 양쪽 컬럼을 모두 본다
+    public void markFriendsDirty(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String in = placeholders(userIds.size());
+        Object[] args = new Object[userIds.size() * 2];
+        int i = 0;
+        for (Long userId : userIds) {
+            args[i] = userId;
+            args[i + userIds.size()] = userId;
+            i++;
+        }
+        jdbcTemplate.update(
+                "INSERT IGNORE INTO friend_suggestion_dirty (user_id, marked_at) "
+                        + "SELECT friend_id, NOW(6) FROM ("
+                        + "SELECT friend_user_id AS friend_id FROM friend WHERE user_id IN (" + in + ") "
+                        + "UNION SELECT user_id FROM friend WHERE friend_user_id IN (" + in + ")"
+                        + ") f WHERE friend_id IS NOT NULL",
+                args);
+    }
+
+    // 모임 멤버들 (공통 모임 수가 바뀜)
+    public void markMoimMembersDirty(Collection<Long> moimIds) {
+        if (moimIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+                "INSERT IGNORE INTO friend_suggestion_dirty (user_id, marked_at) "
+                        + "SELECT DISTINCT user_id, NOW(6) FROM moim_people "
+                        + "WHERE moim_id IN (" + placeholders(moimIds.size()) + ") AND user_id IS NOT NULL",
+                moimIds.toArray());
+    }
+
+    // 친구가 된 사람들은 재계산 전이라도 서로의 목록에서 바로 제거
+    public void deletePairs(long userId, Collection<Long> otherIds) {
+        if (otherIds.isEmpty()) {
+            return;
+        }
+        String in = placeholders(otherIds.size());
+        List<Object> args = new ArrayList<>(otherIds.size() * 2 + 2);
+        args.add(userId);
+        args.addAll(otherIds);
+        args.add(userId);
+        args.addAll(otherIds);
+        jdbcTemplate.update(
+                "DELETE FROM friend_suggestion WHERE (user_id = ? AND candidate_id IN (" + in + ")) "
+                        + "OR (candidate_id = ? AND user_id IN (" + in + "))",
+                args.toArray());
+    }
+
+    // 탈퇴: 본인 목록, 다른 사람 목록의 본인, 재계산 표시 삭제
+    public void deleteAllByUserId(long userId) {
+        jdbcTemplate.update("DELETE FROM friend_suggestion WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM friend_suggestion WHERE candidate_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM friend_suggestion_dirty WHERE user_id = ?", userId);
+    }
+
+    // ---- 재계산 ----
+
+    // 다른 인스턴스가 가져가는 중인 행은 건너뜀 (트랜잭션 안에서 호출, 같은 트랜잭션에서 deleteDirty)
+    public List<Long> claimDirty(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM friend_suggestion_dirty ORDER BY user_id LIMIT ? FOR UPDATE SKIP LOCKED",
+                Long.class, limit);
+    }
+
+    public void deleteDirty(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(
+                "DELETE FROM friend_suggestion_dirty WHERE user_id IN (" + placeholders(userIds.size()) + ")",
+                userIds.toArray());
+    }
+
+    public Set<Long> findFriendIds(long userId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT friend_id FROM (" + FRIENDS_OF + ") f WHERE friend_id IS NOT NULL",
+                Long.class, userId, userId));
+    }
+
+    // 친구의 친구 → 공통 친구 수 (친구 m 의 친구를 friend 양쪽 컬럼에서 읽음)
+    public Map<Long, Integer> countMutualFriends(long userId) {
+        return countBy("SELECT candidate_id, COUNT(*) FROM ("
+                + "SELECT f2.friend_user_id AS candidate_id FROM (" + FRIENDS_OF + ") m "
+                + "JOIN friend f2 ON f2.user_id = m.friend_id "
+                + "UNION ALL "
+                + "SELECT f2.user_id FROM (" + FRIENDS_OF + ") m "
+                + "JOIN friend f2 ON f2.friend_user_id = m.friend_id"
+                + ") c WHERE candidate_id <> ? "
+                + "GROUP BY candidate_id", userId, userId, userId, userId, userId);
+    }
+
+    // 같은 모임 멤버 → 공통 모임 수
+    public Map<Long, Integer> countCommonMoims(long userId) {
+        return countBy("SELECT mp2.user_id, COUNT(*) FROM moim_people mp1 "
+                + "JOIN moim_people mp2 ON mp2.moim_id = mp1.moim_id "
+                + "WHERE mp1.user_id = ? AND mp2.user_id <> ? "
+                + "GROUP BY mp2.user_id", userId, userId);
+    }
+
+    public void replace(long userId, List<FriendSuggestionCandidate> candidates) {
+        jdbcTemplate.update("DELETE FROM friend_suggestion WHERE user_id = ?", userId);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO friend_suggestion (user_id, candidate_id, score, common_moim_count, mutual_friend_count) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                candidates.stream()
+                        .map(c -> new Object[]{userId, c.candidateId(), c.score(), c.commonMoimCount(), c.mutualFriendCount()})
+                        .toList());
+    }
+
+    private Map<Long, Integer> countBy(String sql, Object... args) {
+        Map<Long, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> counts.put(rs.getLong(1), rs.getInt(2)), args);
+        return counts;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Friends.dtos.FriendSuggestionCandidate;
+import com.example.tomo.Friends.dtos.ResponseFriendSuggestionDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 알 수도 있는 사람: 같은 모임 멤버와 친구의 친구 중 아직 친구가 아닌 사용자를 FriendSuggestionPolicy 로 점수 매겨
+// 사용자별 상위 K 명을 friend_suggestion 에 저장해 두고, 조회는 인덱스 한 번 읽기로 처리
+// 모임/친구 변경 시 영향받는 사용자만 friend_suggestion_dirty 에 기록하고, 갱신 작업이 그 사용자들만 다시 계산
+// → 재계산 비용은 전체 사용자 수가 아니라 변경량에 비례
+@Slf4j
+@Service
+public class FriendSuggestionService {
+
+    static final int DEFAULT_SUGGESTION_SIZE = 10;
+
+    private static final Comparator<FriendSuggestionCandidate> BY_SCORE =
+            Comparator.comparingInt(FriendSuggestionCandidate::score).reversed()
+                    .thenComparing(Comparator.comparingLong(FriendSuggestionCandidate::candidateId).reversed());
+
+    private final FriendSuggestionRepository suggestionRepository;
+    private final FriendSuggestionPolicy suggestionPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final int topK;
+    private final int batchSize;
+
+    public FriendSuggestionService(FriendSuggestionRepository suggestionRepository,
+                                   FriendSuggestionPolicy suggestionPolicy,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${friend-suggestion.top-k:20}") int topK,
+                                   @Value("${friend-suggestion.batch-size:100}") int batchSize) {
+        this.suggestionRepository = suggestionRepository;
+        this.suggestionPolicy = suggestionPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.topK = topK;
+        this.batchSize = batchSize;
+    }
+
+    public List<ResponseFriendSuggestionDto> getSuggestions(Long userId, Integer size) {
+        int limit = Math.max(1, Math.min(size == null ? DEFAULT_SUGGESTION_SIZE : size, topK));
+        return suggestionRepository.findTop(userId, limit);
+    }
+
+    // 친구 추가/삭제: 두 사람 + 두 사람의 친구들 (공통 친구 수 변화)
+    public void onFriendshipChanged(Long userId, Long friendId) {
+        onFriendshipsChanged(userId, List.of(friendId));
+    }
+
+    // 한 사용자의 친구 여러 명을 한 번에 추가/삭제: 친구 수와 관계없이 쿼리 3번
+    public void onFriendshipsChanged(Long userId, Collection<Long> friendIds) {
+        if (friendIds.isEmpty()) {
+            return;
+        }
+        List<Long> affected = new ArrayList<>(friendIds.size() + 1);
+        affected.add(userId);
+        affected.addAll(friendIds);
+        suggestionRepository.deletePairs(userId, friendIds);
+        suggestionRepository.markDirty(affected);
+        suggestionRepository.markFriendsDirty(affected);
+    }
+
+    // 모임 생성: 멤버 전원
+    public void onMoimMembersChanged(Collection<Long> memberIds) {
+        suggestionRepository.markDirty(memberIds);
+    }
+
+    // 모임 삭제 전에 호출: 멤버 전원
+    public void onMoimsRemoved(List<Long> moimIds) {
+        suggestionRepository.markMoimMembersDirty(moimIds);
+    }
+
+    // 탈퇴: friend 행 삭제 전에 호출
+    public void onUserDeleted(Long userId) {
+        suggestionRepository.markFriendsDirty(List.of(userId));
+        suggestionRepository.deleteAllByUserId(userId);
+    }
+
+    // 재계산 대기 사용자를 묶음 단위로 처리 (여러 인스턴스가 나눠서 처리)
+    @Scheduled(fixedDelayString = "${friend-suggestion.refresh-ms:30000}")
+    public void refresh() {
+        try {
+            int total = 0;
+            int processed;
+            do {
+                processed = refreshBatch();
+                total += processed;
+            } while (processed == batchSize);
+            if (total > 0) {
+                log.info("Refreshed friend suggestions for {} users", total);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh friend suggestions", e);
+        }
+    }
+
+    // 대기 행을 잠그고 바로 지우는 짧은 트랜잭션으로 가져온 뒤, 잠금 없이 재계산
+    // → 재계산이 오래 걸려도 dirty 행 잠금을 쥐고 있지 않아 변경 기록(markDirty)이 기다리지 않는다
+    // 재계산 중에 다시 바뀐 사용자는 새 dirty 행이 생겨 다음 묶음에서 다시 계산된다
+    int refreshBatch() {
+        List<Long> userIds = transactionTemplate.execute(status -> {
+            List<Long> claimed = suggestionRepository.claimDirty(batchSize);
+            suggestionRepository.deleteDirty(claimed);
+            return claimed;
+        });
+        if (userIds == null) {
+            return 0;
+        }
+        for (Long userId : userIds) {
+            try {
+                List<FriendSuggestionCandidate> top = computeTopK(userId);
+                // 삭제 후 삽입 사이의 빈 목록이 조회되지 않도록 사용자 단위 트랜잭션
+                transactionTemplate.executeWithoutResult(status -> suggestionRepository.replace(userId, top));
+            } catch (Exception e) {
+                // 이미 대기 행을 지웠으므로 다시 표시해 다음 주기에 재시도
+                log.warn("Failed to refresh friend suggestions for user {}", userId, e);
+                suggestionRepository.markDirty(List.of(userId));
+            }
+        }
+        return userIds.size();
+    }
+
+    List<FriendSuggestionCandidate> computeTopK(long userId) {
+        Map<Long, Integer> commonMoims = suggestionRepository.countCommonMoims(userId);
+        Map<Long, Integer> mutualFriends = suggestionRepository.countMutualFriends(userId);
+        Set<Long> friendIds = suggestionRepository.findFriendIds(userId);
+
+        Set<Long> candidateIds = new HashSet<>(commonMoims.keySet());
+        candidateIds.addAll(mutualFriends.keySet());
+        candidateIds.removeAll(friendIds);
+
+        List<FriendSuggestionCandidate> candidates = new ArrayList<>();
+        for (Long candidateId : candidateIds) {
+            int moims = commonMoims.getOrDefault(candidateId, 0);
+            int mutual = mutualFriends.getOrDefault(candidateId, 0);
+            int score = suggestionPolicy.score(moims, mutual);
+            if (score > 0) {
+                candidates.add(new FriendSuggestionCandidate(candidateId, moims, mutual, score));
+            }
+        }
+        candidates.sort(BY_SCORE);
+        return candidates.size() > topK ? new ArrayList<>(candidates.subList(0, topK)) : candidates;
+    }
+}
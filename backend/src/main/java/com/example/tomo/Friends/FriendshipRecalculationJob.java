@@ -0,0 +1,192 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Friends.dtos.FriendCommonMoimCount;
+import com.example.tomo.Friends.dtos.FriendScoreRow;
+import com.example.tomo.Friends.dtos.RecalculationReport;
+import com.example.tomo.global.Batch.JobCheckpoint;
+import com.example.tomo.global.Batch.JobCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+// friend 테이블 전체 점수 갱신
+// run: 매일 기간 점수만 갱신 (공통 모임 수는 모임 변경 시 증분으로 유지되므로 다시 세지 않는다)
+// recount: 공통 모임 수까지 다시 집계 (정책 변경, 카운터 불일치 복구용으로 필요할 때만)
+// friend_id 순서로 chunk 단위로 읽고, chunk마다 커밋과 체크포인트 저장을 함께 수행한다
+@Slf4j
+@Component
+public class FriendshipRecalculationJob {
+
+    static final String JOB_NAME = "friendship-recalculation";
+    static final String RECOUNT_JOB_NAME = "friendship-recount";
+
+    // 읽은 뒤 모임 변경(±1)이 먼저 커밋됐으면 덮어쓰지 않고 건너뛴다 (compare-and-set)
+    private static final String RECOUNT_SQL =
+            "UPDATE friend SET common_moim_count = ?, friendship = ? WHERE friend_id = ? AND common_moim_count <=> ?";
+
+    private final FriendRepository friendRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final FriendShipPolicy friendShipPolicy;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    // 기간 점수만 넘기고 모임 점수는 UPDATE 시점의 공통 모임 수로 계산
+    private final String refreshSql;
+
+    public FriendshipRecalculationJob(FriendRepository friendRepository,
+                                      JobCheckpointRepository checkpointRepository,
+                                      FriendShipPolicy friendShipPolicy,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${friendship.recalculation.chunk-size:1000}") int chunkSize) {
+        this.friendRepository = friendRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.friendShipPolicy = friendShipPolicy;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.refreshSql = "UPDATE friend SET friendship = ? + "
+                + friendShipPolicy.toSqlGroupScoreExpression("common_moim_count")
+                + " WHERE friend_id = ? AND common_moim_count IS NOT NULL";
+    }
+
+    public RecalculationReport run() {
+        return run(() -> true);
+    }
+
+    // heartbeat 는 chunk 마다 호출되며, false 를 반환하면 (리스 상실 등) 체크포인트를 남기고 중단
+    public RecalculationReport run(BooleanSupplier heartbeat) {
+        return run(JOB_NAME, false, heartbeat);
+    }
+
+    public RecalculationReport recount() {
+        return recount(() -> true);
+    }
+
+    public RecalculationReport recount(BooleanSupplier heartbeat) {
+        return run(RECOUNT_JOB_NAME, true, heartbeat);
+    }
+
+    private RecalculationReport run(String jobName, boolean recount, BooleanSupplier heartbeat) {
+        long startedAt = System.nanoTime();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapHighWater = memory.getHeapMemoryUsage().getUsed();
+
+        // 이전 실행이 중간에 끊겼다면 마지막 커밋 위치부터 이어서 처리
+        long lastId = checkpointRepository.findById(jobName)
+                .map(JobCheckpoint::getLastId)
+                .orElse(0L);
+        if (lastId > 0) {
+            log.info("[{}] resume from friend_id > {}", jobName, lastId);
+        }
+
+        long rows = 0;
+        long updatedRows = 0;
+        long chunks = 0;
+        boolean completed = true;
+
+        while (true) {
+            if (!heartbeat.getAsBoolean()) {
+                log.warn("[{}] stopped at friend_id > {}", jobName, lastId);
+                completed = false;
+                break;
+            }
+            long from = lastId;
+            ChunkResult chunk = transactionTemplate.execute(status -> processChunk(jobName, recount, from));
+            if (chunk == null || chunk.rows() == 0) {
+                break;
+            }
+            rows += chunk.rows();
+            updatedRows += chunk.updatedRows();
+            chunks++;
+            lastId = chunk.lastId();
+            heapHighWater = Math.max(heapHighWater, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        // 전체 처리 완료 시 체크포인트 제거 → 다음 실행은 처음부터
+        if (completed) {
+            checkpointRepository.deleteById(jobName);
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        double rowsPerSecond = elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+        RecalculationReport report = new RecalculationReport(
+                rows, updatedRows, chunks, elapsedMillis, rowsPerSecond, heapHighWater, completed);
+
+        log.info("[{}] rows={} updated={} chunks={} elapsed={}ms rows/sec={} heapHighWater={}MB completed={}",
+                jobName, rows, updatedRows, chunks, elapsedMillis,
+                String.format("%.1f", rowsPerSecond), heapHighWater / (1024 * 1024), completed);
+        return report;
+    }
+
+    private ChunkResult processChunk(String jobName, boolean recount, long fromId) {
+        List<FriendScoreRow> rows = friendRepository.findScoreRowsAfter(fromId, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, 0, fromId);
+        }
+
+        // 기간 점수 갱신에서는 카운터 도입 이전 행(null)만 직접 집계
+        List<Long> countIds = rows.stream()
+                .filter(row -> recount || row.commonMoimCount() == null)
+                .map(FriendScoreRow::friendId)
+                .toList();
+        Map<Long, Long> commonCounts = countIds.isEmpty() ? Map.of()
+                : friendRepository.countCommonMoimsByFriendIds(countIds).stream()
+                        .collect(Collectors.toMap(FriendCommonMoimCount::friendId, FriendCommonMoimCount::commonMoimCount));
+
+        // friend_id 오름차순 그대로 배치 UPDATE → 락 획득 순서가 일정
+        List<Object[]> recounts = new ArrayList<>();
+        List<Object[]> refreshes = new ArrayList<>();
+        for (FriendScoreRow row : rows) {
+            if (recount || row.commonMoimCount() == null) {
+                int count = commonCounts.getOrDefault(row.friendId(), 0L).intValue();
+                if (!Integer.valueOf(count).equals(row.commonMoimCount())) {
+                    int score = friendShipPolicy.calculateTotalScore(row.createdAt(), count);
+                    recounts.add(new Object[]{count, score, row.friendId(), row.commonMoimCount()});
+                    continue;
+                }
+            }
+            int score = friendShipPolicy.calculateTotalScore(row.createdAt(), row.commonMoimCount());
+            if (!Integer.valueOf(score).equals(row.friendship())) {
+                refreshes.add(new Object[]{friendShipPolicy.calculateTimeScore(row.createdAt()), row.friendId()});
+            }
+        }
+        int updatedRows = batchUpdate(RECOUNT_SQL, recounts) + batchUpdate(refreshSql, refreshes);
+
+        long lastId = rows.get(rows.size() - 1).friendId();
+        checkpointRepository.save(new JobCheckpoint(jobName, lastId));
+
+        return new ChunkResult(rows.size(), updatedRows, lastId);
+    }
+
+    // 실제로 바뀐 행 수 (compare-and-set 에서 건너뛴 행 제외)
+    private int batchUpdate(String sql, List<Object[]> args) {
+        if (args.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(sql, args)) {
+            // 드라이버가 행 수를 주지 않으면(SUCCESS_NO_INFO) 반영된 것으로 본다
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private record ChunkResult(int rows, int updatedRows, long lastId) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.tomo.Friends;
+
+// 전체 점수 재계산 방식
+public enum FriendshipScoringMode {
+    // FriendShipPolicy 를 Java 에서 행 단위로 적용 (기준 구현)
+    JAVA,
+    // 정책을 하나의 UPDATE ... JOIN 문으로 변환해 MySQL 에서 한 번에 계산
+    SQL
+}
@@ -0,0 +1,144 @@
+package com.example.tomo.Friends;
+
+import com.example.tomo.Friends.dtos.RecalculationReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+
+// FriendShipPolicy 를 SQL 로 변환해 모든 친구 관계 점수를 집합 기반 UPDATE 로 재계산
+// friend_id 범위(range-size)마다 UPDATE 한 문장, 트랜잭션 하나 → 문장 사이마다 heartbeat 로 리스를 연장하고
+// 리스를 잃으면 중단한다 (한 문장이 리스 TTL 보다 오래 걸리지 않도록 range-size 를 잡는다)
+@Slf4j
+@Component
+public class SetBasedFriendshipScorer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int rangeSize;
+    private final String refreshSql;
+    private final String recountSql;
+    private final String recountMissingSql;
+
+    public SetBasedFriendshipScorer(JdbcTemplate jdbcTemplate,
+                                    FriendShipPolicy friendShipPolicy,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${friendship.scoring.sql.range-size:50000}") int rangeSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rangeSize = rangeSize;
+        // 기간 점수만 갱신: 모임 점수는 UPDATE 시점의 공통 모임 수 사용 (모임 변경의 ±1 을 덮어쓰지 않음)
+        // 파라미터: today, fromId, toId
+        this.refreshSql = """
+                UPDATE friend
+                SET friendship = %s
+                WHERE friend_id > ? AND friend_id <= ?
+                  AND common_moim_count IS NOT NULL
+                """.formatted(friendShipPolicy.toSqlScoreExpression(
+                        "created_at", "common_moim_count", "?"));
+        // 공통 모임 수 재집계 (전체 / 카운터 도입 이전 행(NULL)만)
+        this.recountSql = recountSql(friendShipPolicy, "");
+        this.recountMissingSql = recountSql(friendShipPolicy, "AND fc.common_moim_count IS NULL ");
+    }
+
+    // 집계 뒤 모임 변경이 먼저 반영된 행은 건너뛴다 (compare-and-set)
+    // 파라미터: fromId, toId, today
+    private static String recountSql(FriendShipPolicy friendShipPolicy, String filter) {
+        return """
+                UPDATE friend f
+                JOIN (
+                    SELECT fc.friend_id, fc.common_moim_count AS seen_count, COUNT(DISTINCT mp2.moim_id) AS common_count
+                    FROM friend fc
+                    LEFT JOIN moim_people mp1
+                        ON mp1.user_id = fc.user_id
+                    LEFT JOIN moim_people mp2
+                        ON mp2.moim_id = mp1.moim_id AND mp2.user_id = fc.friend_user_id
+                    WHERE fc.friend_id > ? AND fc.friend_id <= ? %s
+                    GROUP BY fc.friend_id, fc.common_moim_count
+                ) c ON c.friend_id = f.friend_id
+                SET f.common_moim_count = c.common_count,
+                    f.friendship = %s
+                WHERE f.common_moim_count <=> c.seen_count
+                """.formatted(filter, friendShipPolicy.toSqlScoreExpression(
+                        "f.created_at", "c.common_count", "?"));
+    }
+
+    public RecalculationReport run() {
+        return run(LocalDate.now(), () -> true);
+    }
+
+    public RecalculationReport run(BooleanSupplier heartbeat) {
+        return run(LocalDate.now(), heartbeat);
+    }
+
+    public RecalculationReport run(LocalDate today) {
+        return run(today, () -> true);
+    }
+
+    // 카운터 도입 이전 행(NULL)은 같은 범위 트랜잭션에서 먼저 집계 (JAVA 모드의 chunk 처리와 같음)
+    // 그 행은 집계 UPDATE 가 점수까지 쓰고, 이어지는 기간 점수 UPDATE 에서 한 번 더 세어질 수 있다
+    public RecalculationReport run(LocalDate today, BooleanSupplier heartbeat) {
+        Date date = Date.valueOf(today);
+        return execute("friendship-sql-scoring", heartbeat,
+                (fromId, toId) -> jdbcTemplate.update(recountMissingSql, fromId, toId, date)
+                        + jdbcTemplate.update(refreshSql, date, fromId, toId));
+    }
+
+    public RecalculationReport recount() {
+        return recount(LocalDate.now(), () -> true);
+    }
+
+    public RecalculationReport recount(BooleanSupplier heartbeat) {
+        return recount(LocalDate.now(), heartbeat);
+    }
+
+    public RecalculationReport recount(LocalDate today) {
+        return recount(today, () -> true);
+    }
+
+    public RecalculationReport recount(LocalDate today, BooleanSupplier heartbeat) {
+        Date date = Date.valueOf(today);
+        return execute("friendship-sql-recount", heartbeat,
+                (fromId, toId) -> jdbcTemplate.update(recountSql, fromId, toId, date));
+    }
+
+    // 실패하거나 중단돼도 다시 실행하면 같은 결과라 체크포인트 없이 처음부터 다시 돈다
+    private RecalculationReport execute(String name, BooleanSupplier heartbeat, RangeUpdate update) {
+        long startedAt = System.nanoTime();
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(friend_id) FROM friend", Long.class);
+
+        long rows = 0;
+        long chunks = 0;
+        boolean completed = true;
+        for (long fromId = 0; maxId != null && fromId < maxId; fromId += rangeSize) {
+            if (!heartbeat.getAsBoolean()) {
+                log.warn("[{}] stopped at friend_id > {}", name, fromId);
+                completed = false;
+                break;
+            }
+            long from = fromId;
+            Integer updated = transactionTemplate.execute(status -> update.apply(from, from + rangeSize));
+            rows += updated == null ? 0 : updated;
+            chunks++;
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        double rowsPerSecond = elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        log.info("[{}] rows={} statements={} elapsed={}ms completed={}", name, rows, chunks, elapsedMillis, completed);
+        return new RecalculationReport(rows, rows, chunks, elapsedMillis, rowsPerSecond, heapUsed, completed);
+    }
+
+    @FunctionalInterface
+    private interface RangeUpdate {
+        int apply(long fromId, long toId);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tomo.Friends;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 공통 모임은 친밀도 점수와 같은 배점(FriendShipPolicy), 공통 친구는 1명당 pointsPerMutualFriend 점
+@Component
+public class WeightedFriendSuggestionPolicy implements FriendSuggestionPolicy {
+
+    private final FriendShipPolicy friendShipPolicy;
+    private final int pointsPerMutualFriend;
+
+    public WeightedFriendSuggestionPolicy(FriendShipPolicy friendShipPolicy,
+                                          @Value("${friend-suggestion.points-per-mutual-friend:3}") int pointsPerMutualFriend) {
+        this.friendShipPolicy = friendShipPolicy;
+        this.pointsPerMutualFriend = pointsPerMutualFriend;
+    }
+
+    @Override
+    public int score(int commonMoimCount, int mutualFriendCount) {
+        return friendShipPolicy.calculateGroupScore(commonMoimCount) + mutualFriendCount * pointsPerMutualFriend;
+    }
+}
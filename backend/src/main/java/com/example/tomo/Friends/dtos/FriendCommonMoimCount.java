@@ -0,0 +1,8 @@
+package com.example.tomo.Friends.dtos;
+
+// 친구 관계별 공통 모임 수 집계 결과
+public record FriendCommonMoimCount(
+        Long friendId,
+        Long commonMoimCount
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.tomo.Friends.dtos;
+
+// 점수 순 친구 한 명 (friendId 는 friend 행 id, 동점일 때 큰 쪽이 앞)
+public record FriendLeaderboardRow(
+        long friendId,
+        long friendUserId,
+        String email,
+        String username,
+        int friendship
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.tomo.Friends.dtos;
+
+import java.time.LocalDate;
+
+// 친구 목록 조회용 프로젝션 (friend ⨝ users 한 번으로 조회)
+public record FriendListRow(
+        Long friendId,
+        String email,
+        String username,
+        LocalDate createdAt,
+        Integer commonMoimCount,
+        Integer friendship
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.tomo.Friends.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class FriendPageDto {
+    private List<ResponseFriendDetailDto> friends;
+
+    // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+    private String nextCursor;
+}
@@ -0,0 +1,12 @@
+package com.example.tomo.Friends.dtos;
+
+import java.time.LocalDate;
+
+// 점수 재계산 배치에서 읽는 친구 관계 한 줄
+public record FriendScoreRow(
+        Long friendId,
+        LocalDate createdAt,
+        Integer commonMoimCount,
+        Integer friendship
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.tomo.Friends.dtos;
+
+// 계산된 추천 후보 한 명
+public record FriendSuggestionCandidate(
+        long candidateId,
+        int commonMoimCount,
+        int mutualFriendCount,
+        int score
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.tomo.Friends.dtos;
+
+// 점수 재계산 배치 실행 결과
+public record RecalculationReport(
+        long rows,
+        long updatedRows,
+        long chunks,
+        long elapsedMillis,
+        double rowsPerSecond,
+        long heapHighWaterBytes,
+        boolean completed
+) {
+}
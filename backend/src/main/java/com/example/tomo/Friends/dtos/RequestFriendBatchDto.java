@@ -0,0 +1,19 @@
+package com.example.tomo.Friends.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RequestFriendBatchDto {
+
+    // 이메일 또는 초대 코드 목록
+    private List<String> queries;
+
+}
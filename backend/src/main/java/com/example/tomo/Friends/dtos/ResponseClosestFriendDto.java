@@ -0,0 +1,9 @@
+package com.example.tomo.Friends.dtos;
+
+public record ResponseClosestFriendDto(
+        int rank,
+        String email,
+        String username,
+        int friendship
+) {
+}
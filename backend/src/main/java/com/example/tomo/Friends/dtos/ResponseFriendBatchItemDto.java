@@ -0,0 +1,10 @@
+package com.example.tomo.Friends.dtos;
+
+import com.example.tomo.Friends.FriendBatchStatus;
+
+// query: 요청에 담겨 온 이메일/초대 코드 (요청 순서 그대로 반환)
+public record ResponseFriendBatchItemDto(
+        String query,
+        FriendBatchStatus status
+) {
+}
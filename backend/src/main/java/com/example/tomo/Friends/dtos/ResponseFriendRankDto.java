@@ -0,0 +1,10 @@
+package com.example.tomo.Friends.dtos;
+
+// 친구(email)의 친구 목록에서 내 순위
+public record ResponseFriendRankDto(
+        String email,
+        int rank,
+        int friendCount,
+        int friendship
+) {
+}
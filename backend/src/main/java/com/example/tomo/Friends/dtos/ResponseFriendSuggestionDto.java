@@ -0,0 +1,11 @@
+package com.example.tomo.Friends.dtos;
+
+// 추천 대상의 이메일은 내려주지 않는다 (모임/친구의 친구 관계만으로 남의 이메일을 알아낼 수 없도록)
+// 대신 고유 초대 코드를 내려주어 친구 추가(POST /public/friends?query=, /public/friends/batch)에 그대로 쓴다
+public record ResponseFriendSuggestionDto(
+        String username,
+        String inviteCode,
+        int commonMoimCount,
+        int mutualFriendCount
+) {
+}
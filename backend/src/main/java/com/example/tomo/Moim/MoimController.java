@@ -4,6 +4,7 @@ import com.example.tomo.Moim.dtos.addMoimRequestDto;
 import com.example.tomo.Moim.dtos.addMoimResponseDto;
 import com.example.tomo.Moim.dtos.getDetailMoimDto;
 import com.example.tomo.Moim.dtos.getMoimResponseDto;
+import com.example.tomo.Users.UserPrincipal;
 import com.example.tomo.global.ReponseType.ApiResponse;
 import com.example.tomo.global.ReponseType.NoDataApiResponse;
 import com.example.tomo.global.Exception.NotLeaderUserException;
@@ -40,14 +41,16 @@ public class MoimController {
     @PostMapping("/moims")
     public ResponseEntity<ApiResponse<addMoimResponseDto>> addmoim(
             @RequestBody addMoimRequestDto dto,
-            @AuthenticationPrincipal String uid
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
         try {
             return ResponseEntity.status(200)
-                    .body(ApiResponse.success(moimService.addMoim(uid, dto),"모임이 생성되었습니다."));
+                    .body(ApiResponse.success(moimService.addMoim(principal.id(), dto),"모임이 생성되었습니다."));
         } catch (EntityNotFoundException e) {
+            // 없는 이메일이 있으면 전체 목록을 메시지로 전달
+            String message = e.getMessage() != null ? e.getMessage() : "존재하지 않는 사용자가 모임에 포함되었습니다.";
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
-                    ApiResponse.failure("존재하지 않는 사용자가 모임에 포함되었습니다."));
+                    ApiResponse.failure(message));
         }
     }
 
@@ -61,10 +64,14 @@ public class MoimController {
     )
     @GetMapping("/moims/{moim_id}")
     public ResponseEntity<ApiResponse<getDetailMoimDto>> moimGet(
-            @PathVariable(name ="moim_id") long moimId
+            @PathVariable(name ="moim_id") long moimId,
+            @Parameter(description = "한 번에 조회할 최대 멤버 수 (생략 시 전체)")
+            @RequestParam(name = "size", required = false) Integer size,
+            @Parameter(description = "이전 응답의 nextCursor")
+            @RequestParam(name = "cursor", required = false) Long cursor
             ) {
         try {
-            return ResponseEntity.ok(ApiResponse.success(moimService.getMoimDetail(moimId),"성공"));
+            return ResponseEntity.ok(ApiResponse.success(moimService.getMoimDetail(moimId, size, cursor),"성공"));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).
                     body(ApiResponse.failure("존재하지 않는 모임입니다."));
@@ -80,10 +87,10 @@ public class MoimController {
     )
     @GetMapping("/moims/list")
     public ResponseEntity<ApiResponse<List<getMoimResponseDto>>> getAllMoims(
-            @Parameter(description = "로그인한 사용자의 UUID", required = true)
-            @AuthenticationPrincipal String uid) {
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal UserPrincipal principal) {
         try{
-            return ResponseEntity.ok(ApiResponse.success(moimService.getMoimList(uid), "모임 조회 성공"));
+            return ResponseEntity.ok(ApiResponse.success(moimService.getMoimList(principal.id()), "모임 조회 성공"));
 
         }catch (EntityNotFoundException e){
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.failure("로그인 후 진행해주세요."));
@@ -94,10 +101,10 @@ public class MoimController {
     @DeleteMapping("/moims/{moim_id}")
     public ResponseEntity<NoDataApiResponse> deleteMoim(
             @PathVariable("moim_id") long moimId,
-            @AuthenticationPrincipal String uid
+            @AuthenticationPrincipal UserPrincipal principal
     ){
         try{
-            moimService.deleteMoim(moimId,uid);
+            moimService.deleteMoim(moimId, principal.id());
             return ResponseEntity.noContent().build();
         }catch(EntityNotFoundException e){
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(NoDataApiResponse.failure("삭제하려는 모임이 존재하지 않습니다"));
@@ -1,11 +1,15 @@
 package com.example.tomo.Moim;
 
+import com.example.tomo.Friends.CommonMoimCounter;
+import com.example.tomo.Friends.FriendSuggestionService;
+import com.example.tomo.Moim.dtos.MoimMemberRow;
 import com.example.tomo.Moim.dtos.addMoimRequestDto;
 import com.example.tomo.Moim.dtos.getDetailMoimDto;
 import com.example.tomo.Moim.dtos.getMoimResponseDto;
 import com.example.tomo.Moim.dtos.addMoimResponseDto;
+import com.example.tomo.Moim_people.MoimPeopleJdbcRepository;
 import com.example.tomo.Moim_people.MoimPeopleRepository;
-import com.example.tomo.Moim_people.Moim_people;
+import com.example.tomo.Sync.SyncService;
 import com.example.tomo.Users.User;
 import com.example.tomo.Users.UserRepository;
 import com.example.tomo.Users.dtos.userSimpleDto;
@@ -13,46 +17,74 @@ import com.example.tomo.global.Exception.NotLeaderUserException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class MoimService {
 
+    static final int MAX_MEMBER_PAGE_SIZE = 100;
+
     private final MoimRepository moimRepository;
     private final UserRepository userRepository;
     private final MoimPeopleRepository moimPeopleRepository;
+    private final CommonMoimCounter commonMoimCounter;
+    private final MoimPeopleJdbcRepository moimPeopleJdbcRepository;
+    private final FriendSuggestionService friendSuggestionService;
+    private final SyncService syncService;
 
 
     @Transactional // 이메일로 처리하기
-    public addMoimResponseDto addMoim(String uid, addMoimRequestDto dto) {
+    public addMoimResponseDto addMoim(Long userId, addMoimRequestDto dto) {
+
+        // 초대 이메일 중복 제거
+        Set<String> emails = new LinkedHashSet<>(dto.getEmails());
+
+        // 초대 대상 사용자를 한 번에 조회, 없는 이메일은 모아서 한 번에 예외
+        // IN 조회는 DB collation 대로 대소문자를 구분하지 않으므로 맞춰 보는 쪽도 구분하지 않는다
+        Map<String, User> usersByEmail = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        userRepository.findAllByEmailIn(emails).forEach(user -> usersByEmail.putIfAbsent(user.getEmail(), user));
+        List<String> missingEmails = emails.stream()
+                .filter(email -> !usersByEmail.containsKey(email))
+                .toList();
+        // 리더 본인은 초대 대상에서 제외
+        usersByEmail.values().removeIf(user -> user.getId().equals(userId));
+        emails.retainAll(usersByEmail.keySet());
+        if (!missingEmails.isEmpty()) {
+            throw new EntityNotFoundException(
+                    "해당 이메일의 사용자가 존재하지 않습니다: " + String.join(", ", missingEmails));
+        }
 
         Moim moim = new Moim(dto.getTitle(), dto.getDescription()); // 일단 생성자도 변경해야 해서 그대로 두기
         Moim saved = moimRepository.save(moim);
 
-        List<String> emailList = dto.getEmails();
-        User leader = userRepository.findByFirebaseId(uid).orElseThrow(EntityNotFoundException::new);
-        Moim_people moimLeader = new Moim_people(moim, leader, true);
-        moimPeopleRepository.save(moimLeader);
         List<String> peopleList = new ArrayList<>();
-
-        for (String email : emailList) {
-
-            Optional<User> user = userRepository.findByEmail(email);
-
-            if(user.isEmpty()){
-                throw new EntityNotFoundException("해당 이메일의 사용자가 존재하지 않습니다");
+        List<Long> invitedIds = new ArrayList<>();
+        for (String email : emails) {
+            User user = usersByEmail.get(email);
+            // 대소문자만 다른 같은 이메일은 한 번만 초대
+            if (invitedIds.contains(user.getId())) {
+                continue;
             }
-            peopleList.add(user.get().getUsername());
-
-            Moim_people moim_people = new Moim_people(moim, user.get(), false);
-            moimPeopleRepository.save(moim_people);
+            peopleList.add(user.getUsername());
+            invitedIds.add(user.getId());
         }
 
+        // 리더 + 멤버를 다중 행 INSERT 로 저장
+        moimPeopleJdbcRepository.insertMembers(saved.getId(), userId, invitedIds);
+
+        // 멤버끼리의 친구 관계에 공통 모임 수 반영
+        List<Long> memberIds = new ArrayList<>();
+        memberIds.add(userId);
+        memberIds.addAll(invitedIds);
+        commonMoimCounter.onMoimJoined(memberIds);
+        friendSuggestionService.onMoimMembersChanged(memberIds);
+        syncService.recordMoimChanged(saved.getId(), memberIds);
+
         return new addMoimResponseDto(
                 saved.getId(),
                 saved.getTitle(),
@@ -61,13 +93,12 @@ public class MoimService {
     }
 
     // 모임 단일 조회
-    public getMoimResponseDto getMoim(Long moimId, String uid) {
+    public getMoimResponseDto getMoim(Long moimId, Long userId) {
          Moim moim= moimRepository.findById(moimId).orElseThrow(
                  () -> new EntityNotFoundException("존재하지 않는 모임입니다")
          );
-        Long id = userRepository.findByFirebaseId(uid).orElseThrow(EntityNotFoundException::new).getId();
         // 모임의 리더 여부 출력
-        Boolean moimLeader = moimPeopleRepository.findLeaderByMoimIdAndUserId(moim.getId(),id);
+        Boolean moimLeader = moimPeopleRepository.findLeaderByMoimIdAndUserId(moim.getId(),userId);
 
         return new getMoimResponseDto(
                 moim.getId(),
@@ -81,55 +112,64 @@ public class MoimService {
     // 모임 상세 조회
 
     @Transactional
-    public List<getMoimResponseDto> getMoimList(String userId){
-
-        User user = userRepository.findByFirebaseId(userId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 UID를 가진 사용자가 존재하지 않습니다."));
-
-        List<Moim_people> moims = moimPeopleRepository.findByUserId(user.getId());
-        List<getMoimResponseDto> moimResponseDTOList = new ArrayList<>();
-
-        for(Moim_people moim_people : moims){
-            moimResponseDTOList.add(this.getMoim(moim_people.getMoim().getId(), userId));
-        }
-
-        return moimResponseDTOList;
+    public List<getMoimResponseDto> getMoimList(Long userId){
+        // 모임별 조회 대신 프로젝션 한 번으로 조회 (사용자는 인증 단계에서 확인됨)
+        return moimPeopleRepository.findMoimSummariesByUserId(userId);
     }
 
     @Transactional
     public getDetailMoimDto getMoimDetail(Long moimId){
-        // 1. 모임명을 입력받아, 모임의 ID 알아내기 없다면 예외
+        return getMoimDetail(moimId, null, null);
+    }
+
+    // size 를 지정하지 않으면 전체 멤버, 지정하면 cursor 이후 최대 size 명 (상한 MAX_MEMBER_PAGE_SIZE)
+    @Transactional
+    public getDetailMoimDto getMoimDetail(Long moimId, Integer size, Long cursor){
+        // 1. 모임 ID로 모임 조회, 없다면 예외
         Moim find = moimRepository.findById(moimId).orElseThrow(EntityNotFoundException::new);
-        // 2. 모임 ID를 통해서 moim_people 테이블에서 모임 참가하는 사용자 ID 추출 없다면, 모임에 2명 이상 포함되어 있지 않습니다
-        List<Long> userIdList = moimPeopleRepository.findUserIdsByMoimId(find.getId());
-        // 3. .stream().map(entity :: toDto).collect.toList 로 반환하기
-        List<userSimpleDto> userSimpleDtoList = new ArrayList<>();
-
-        for (Long userId : userIdList) {
-            User user = userRepository.findById(userId).orElseThrow(EntityNotFoundException::new);
-            Boolean leader = moimPeopleRepository.findLeaderByMoimIdAndUserId(find.getId(), userId);
-            userSimpleDto dto = new userSimpleDto(user.getEmail(),leader);
-            userSimpleDtoList.add(dto);
+        // 2. Moim_people 과 users 를 조인해 멤버 이메일, 리더 여부를 한 번에 조회
+        long from = cursor == null ? 0L : cursor;
+        List<MoimMemberRow> rows;
+        Long nextCursor = null;
+
+        if (size == null) {
+            rows = moimPeopleRepository.findMembersByMoimId(find.getId(), from, Pageable.unpaged());
+        } else {
+            int pageSize = Math.max(1, Math.min(size, MAX_MEMBER_PAGE_SIZE));
+            // 한 건 더 조회해서 다음 페이지 존재 여부 확인
+            rows = moimPeopleRepository.findMembersByMoimId(find.getId(), from, PageRequest.of(0, pageSize + 1));
+            if (rows.size() > pageSize) {
+                rows = rows.subList(0, pageSize);
+                nextCursor = rows.get(pageSize - 1).moimPeopleId();
+            }
         }
 
+        List<userSimpleDto> userSimpleDtoList = rows.stream()
+                .map(row -> new userSimpleDto(row.email(), row.leader()))
+                .toList();
+
         return new getDetailMoimDto(
                 find.getId(),
                 find.getTitle(),
                 find.getDescription(),
                 userSimpleDtoList,
-                find.getCreatedAt()
+                find.getCreatedAt(),
+                nextCursor
                 );
 
     }
     @Transactional
-    public void deleteMoim(Long moimId, String uid) {
+    public void deleteMoim(Long moimId, Long userId) {
         //1. 사용자가 리더일 때만 모임을 삭제할 수 있다.
-        User user = userRepository.findByFirebaseId(uid).orElseThrow(EntityNotFoundException::new);
         Moim moim= moimRepository.findById(moimId).orElseThrow(EntityNotFoundException::new);
-        if(!moimPeopleRepository.findLeaderByMoimIdAndUserId(moim.getId(),user.getId())){
+        if(!moimPeopleRepository.findLeaderByMoimIdAndUserId(moim.getId(),userId)){
             throw new NotLeaderUserException("모임을 삭제할 수 있는 권한이 없습니다");
         }
-        //2. 삭제하려는 모임 가져오기,
+        //2. 삭제 전에 멤버끼리의 공통 모임 수 차감
+        commonMoimCounter.onMoimsRemoved(List.of(moim.getId()));
+        friendSuggestionService.onMoimsRemoved(List.of(moim.getId()));
+        syncService.recordMoimsRemoved(List.of(moim.getId()));
+        //3. 삭제하려는 모임 가져오기,
         moimRepository.delete(moim);
     }
 }
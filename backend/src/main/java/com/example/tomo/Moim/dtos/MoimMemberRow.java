@@ -0,0 +1,9 @@
+package com.example.tomo.Moim.dtos;
+
+// 모임 상세 조회용 멤버 행 (id 는 다음 페이지 커서로 사용)
+public record MoimMemberRow(
+        Long moimPeopleId,
+        String email,
+        Boolean leader
+) {
+}
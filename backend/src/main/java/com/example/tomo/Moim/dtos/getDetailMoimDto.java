@@ -17,5 +17,8 @@ public class getDetailMoimDto {
 
     private LocalDate createdAt;
 
+    // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+    private Long nextCursor;
+
 }
 
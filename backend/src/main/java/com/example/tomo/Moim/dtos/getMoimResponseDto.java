@@ -27,4 +27,10 @@ public class getMoimResponseDto {
 
     }
 
+    // JPQL 생성자 프로젝션용 (COUNT 결과는 Long)
+    public getMoimResponseDto(Long moimId, String title, String description,
+                              Long peopleCount, Boolean leader, LocalDate createdAt) {
+        this(moimId, title, description, peopleCount.intValue(), leader, createdAt);
+    }
+
 }
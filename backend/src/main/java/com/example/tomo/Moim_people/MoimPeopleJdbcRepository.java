@@ -0,0 +1,50 @@
+package com.example.tomo.Moim_people;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Moim_people 대량 저장용
+// IDENTITY 키는 Hibernate 배치 INSERT 가 불가능하므로 JDBC 로 다중 행 INSERT 실행
+@Repository
+@RequiredArgsConstructor
+public class MoimPeopleJdbcRepository {
+
+    static final int ROWS_PER_STATEMENT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 리더 1명 + 멤버들을 모임에 한 번에 추가
+    public void insertMembers(Long moimId, Long leaderId, Collection<Long> memberIds) {
+        List<Object[]> rows = new ArrayList<>(memberIds.size() + 1);
+        rows.add(new Object[]{moimId, leaderId, true});
+        for (Long memberId : memberIds) {
+            rows.add(new Object[]{moimId, memberId, false});
+        }
+
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<Object[]> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            jdbcTemplate.update(insertSql(chunk.size()), flatten(chunk));
+        }
+    }
+
+    private String insertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder("INSERT INTO moim_people (moim_id, user_id, leader) VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            sql.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+        }
+        return sql.toString();
+    }
+
+    private Object[] flatten(List<Object[]> rows) {
+        Object[] args = new Object[rows.size() * 3];
+        for (int i = 0; i < rows.size(); i++) {
+            System.arraycopy(rows.get(i), 0, args, i * 3, 3);
+        }
+        return args;
+    }
+}
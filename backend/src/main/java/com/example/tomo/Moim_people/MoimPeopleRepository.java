@@ -1,5 +1,8 @@
 package com.example.tomo.Moim_people;
 
+import com.example.tomo.Moim.dtos.MoimMemberRow;
+import com.example.tomo.Moim.dtos.getMoimResponseDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,11 +19,37 @@ public interface MoimPeopleRepository extends JpaRepository<Moim_people, Long> {
             "WHERE m.user.id = :user_id")
     List<Moim_people> findByUserId(@Param("user_id") Long userId);
 
+    // 사용자가 속한 모임 목록 (인원 수, 리더 여부 포함) 한 번에 조회
+    @Query("""
+        SELECT new com.example.tomo.Moim.dtos.getMoimResponseDto(
+            m.id, m.title, m.description,
+            (SELECT COUNT(p) FROM Moim_people p WHERE p.moim.id = m.id),
+            mp.leader, m.createdAt)
+        FROM Moim_people mp
+        JOIN mp.moim m
+        WHERE mp.user.id = :user_id
+        ORDER BY mp.id
+    """)
+    List<getMoimResponseDto> findMoimSummariesByUserId(@Param("user_id") Long userId);
+
     @Query("SELECT m.user.id " +
             "FROM Moim_people m " +
             "WHERE m.moim.id =:moim_id")
     List<Long> findUserIdsByMoimId(@Param("moim_id") Long moimId);
 
+    // 모임 멤버의 이메일, 리더 여부를 한 번에 조회 (Moim_people.id 기준 커서)
+    @Query("""
+        SELECT new com.example.tomo.Moim.dtos.MoimMemberRow(mp.id, u.email, mp.leader)
+        FROM Moim_people mp
+        JOIN mp.user u
+        WHERE mp.moim.id = :moim_id
+          AND mp.id > :cursor
+        ORDER BY mp.id
+    """)
+    List<MoimMemberRow> findMembersByMoimId(@Param("moim_id") Long moimId,
+                                            @Param("cursor") Long cursor,
+                                            Pageable pageable);
+
     @Query("SELECT COUNT(m) > 0 " +
             "FROM Moim_people m " +
             "WHERE m.moim.id = :moim_id and m.user.id = :user_id and m.leader = TRUE")
@@ -7,6 +7,8 @@ import com.example.tomo.Users.User;
 import lombok.Setter;
 
 @Entity
+@Table(name = "moim_people",
+        uniqueConstraints = @UniqueConstraint(name = "uk_moim_people_moim_user", columnNames = {"moim_id", "user_id"}))
 @Getter
 @Setter
 public class Moim_people {
@@ -8,6 +8,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
+@Table(name = "promise",
+        indexes = {
+                @Index(name = "idx_promise_moim_date_time", columnList = "moim_id, promise_date, promise_time"),
+                @Index(name = "idx_promise_name", columnList = "promise_name")
+        })
 @Getter
 public class Promise {
 
@@ -14,7 +14,7 @@ import java.util.Optional;
 public interface PromiseRepository extends JpaRepository<Promise, Long> {
 
     boolean existsByPromiseName(String name);
-    boolean existsByPromiseDateAndPromiseTime( LocalDate date,LocalTime time);
+    boolean existsByMoimIdAndPromiseDateAndPromiseTime(Long moimId, LocalDate date, LocalTime time);
 
     @Query("SELECT new com.example.tomo.Promise.ResponseGetPromiseDto(p.promiseName, p.promiseDate, p.promiseTime, p.location" +
             ") FROM Promise p WHERE p.moim.id =:moim_id")
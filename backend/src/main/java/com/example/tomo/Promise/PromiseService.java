@@ -2,9 +2,11 @@ package com.example.tomo.Promise;
 
 import com.example.tomo.Moim.Moim;
 import com.example.tomo.Moim.MoimRepository;
+import com.example.tomo.Sync.SyncService;
 import com.example.tomo.Users.dtos.ResponsePostUniformDto;
 import com.example.tomo.global.Exception.DuplicatedException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -17,17 +19,20 @@ public class PromiseService {
 
     private final PromiseRepository promiseRepository;
     private final MoimRepository moimRepository;
+    private final SyncService syncService;
 
 
     // 약속 생성하기
-    // 같은 날짜 같은 시간에 약속 존재 시에도 오류 발생
+    // 같은 모임에 같은 날짜 같은 시간 약속 존재 시에도 오류 발생
+    @Transactional
     public ResponsePostUniformDto addPromise(addPromiseRequestDTO dto){
 
         Moim moim = moimRepository.findByTitle(dto.getTitle())
                 .orElseThrow(() -> new EntityNotFoundException("모임 생성 후 약속을 만들어 주세요"));
 
          if(promiseRepository.existsByPromiseName(dto.getPromiseName()) &&
-                 promiseRepository.existsByPromiseDateAndPromiseTime(dto.getPromiseDate(),dto.getPromiseTime())) {
+                 promiseRepository.existsByMoimIdAndPromiseDateAndPromiseTime(
+                         moim.getId(), dto.getPromiseDate(), dto.getPromiseTime())) {
              throw new DuplicatedException("이미 존재하는 약속입니다");
          }
 
@@ -40,6 +45,7 @@ public class PromiseService {
          promise.setMoimBasedPromise(moim);
 
          promiseRepository.save(promise);
+         syncService.recordPromiseChanged(promise.getId(), moim.getId());
          return new ResponsePostUniformDto(true , promise.getPromiseName() + " 약속이 생성되었습니다");
     }
 
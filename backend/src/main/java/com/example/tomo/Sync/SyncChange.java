@@ -0,0 +1,49 @@
+package com.example.tomo.Sync;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+// (사용자, 엔티티) 별 마지막 변경. 같은 엔티티가 다시 바뀌면 행을 덮어써서 버전만 올라간다
+@Entity
+@Getter
+@Table(name = "sync_change",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_sync_change_user_entity",
+                        columnNames = {"user_id", "entity_type", "entity_id"}),
+                @UniqueConstraint(name = "uk_sync_change_user_version", columnNames = {"user_id", "version"})
+        },
+        indexes = @Index(name = "idx_sync_change_changed_at", columnList = "changed_at"))
+public class SyncChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sync_change_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // V10 의 VARCHAR(16) 과 맞춤 (MySQL 방언 기본값인 ENUM 타입이 아니라)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public SyncChange() {}
+}
@@ -0,0 +1,41 @@
+package com.example.tomo.Sync;
+
+import com.example.tomo.Sync.dtos.ResponseSyncDto;
+import com.example.tomo.Users.UserPrincipal;
+import com.example.tomo.global.ReponseType.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Sync API", description = "친구/모임/약속 델타 동기화 API")
+@RestController
+@RequestMapping("/public")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Operation(
+            summary = "델타 동기화",
+            description = "since 이후 추가/변경된 친구, 모임, 약속과 삭제된 id 만 반환합니다. "
+                    + "응답의 version 을 다음 요청의 since 로 사용하고, hasMore 면 바로 다음 페이지를 요청합니다. "
+                    + "fullResync 면 목록 API 로 전체를 다시 받은 뒤 응답의 version 부터 이어서 동기화합니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "동기화 성공")
+            }
+    )
+    @GetMapping("/sync")
+    public ResponseEntity<ApiResponse<ResponseSyncDto>> sync(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Parameter(description = "마지막으로 받은 version (처음이면 생략)")
+            @RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(ApiResponse.success(syncService.sync(principal.id(), since), "성공"));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.tomo.Sync;
+
+// 델타 동기화 대상 (sync_change.entity_type)
+public enum SyncEntityType {
+    FRIEND,
+    MOIM,
+    PROMISE
+}
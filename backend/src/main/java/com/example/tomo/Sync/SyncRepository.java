@@ -0,0 +1,240 @@
+package com.example.tomo.Sync;
+
+import com.example.tomo.Moim.dtos.getMoimResponseDto;
+import com.example.tomo.Sync.dtos.SyncFriendDto;
+import com.example.tomo.Sync.dtos.SyncPromiseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// sync_version / sync_change 접근과 동기화 응답용 현재 값 조회 (JDBC)
+// upsert 는 행 별칭 문법(INSERT ... AS new ON DUPLICATE KEY UPDATE)을 쓰므로 MySQL 8.0.19 이상이 필요하다
+@Repository
+@RequiredArgsConstructor
+public class SyncRepository {
+
+    static final int ROWS_PER_STATEMENT = 500;
+
+    public record SyncState(long version, long minVersion) {
+    }
+
+    public record ChangeRow(long userId, SyncEntityType entityType, long entityId, long version, boolean deleted) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ---- 변경 기록 (변경과 같은 트랜잭션에서 호출) ----
+
+    // 사용자별 버전을 count 만큼 올리고 올린 뒤의 버전 반환
+    // sync_version 행 잠금이 커밋까지 유지되므로 같은 사용자의 변경은 버전 순서대로 커밋된다
+    // 교착을 피하려고 user_id 순서로 잠근다 (countsByUser 는 정렬된 맵)
+    public Map<Long, Long> incrementVersions(Map<Long, Integer> countsByUser) {
+        if (countsByUser.isEmpty()) {
+            return Map.of();
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO sync_version (user_id, version, min_version) VALUES ");
+        List<Object> args = new ArrayList<>(countsByUser.size() * 2);
+        for (Map.Entry<Long, Integer> entry : countsByUser.entrySet()) {
+            sql.append(args.isEmpty() ? "(?, ?, 0)" : ", (?, ?, 0)");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        sql.append(" AS new ON DUPLICATE KEY UPDATE version = sync_version.version + new.version");
+        jdbcTemplate.update(sql.toString(), args.toArray());
+
+        Map<Long, Long> versions = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT user_id, version FROM sync_version WHERE user_id IN (" + placeholders(countsByUser.size()) + ")",
+                (RowCallbackHandler) rs -> versions.put(rs.getLong(1), rs.getLong(2)),
+                countsByUser.keySet().toArray());
+        return versions;
+    }
+
+    // (사용자, 엔티티) 당 한 행만 유지: 이미 있으면 새 버전과 삭제 여부로 덮어쓴다
+    public void upsertChanges(List<ChangeRow> changes) {
+        for (int from = 0; from < changes.size(); from += ROWS_PER_STATEMENT) {
+            List<ChangeRow> chunk = changes.subList(from, Math.min(from + ROWS_PER_STATEMENT, changes.size()));
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO sync_change (user_id, entity_type, entity_id, version, deleted, changed_at) VALUES ");
+            List<Object> args = new ArrayList<>(chunk.size() * 5);
+            for (int i = 0; i < chunk.size(); i++) {
+                ChangeRow change = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?, NOW(6))" : ", (?, ?, ?, ?, ?, NOW(6))");
+                args.add(change.userId());
+                args.add(change.entityType().name());
+                args.add(change.entityId());
+                args.add(change.version());
+                args.add(change.deleted());
+            }
+            sql.append(" AS new ON DUPLICATE KEY UPDATE version = new.version, deleted = new.deleted, "
+                    + "changed_at = new.changed_at");
+            jdbcTemplate.update(sql.toString(), args.toArray());
+        }
+    }
+
+    // 탈퇴한 사용자 본인의 동기화 기록
+    public void deleteAllByUserId(long userId) {
+        jdbcTemplate.update("DELETE FROM sync_change WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM sync_version WHERE user_id = ?", userId);
+    }
+
+    // ---- 변경 대상 사용자 조회 ----
+
+    // friend 는 관계당 (작은 id, 큰 id) 한 행이라 양쪽 컬럼을 모두 본다
+    public List<Long> findFriendIds(long userId) {
+        return jdbcTemplate.queryForList(
+                "SELECT friend_user_id FROM friend WHERE user_id = ? "
+                        + "UNION ALL SELECT user_id FROM friend WHERE friend_user_id = ?",
+                Long.class, userId, userId);
+    }
+
+    // 모임별 멤버 id
+    public Map<Long, List<Long>> findMemberIdsByMoimIds(Collection<Long> moimIds) {
+        return groupPairs(
+                "SELECT moim_id, user_id FROM moim_people WHERE moim_id IN (" + placeholders(moimIds.size()) + ") "
+                        + "AND user_id IS NOT NULL",
+                moimIds);
+    }
+
+    // 모임별 약속 id (idx_promise_moim_date_time)
+    public Map<Long, List<Long>> findPromiseIdsByMoimIds(Collection<Long> moimIds) {
+        return groupPairs(
+                "SELECT moim_id, promise_id FROM promise WHERE moim_id IN (" + placeholders(moimIds.size()) + ")",
+                moimIds);
+    }
+
+    // 리더가 아닌 멤버로 속한 모임
+    public List<Long> findNonLeaderMoimIds(long userId) {
+        return jdbcTemplate.queryForList(
+                "SELECT moim_id FROM moim_people WHERE user_id = ? AND (leader IS NULL OR leader = FALSE)",
+                Long.class, userId);
+    }
+
+    // ---- 동기화 조회 ----
+
+    public Optional<SyncState> findState(long userId) {
+        return jdbcTemplate.query(
+                "SELECT version, min_version FROM sync_version WHERE user_id = ?",
+                (rs, rowNum) -> new SyncState(rs.getLong(1), rs.getLong(2)),
+                userId).stream().findFirst();
+    }
+
+    // since 이후 변경을 버전 순서로 (uk_sync_change_user_version 범위 스캔)
+    public List<ChangeRow> findChangesAfter(long userId, long since, int limit) {
+        return jdbcTemplate.query(
+                "SELECT entity_type, entity_id, version, deleted FROM sync_change "
+                        + "WHERE user_id = ? AND version > ? ORDER BY version LIMIT ?",
+                (rs, rowNum) -> new ChangeRow(userId, SyncEntityType.valueOf(rs.getString(1)), rs.getLong(2),
+                        rs.getLong(3), rs.getBoolean(4)),
+                userId, since, limit);
+    }
+
+    // 지금도 친구인 사용자만 (없으면 삭제로 취급)
+    public List<SyncFriendDto> findFriends(long userId, Collection<Long> friendIds) {
+        if (friendIds.isEmpty()) {
+            return List.of();
+        }
+        String in = placeholders(friendIds.size());
+        List<Object> args = new ArrayList<>(friendIds.size() * 2 + 2);
+        args.add(userId);
+        args.addAll(friendIds);
+        args.add(userId);
+        args.addAll(friendIds);
+        return jdbcTemplate.query(
+                "SELECT u.user_id, u.email, u.username, f.friendship, f.created_at FROM friend f "
+                        + "JOIN users u ON u.user_id = f.friend_user_id WHERE f.user_id = ? AND f.friend_user_id IN (" + in + ") "
+                        + "UNION ALL "
+                        + "SELECT u.user_id, u.email, u.username, f.friendship, f.created_at FROM friend f "
+                        + "JOIN users u ON u.user_id = f.user_id WHERE f.friend_user_id = ? AND f.user_id IN (" + in + ")",
+                (rs, rowNum) -> new SyncFriendDto(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getInt(4), toLocalDate(rs.getDate(5))),
+                args.toArray());
+    }
+
+    // 지금도 userId 가 속한 모임만 (MoimPeopleRepository.findMoimSummariesByUserId 와 같은 값)
+    public List<getMoimResponseDto> findMoims(long userId, Collection<Long> moimIds) {
+        if (moimIds.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(moimIds.size() + 1);
+        args.add(userId);
+        args.addAll(moimIds);
+        return jdbcTemplate.query(
+                "SELECT m.moim_id, m.title, m.description, "
+                        + "(SELECT COUNT(*) FROM moim_people p WHERE p.moim_id = m.moim_id), mp.leader, m.created_at "
+                        + "FROM moim_people mp JOIN moim m ON m.moim_id = mp.moim_id "
+                        + "WHERE mp.user_id = ? AND mp.moim_id IN (" + placeholders(moimIds.size()) + ")",
+                (rs, rowNum) -> new getMoimResponseDto(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getInt(4), rs.getBoolean(5), toLocalDate(rs.getDate(6))),
+                args.toArray());
+    }
+
+    // 지금도 userId 가 속한 모임의 약속만
+    public List<SyncPromiseDto> findPromises(long userId, Collection<Long> promiseIds) {
+        if (promiseIds.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(promiseIds.size() + 1);
+        args.add(userId);
+        args.addAll(promiseIds);
+        return jdbcTemplate.query(
+                "SELECT p.promise_id, p.moim_id, p.promise_name, p.promise_date, p.promise_time, p.location "
+                        + "FROM promise p JOIN moim_people mp ON mp.moim_id = p.moim_id AND mp.user_id = ? "
+                        + "WHERE p.promise_id IN (" + placeholders(promiseIds.size()) + ")",
+                (rs, rowNum) -> {
+                    Date date = rs.getDate(4);
+                    Time time = rs.getTime(5);
+                    return new SyncPromiseDto(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                            toLocalDate(date), time == null ? null : time.toLocalTime(), rs.getString(6));
+                },
+                args.toArray());
+    }
+
+    // ---- 정리 ----
+
+    // cutoff 이전 변경을 지우고, 지운 만큼 min_version 을 올려 그보다 오래된 since 는 전체 재동기화로 보낸다
+    // 같은 트랜잭션에서 호출해야 min_version 과 삭제가 함께 보인다
+    public int purgeChangesBefore(LocalDateTime cutoff) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        jdbcTemplate.update(
+                "UPDATE sync_version v JOIN ("
+                        + "SELECT user_id, MAX(version) AS purged FROM sync_change WHERE changed_at < ? GROUP BY user_id"
+                        + ") p ON p.user_id = v.user_id SET v.min_version = GREATEST(v.min_version, p.purged)",
+                before);
+        return jdbcTemplate.update("DELETE FROM sync_change WHERE changed_at < ?", before);
+    }
+
+    private Map<Long, List<Long>> groupPairs(String sql, Collection<Long> keys) {
+        Map<Long, List<Long>> grouped = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return grouped;
+        }
+        jdbcTemplate.query(sql,
+                (RowCallbackHandler) rs -> grouped.computeIfAbsent(rs.getLong(1), key -> new ArrayList<>()).add(rs.getLong(2)),
+                keys.toArray());
+        return grouped;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
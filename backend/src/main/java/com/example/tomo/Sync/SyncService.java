@@ -0,0 +1,216 @@
+package com.example.tomo.Sync;
+
+import com.example.tomo.Moim.dtos.getMoimResponseDto;
+import com.example.tomo.Sync.SyncRepository.ChangeRow;
+import com.example.tomo.Sync.SyncRepository.SyncState;
+import com.example.tomo.Sync.dtos.ResponseSyncDto;
+import com.example.tomo.Sync.dtos.SyncFriendDto;
+import com.example.tomo.Sync.dtos.SyncPromiseDto;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// 친구/모임/약속 델타 동기화
+// 변경이 일어난 트랜잭션 안에서 영향받는 사용자마다 버전을 올리고 sync_change 에 (사용자, 엔티티) 행을 덮어쓴다
+// 클라이언트는 마지막으로 받은 version 을 since 로 보내 그 이후 바뀐 항목과 삭제된 id 만 받는다
+// 응답 값은 sync_change 가 아니라 현재 테이블에서 읽으므로 한 엔티티가 여러 번 바뀌어도 한 번만 내려간다
+// 친구 점수만 바뀌는 경우 (공통 모임 수 반영, 일일 재계산) 는 기록하지 않는다 → 점수는 친구 목록 API 기준
+@Slf4j
+@Service
+public class SyncService {
+
+    static final int PAGE_SIZE = 500;
+
+    private final SyncRepository syncRepository;
+    private final int retentionDays;
+
+    public SyncService(SyncRepository syncRepository,
+                       @Value("${sync.retention-days:30}") int retentionDays) {
+        this.syncRepository = syncRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    // ---- 변경 기록 (변경과 같은 트랜잭션에서 호출) ----
+
+    // 친구 추가/삭제: 양쪽 모두의 친구 목록이 바뀐다
+    public void recordFriendsChanged(Long userId, Collection<Long> friendIds, boolean removed) {
+        List<Change> changes = new ArrayList<>(friendIds.size() * 2);
+        for (Long friendId : friendIds) {
+            changes.add(new Change(userId, SyncEntityType.FRIEND, friendId, removed));
+            changes.add(new Change(friendId, SyncEntityType.FRIEND, userId, removed));
+        }
+        record(changes);
+    }
+
+    public void recordFriendChanged(Long userId, Long friendId, boolean removed) {
+        recordFriendsChanged(userId, List.of(friendId), removed);
+    }
+
+    // 모임 생성/변경: 멤버 전원
+    public void recordMoimChanged(Long moimId, Collection<Long> memberIds) {
+        record(memberIds.stream().map(memberId -> new Change(memberId, SyncEntityType.MOIM, moimId, false)).toList());
+    }
+
+    // 모임 삭제 전에 호출: 멤버 전원에게 모임과 그 약속의 삭제
+    public void recordMoimsRemoved(Collection<Long> moimIds) {
+        if (moimIds.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> membersByMoim = syncRepository.findMemberIdsByMoimIds(moimIds);
+        Map<Long, List<Long>> promisesByMoim = syncRepository.findPromiseIdsByMoimIds(moimIds);
+        List<Change> changes = new ArrayList<>();
+        membersByMoim.forEach((moimId, memberIds) -> {
+            List<Long> promiseIds = promisesByMoim.getOrDefault(moimId, List.of());
+            for (Long memberId : memberIds) {
+                changes.add(new Change(memberId, SyncEntityType.MOIM, moimId, true));
+                promiseIds.forEach(promiseId -> changes.add(new Change(memberId, SyncEntityType.PROMISE, promiseId, true)));
+            }
+        });
+        record(changes);
+    }
+
+    // 약속 생성/변경: 모임 멤버 전원
+    public void recordPromiseChanged(Long promiseId, Long moimId) {
+        List<Long> memberIds = syncRepository.findMemberIdsByMoimIds(List.of(moimId)).getOrDefault(moimId, List.of());
+        record(memberIds.stream().map(memberId -> new Change(memberId, SyncEntityType.PROMISE, promiseId, false)).toList());
+    }
+
+    // 이름 변경: 친구들의 친구 목록에 보이는 값이 바뀐다 (모임 응답에는 멤버 이름이 없음)
+    public void recordUserChanged(Long userId) {
+        record(syncRepository.findFriendIds(userId).stream()
+                .map(friendId -> new Change(friendId, SyncEntityType.FRIEND, userId, false))
+                .toList());
+    }
+
+    // 탈퇴: friend / moim_people 행 삭제 전에 호출 (리더 모임은 recordMoimsRemoved 로 먼저 처리)
+    // 친구들에게는 친구 삭제, 일반 멤버로 속한 모임의 다른 멤버에게는 인원 수 변경
+    public void recordUserRemoved(Long userId) {
+        List<Change> changes = new ArrayList<>();
+        for (Long friendId : syncRepository.findFriendIds(userId)) {
+            changes.add(new Change(friendId, SyncEntityType.FRIEND, userId, true));
+        }
+        List<Long> moimIds = syncRepository.findNonLeaderMoimIds(userId);
+        if (!moimIds.isEmpty()) {
+            syncRepository.findMemberIdsByMoimIds(moimIds).forEach((moimId, memberIds) -> {
+                for (Long memberId : memberIds) {
+                    if (!memberId.equals(userId)) {
+                        changes.add(new Change(memberId, SyncEntityType.MOIM, moimId, false));
+                    }
+                }
+            });
+        }
+        record(changes);
+        syncRepository.deleteAllByUserId(userId);
+    }
+
+    // 같은 (사용자, 엔티티) 는 마지막 변경만 남기고, 사용자별로 필요한 개수만큼 버전을 한 번에 올려 연속 번호 부여
+    void record(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<Change.Key, Boolean> latest = new LinkedHashMap<>();
+        for (Change change : changes) {
+            Change.Key key = change.key();
+            latest.remove(key);
+            latest.put(key, change.deleted());
+        }
+
+        Map<Long, Integer> countsByUser = new TreeMap<>();
+        latest.keySet().forEach(key -> countsByUser.merge(key.userId(), 1, Integer::sum));
+        Map<Long, Long> versions = syncRepository.incrementVersions(countsByUser);
+
+        // 올린 뒤 버전이 v, 개수가 k 면 v-k+1 .. v 가 이번 변경 몫
+        Map<Long, Long> next = new TreeMap<>();
+        countsByUser.forEach((userId, count) -> next.put(userId, versions.get(userId) - count + 1));
+        List<ChangeRow> rows = new ArrayList<>(latest.size());
+        latest.forEach((key, deleted) -> {
+            long version = next.merge(key.userId(), 1L, Long::sum) - 1;
+            rows.add(new ChangeRow(key.userId(), key.entityType(), key.entityId(), version, deleted));
+        });
+        syncRepository.upsertChanges(rows);
+    }
+
+    // ---- 조회 ----
+
+    // since 가 없거나 정리된 구간보다 오래됐거나 발급한 적 없는 버전이면 전체 재동기화
+    // 한 트랜잭션에서 읽어 version 과 변경 목록이 같은 시점을 본다
+    @Transactional
+    public ResponseSyncDto sync(Long userId, Long since) {
+        SyncState state = syncRepository.findState(userId).orElse(new SyncState(0, 0));
+        if (since == null || since <= 0 || since < state.minVersion() || since > state.version()) {
+            return ResponseSyncDto.fullResync(state.version());
+        }
+
+        List<ChangeRow> changes = syncRepository.findChangesAfter(userId, since, PAGE_SIZE + 1);
+        boolean hasMore = changes.size() > PAGE_SIZE;
+        if (hasMore) {
+            changes = changes.subList(0, PAGE_SIZE);
+        }
+        long version = hasMore ? changes.get(changes.size() - 1).version() : state.version();
+
+        Map<SyncEntityType, List<Long>> upserts = new EnumMap<>(SyncEntityType.class);
+        Map<SyncEntityType, List<Long>> removed = new EnumMap<>(SyncEntityType.class);
+        for (SyncEntityType type : SyncEntityType.values()) {
+            upserts.put(type, new ArrayList<>());
+            removed.put(type, new ArrayList<>());
+        }
+        for (ChangeRow change : changes) {
+            (change.deleted() ? removed : upserts).get(change.entityType()).add(change.entityId());
+        }
+
+        // 기록 뒤 다른 경로로 사라진 항목 (예: 모임 탈퇴 후 약속) 은 삭제로 내려보낸다
+        List<SyncFriendDto> friends = syncRepository.findFriends(userId, upserts.get(SyncEntityType.FRIEND));
+        addMissing(upserts.get(SyncEntityType.FRIEND), friends.stream().map(SyncFriendDto::userId).toList(),
+                removed.get(SyncEntityType.FRIEND));
+        List<getMoimResponseDto> moims = syncRepository.findMoims(userId, upserts.get(SyncEntityType.MOIM));
+        addMissing(upserts.get(SyncEntityType.MOIM), moims.stream().map(getMoimResponseDto::getMoimId).toList(),
+                removed.get(SyncEntityType.MOIM));
+        List<SyncPromiseDto> promises = syncRepository.findPromises(userId, upserts.get(SyncEntityType.PROMISE));
+        addMissing(upserts.get(SyncEntityType.PROMISE), promises.stream().map(SyncPromiseDto::promiseId).toList(),
+                removed.get(SyncEntityType.PROMISE));
+
+        return new ResponseSyncDto(version, false, hasMore, friends, moims, promises,
+                removed.get(SyncEntityType.FRIEND), removed.get(SyncEntityType.MOIM),
+                removed.get(SyncEntityType.PROMISE));
+    }
+
+    private static void addMissing(List<Long> requested, List<Long> found, List<Long> removed) {
+        Set<Long> present = new HashSet<>(found);
+        requested.stream().filter(id -> !present.contains(id)).forEach(removed::add);
+    }
+
+    // ---- 정리 ----
+
+    // 보관 기간이 지난 변경 (삭제 포함) 을 지운다. 그만큼 오래 동기화하지 않은 클라이언트는 전체 재동기화
+    @Scheduled(cron = "${sync.compaction-cron:0 30 4 * * *}")
+    @Transactional
+    public void compact() {
+        int purged = syncRepository.purgeChangesBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            log.info("Purged {} sync changes older than {} days", purged, retentionDays);
+        }
+    }
+
+    record Change(long userId, SyncEntityType entityType, long entityId, boolean deleted) {
+
+        Key key() {
+            return new Key(userId, entityType, entityId);
+        }
+
+        record Key(long userId, SyncEntityType entityType, long entityId) {
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tomo.Sync;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+// 사용자별 동기화 버전. SyncRepository 가 JDBC 로 변경과 같은 트랜잭션에서 올린다
+@Entity
+@Getter
+@Table(name = "sync_version")
+public class SyncVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "min_version", nullable = false)
+    private long minVersion;
+
+    public SyncVersion() {}
+}
@@ -0,0 +1,23 @@
+package com.example.tomo.Sync.dtos;
+
+import com.example.tomo.Moim.dtos.getMoimResponseDto;
+
+import java.util.List;
+
+// version: 다음 요청의 since. fullResync 면 목록 API 로 다시 받은 뒤 version 부터 이어서 동기화
+// hasMore 면 같은 방식으로 바로 다음 페이지를 요청
+public record ResponseSyncDto(
+        long version,
+        boolean fullResync,
+        boolean hasMore,
+        List<SyncFriendDto> friends,
+        List<getMoimResponseDto> moims,
+        List<SyncPromiseDto> promises,
+        List<Long> removedFriendIds,
+        List<Long> removedMoimIds,
+        List<Long> removedPromiseIds) {
+
+    public static ResponseSyncDto fullResync(long version) {
+        return new ResponseSyncDto(version, true, false, List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+}
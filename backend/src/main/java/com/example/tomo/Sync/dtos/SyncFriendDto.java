@@ -0,0 +1,7 @@
+package com.example.tomo.Sync.dtos;
+
+import java.time.LocalDate;
+
+// 동기화 응답의 친구 한 명 (친구 목록 항목과 같은 값 + 식별용 userId)
+public record SyncFriendDto(Long userId, String email, String username, Integer friendship, LocalDate createdAt) {
+}
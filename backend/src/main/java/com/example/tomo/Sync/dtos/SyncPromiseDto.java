@@ -0,0 +1,17 @@
+package com.example.tomo.Sync.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// 동기화 응답의 약속 하나 (ResponseGetPromiseDto + 식별용 promiseId, moimId)
+public record SyncPromiseDto(
+        Long promiseId,
+        Long moimId,
+        String promiseName,
+        LocalDate promiseDate,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm:ss", timezone = "Asia/Seoul")
+        LocalTime promiseTime,
+        String location) {
+}
@@ -4,12 +4,18 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Map;
+
 @SpringBootApplication
 @EnableScheduling
 public class TomoApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(TomoApplication.class, args);
+        SpringApplication application = new SpringApplication(TomoApplication.class);
+        // @Scheduled 작업은 기본적으로 스레드 하나를 나눠 쓴다 → 시작 직후 친구 그래프/사용자 검색 색인 재구성이
+        // 다른 작업(키 갱신, 추천 갱신, 리스 작업)을 막지 않도록 풀을 늘린다 (application.properties 에서 덮어쓸 수 있음)
+        application.setDefaultProperties(Map.of("spring.task.scheduling.pool.size", "4"));
+        application.run(args);
     }
 
 }
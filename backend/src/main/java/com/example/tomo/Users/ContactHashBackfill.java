@@ -0,0 +1,42 @@
+package com.example.tomo.Users;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 연락처 해시가 없는 기존 사용자(V7 이전 가입, 테스트 데이터 등)를 묶음 단위로 채움
+// 같은 값을 쓰므로 여러 인스턴스가 동시에 돌아도 결과는 같다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContactHashBackfill {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final ContactHashRepository contactHashRepository;
+    private final ContactHasher contactHasher;
+
+    @Scheduled(fixedDelayString = "${contact.hash-backfill-ms:60000}")
+    public void backfill() {
+        try {
+            int total = 0;
+            List<ContactHashRepository.UnhashedUser> users;
+            do {
+                users = contactHashRepository.findUnhashed(BATCH_SIZE);
+                contactHashRepository.updateHashes(users.stream()
+                        .map(user -> new Object[]{
+                                contactHasher.email(user.email()), contactHasher.phone(user.phone()), user.id()})
+                        .toList());
+                total += users.size();
+            } while (users.size() == BATCH_SIZE);
+            if (total > 0) {
+                log.info("Backfilled contact hashes for {} users", total);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to backfill contact hashes", e);
+        }
+    }
+}
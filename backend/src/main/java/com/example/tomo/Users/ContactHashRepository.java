@@ -0,0 +1,54 @@
+package com.example.tomo.Users;
+
+import com.example.tomo.Users.dtos.ResponseContactMatchDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// users.email_hash / phone_hash 접근 (JDBC)
+@Repository
+@RequiredArgsConstructor
+public class ContactHashRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record UnhashedUser(long id, String email, String phone) {}
+
+    // 해시가 아직 없는 사용자 (email 은 NOT NULL 이라 email_hash 가 비어 있으면 미처리)
+    public List<UnhashedUser> findUnhashed(int limit) {
+        return jdbcTemplate.query(
+                "SELECT user_id, email, phone FROM users WHERE email_hash IS NULL LIMIT ?",
+                (rs, rowNum) -> new UnhashedUser(rs.getLong(1), rs.getString(2), rs.getString(3)),
+                limit);
+    }
+
+    // rows: {email_hash, phone_hash, user_id}
+    public void updateHashes(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("UPDATE users SET email_hash = ?, phone_hash = ? WHERE user_id = ?", rows);
+    }
+
+    // 이메일 해시, 전화번호 해시 각각 인덱스로 찾아 합침 (같은 사용자가 두 해시 모두로 나올 수 있음)
+    public List<ContactMatchRow> findMatches(Collection<String> hashes) {
+        if (hashes.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(hashes.size(), "?"));
+        List<Object> args = new ArrayList<>(hashes.size() * 2);
+        args.addAll(hashes);
+        args.addAll(hashes);
+        return jdbcTemplate.query(
+                "SELECT email_hash, user_id, username FROM users WHERE email_hash IN (" + placeholders + ") "
+                        + "UNION ALL "
+                        + "SELECT phone_hash, user_id, username FROM users WHERE phone_hash IN (" + placeholders + ")",
+                (rs, rowNum) -> new ContactMatchRow(rs.getLong(2),
+                        new ResponseContactMatchDto(rs.getString(1), rs.getString(3))),
+                args.toArray());
+    }
+
+    public record ContactMatchRow(long userId, ResponseContactMatchDto match) {}
+}
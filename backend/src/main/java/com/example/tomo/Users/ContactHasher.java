@@ -0,0 +1,58 @@
+package com.example.tomo.Users;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+// 연락처 매칭용 해시. 앱도 같은 salt 와 정규화 규칙으로 주소록을 해시해서 보낸다
+// salt 를 바꾸면 users 의 해시를 모두 다시 계산해야 하고 구버전 앱과 매칭되지 않는다
+// 공개된 salt 면 전화번호 공간 전체를 미리 해시해 둘 수 있으므로 기본값 없이 배포 환경에서 반드시 지정
+@Component
+public class ContactHasher {
+
+    static final int MIN_SALT_LENGTH = 16;
+
+    private final String salt;
+
+    public ContactHasher(@Value("${contact.hash-salt}") String salt) {
+        if (salt == null || salt.strip().length() < MIN_SALT_LENGTH) {
+            throw new IllegalStateException("contact.hash-salt 는 " + MIN_SALT_LENGTH + "자 이상이어야 합니다.");
+        }
+        this.salt = salt;
+    }
+
+    // 앞뒤 공백 제거 + 소문자
+    public String email(String email) {
+        if (email == null) {
+            return null;
+        }
+        return hash(email.strip().toLowerCase(Locale.ROOT));
+    }
+
+    // 숫자만 남기고 국가번호 82 는 0 으로 (+82 10-1234-5678 → 01012345678)
+    public String phone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.startsWith("82") && digits.length() > 10) {
+            digits = "0" + digits.substring(2);
+        }
+        return digits.isEmpty() ? null : hash(digits);
+    }
+
+    private String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((salt + value).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.tomo.Users;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// 가입 시 초대 코드 할당
+// 코드는 백그라운드에서 invite_code_pool 에 미리 채워 두고(사용 중인 코드 제외), 인스턴스별로 묶음을 가져와
+// 메모리 큐에서 꺼내 쓴다 → 할당은 O(1) poll, 충돌 재시도 없음 (최종 보장은 users.invite_code 유니크 인덱스)
+@Slf4j
+@Component
+public class InviteCodeAllocator {
+
+    private final InviteCodePoolRepository poolRepository;
+    private final int poolTargetSize;
+    private final int claimBatchSize;
+    private final Queue<String> local = new ConcurrentLinkedQueue<>();
+
+    public InviteCodeAllocator(InviteCodePoolRepository poolRepository,
+                               @Value("${invite.pool.target-size:1000}") int poolTargetSize,
+                               @Value("${invite.pool.claim-batch-size:100}") int claimBatchSize) {
+        this.poolRepository = poolRepository;
+        this.poolTargetSize = poolTargetSize;
+        this.claimBatchSize = claimBatchSize;
+    }
+
+    public String allocate() {
+        String code = local.poll();
+        if (code != null) {
+            return code;
+        }
+        // 시작 직후 등 큐가 비어 있을 때만 요청 스레드에서 채움
+        synchronized (this) {
+            code = local.poll();
+            if (code == null) {
+                claim();
+                code = local.poll();
+            }
+        }
+        if (code == null) {
+            throw new IllegalStateException("사용 가능한 초대 코드가 없습니다");
+        }
+        return code;
+    }
+
+    // 공용 풀을 목표 크기로 채우고, 로컬 큐가 절반 아래로 줄었으면 한 묶음 가져옴
+    @Scheduled(fixedDelayString = "${invite.pool.refill-ms:30000}")
+    public void refill() {
+        try {
+            int missing = poolTargetSize - poolRepository.countUnclaimed();
+            if (missing > 0) {
+                poolRepository.insertUnused(generate(missing));
+            }
+            if (local.size() < claimBatchSize / 2) {
+                synchronized (this) {
+                    local.addAll(poolRepository.claim(claimBatchSize));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refill invite code pool", e);
+        }
+    }
+
+    int localSize() {
+        return local.size();
+    }
+
+    private void claim() {
+        local.addAll(poolRepository.claim(claimBatchSize));
+        if (local.isEmpty()) {
+            poolRepository.insertUnused(generate(claimBatchSize * 2));
+            local.addAll(poolRepository.claim(claimBatchSize));
+        }
+    }
+
+    private static Set<String> generate(int count) {
+        Set<String> codes = new HashSet<>(count * 2);
+        while (codes.size() < count) {
+            codes.add(InviteCodes.random());
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.tomo.Users;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// invite_code_pool 접근 (JDBC)
+@Repository
+@RequiredArgsConstructor
+public class InviteCodePoolRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int countUnclaimed() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM invite_code_pool WHERE claimed_by IS NULL", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    // 이미 사용 중이거나 풀에 있는 코드는 건너뜀
+    public void insertUnused(Collection<String> codes) {
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO invite_code_pool (code) "
+                        + "SELECT ? FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM users WHERE invite_code = ?)",
+                codes.stream().map(code -> new Object[]{code, code}).toList());
+    }
+
+    // 미사용 코드를 최대 limit 개 가져가고 풀에서 제거
+    // UPDATE 의 행 잠금으로 여러 인스턴스가 같은 코드를 가져가지 않는다
+    @Transactional
+    public List<String> claim(int limit) {
+        String claimId = UUID.randomUUID().toString();
+        jdbcTemplate.update(
+                "UPDATE invite_code_pool SET claimed_by = ? WHERE claimed_by IS NULL LIMIT ?", claimId, limit);
+        List<String> codes = jdbcTemplate.queryForList(
+                "SELECT code FROM invite_code_pool WHERE claimed_by = ?", String.class, claimId);
+        jdbcTemplate.update("DELETE FROM invite_code_pool WHERE claimed_by = ?", claimId);
+        return codes;
+    }
+}
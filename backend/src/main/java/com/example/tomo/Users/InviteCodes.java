@@ -0,0 +1,32 @@
+package com.example.tomo.Users;
+
+import java.security.SecureRandom;
+
+// 초대 코드 생성 (Crockford base32 8자리 = 40bit, 헷갈리는 I L O U 제외)
+public final class InviteCodes {
+
+    static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    static final int LENGTH = 8;
+    static final String LEGACY_PREFIX = "TOMO-";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private InviteCodes() {}
+
+    public static String random() {
+        char[] code = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            code[i] = ALPHABET.charAt(RANDOM.nextInt(ALPHABET.length()));
+        }
+        return new String(code);
+    }
+
+    // 앱이 직접 계산해서 보여주는 이전 형식 코드
+    public static String legacy(String firebaseId) {
+        return LEGACY_PREFIX + firebaseId.substring(firebaseId.length() - 4);
+    }
+
+    public static boolean isLegacy(String code) {
+        return code.startsWith(LEGACY_PREFIX);
+    }
+}
@@ -13,7 +13,17 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
-@Table(name ="users")
+@Table(name ="users",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_users_firebase_id", columnNames = "firebase_id"),
+                @UniqueConstraint(name = "uk_users_email", columnNames = "email"),
+                @UniqueConstraint(name = "uk_users_invite_code", columnNames = "invite_code")
+        },
+        indexes = {
+                @Index(name = "idx_users_legacy_invite_code", columnList = "legacy_invite_code"),
+                @Index(name = "idx_users_email_hash", columnList = "email_hash"),
+                @Index(name = "idx_users_phone_hash", columnList = "phone_hash")
+        })
 public class User {
 
     @Id
@@ -33,12 +43,28 @@ public class User {
     @Column(nullable = false)
     private String phone;
 
-    @Column(nullable = false)
+    // 사용 중지: refresh_token 테이블로 이동 (V4)
     private String refreshToken;
 
+    // InviteCodeAllocator 가 할당하는 고유 코드
     @Column(nullable = false)
     private String inviteCode;
 
+    // 앱이 보여주는 "TOMO-" + UID 뒤 4자리 (겹칠 수 있음)
+    @Column(name = "legacy_invite_code", length = 16)
+    private String legacyInviteCode;
+
+    // 연락처 매칭용 해시 (ContactHasher)
+    @Column(name = "email_hash", columnDefinition = "CHAR(64)")
+    private String emailHash;
+
+    @Column(name = "phone_hash", columnDefinition = "CHAR(64)")
+    private String phoneHash;
+
+    // AccessToken 에 담긴 프로필 스냅샷 버전 (프로필 변경 시 증가)
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     public User(){}
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -55,8 +81,17 @@ public class User {
     }
 
     @PrePersist
-    protected void setInviteCode() {
-        this.inviteCode = "TOMO-" + this.firebaseId.substring(this.firebaseId.length()-4);
+    protected void assignInviteCodes() {
+        this.legacyInviteCode = InviteCodes.legacy(this.firebaseId);
+        if (this.inviteCode == null) {
+            // 할당기를 거치지 않고 저장되는 경우 (테스트 데이터 등)
+            this.inviteCode = InviteCodes.random();
+        }
+    }
+
+    // 프로필 변경 → 이전에 발급된 AccessToken 무효화
+    public void increaseTokenVersion() {
+        this.tokenVersion++;
     }
 
     // 테스트용 생성자
@@ -1,12 +1,20 @@
 package com.example.tomo.Users;
 
+import com.example.tomo.Users.dtos.RequestUpdateProfileDto;
 import com.example.tomo.Users.dtos.RequestUserSignDto;
+import com.example.tomo.Users.dtos.ResponseAccessTokenDto;
+import com.example.tomo.Users.dtos.ResponseMyProfileDto;
 import com.example.tomo.Users.dtos.ResponsePostUniformDto;
 import com.example.tomo.firebase.ResponseFirebaseLoginDto;
 import com.example.tomo.global.ReponseType.ApiResponse;
 import com.example.tomo.global.AuthService;
+import com.example.tomo.global.Exception.InvalidTokenException;
+import com.example.tomo.global.Exception.TokenExpiredException;
 import com.example.tomo.global.ReponseType.NoDataApiResponse;
+import com.example.tomo.jwt.JwtAuthenticationFilter;
+import com.example.tomo.jwt.VerifiedAccessToken;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
@@ -52,6 +60,51 @@ public class UserController {
 
 
 
+    @Operation(
+            summary = "내 프로필 조회",
+            description = "이름, 이메일과 사용자마다 고유한 초대 코드를 반환합니다. "
+                    + "친구에게는 이전 \"TOMO-\" 코드 대신 이 초대 코드를 공유합니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "사용자 없음")
+            }
+    )
+    @GetMapping("/public/users/me")
+    public ResponseEntity<ApiResponse<ResponseMyProfileDto>> getMyProfile(
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(userService.getMyProfile(principal.id()), "성공"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.failure("사용자를 찾을 수 없습니다."));
+        }
+    }
+
+    @Operation(
+            summary = "프로필 수정",
+            description = "사용자 이름을 변경합니다. 이전에 발급된 Access Token 은 더 이상 사용할 수 없으며, "
+                    + "응답으로 새 Access Token 을 발급합니다.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "수정 성공"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "잘못된 요청"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "사용자 없음")
+            }
+    )
+    @PatchMapping("/public/users")
+    public ResponseEntity<ApiResponse<ResponseAccessTokenDto>> updateProfile(
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal,
+            @RequestBody RequestUpdateProfileDto dto) {
+        try {
+            String accessToken = userService.updateProfile(principal.id(), dto);
+            return ResponseEntity.ok(ApiResponse.success(new ResponseAccessTokenDto(accessToken), "프로필이 수정되었습니다."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.failure(e.getMessage()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.failure("사용자를 찾을 수 없습니다."));
+        }
+    }
+
     @Operation(
             summary = "회원 탈퇴 (계정 삭제)",
             description = "Firebase UID 기반으로 사용자 계정을 삭제합니다. "
@@ -74,9 +127,9 @@ public class UserController {
             }
     )
     @DeleteMapping("/public/users")
-    public ResponseEntity<NoDataApiResponse> deleteMyAccount(@AuthenticationPrincipal String uid) {
+    public ResponseEntity<NoDataApiResponse> deleteMyAccount(@AuthenticationPrincipal UserPrincipal principal) {
         try {
-            userService.deleteUser(uid);
+            userService.deleteUser(principal.id());
             return ResponseEntity.ok(NoDataApiResponse.success("계정이 삭제되었습니다."));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -137,7 +190,8 @@ public class UserController {
         try {
             ResponseFirebaseLoginDto tokens = authService.reissueAccessToken(refreshTokenHeader);
             return ResponseEntity.ok(ApiResponse.success(tokens, "Access token 재발급 성공"));
-        } catch (EntityNotFoundException e) {
+        } catch (EntityNotFoundException | InvalidTokenException | TokenExpiredException e) {
+            // 없는 토큰, 재사용된 토큰(family 전체 폐기), 만료된 토큰
             return ResponseEntity.status(401)
                     .body(ApiResponse.failure("리프레쉬 토큰이 올바르지 않습니다. 다시 로그인해 주세요"));
         } catch (Exception e) {
@@ -148,7 +202,7 @@ public class UserController {
 
     @Operation(
             summary = "로그아웃",
-            description = "현재 사용자의 Refresh Token을 삭제하여 로그아웃 처리",
+            description = "현재 사용자의 Refresh Token을 모두 폐기하고, 사용 중인 Access Token 도 즉시 사용할 수 없게 합니다.",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "로그아웃 성공"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "사용자 없음"),
@@ -156,9 +210,13 @@ public class UserController {
             }
     )
     @DeleteMapping("/public/logout")
-    public ResponseEntity<NoDataApiResponse> logout(@AuthenticationPrincipal String uid) {
+    public ResponseEntity<NoDataApiResponse> logout(
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal,
+            @Parameter(hidden = true)
+            @RequestAttribute(name = JwtAuthenticationFilter.ACCESS_TOKEN_ATTRIBUTE, required = false)
+            VerifiedAccessToken accessToken) {
         try {
-            userService.logout(uid);
+            userService.logout(principal.id(), accessToken);
             return ResponseEntity.ok(NoDataApiResponse.success("로그아웃 완료"));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -0,0 +1,13 @@
+package com.example.tomo.Users;
+
+// 사용자 검색 인덱스에 올리는 최소 정보 (users 테이블 한 행)
+public record UserDirectoryEntry(
+        long id,
+        String username,
+        String email,
+        String inviteCode
+) {
+    public static UserDirectoryEntry from(User user) {
+        return new UserDirectoryEntry(user.getId(), user.getUsername(), user.getEmail(), user.getInviteCode());
+    }
+}
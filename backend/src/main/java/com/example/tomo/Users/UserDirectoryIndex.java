@@ -0,0 +1,297 @@
+package com.example.tomo.Users;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// 사용자 이름, 초대 코드의 접두어와 이메일 전체로 사용자를 찾는 인메모리 인덱스 (입력 중 자동완성용)
+// 검색어(term)는 소문자로 정규화한 사용자 이름(공백으로 나눈 단어 포함), 이메일 전체, 초대 코드
+// 이메일은 전체가 정확히 같을 때만 맞는다 (접두어로 다른 사람의 이메일을 추측하지 못하도록)
+// - 시작 시 users 를 스트리밍해 정렬 배열(스냅샷)을 만들고, 주기적으로 다시 만든다
+// - 가입/프로필 변경은 정렬 집합(delta)에 더하고, 탈퇴는 entries 에서만 지운다 (조회 시 현재 값으로 다시 거름)
+// - 다른 인스턴스에서 가입한 사용자는 user_id 증가분 조회로 따라잡는다
+// - 다른 인스턴스에서의 이름 변경/탈퇴는 다음 전체 재구성(user-directory.rebuild-ms, 기본 1시간)까지 반영되지 않는다
+//   (그동안 옛 이름으로 보이거나 탈퇴한 사용자가 보일 수 있고, 탈퇴한 사용자는 친구 추가 시 404 로 걸러진다)
+// 접두어 하나당 살펴보는 posting 수를 MAX_SCAN 으로 묶어 사용자 수와 관계없이 조회 시간이 일정하다
+@Slf4j
+@Component
+public class UserDirectoryIndex {
+
+    static final int MAX_SCAN = 1000;
+    static final int MAX_QUERY_LENGTH = 64;
+    // 한 글자 검색은 거의 전체 사용자와 맞으므로 받지 않는다
+    static final int MIN_QUERY_LENGTH = 2;
+
+    private final UserDirectoryRepository repository;
+
+    private volatile State state = State.empty();
+    private volatile boolean ready;
+
+    // 재구성 중 들어온 변경 (새 상태로 교체할 때 다시 적용). writeLock 으로 보호
+    private final Object writeLock = new Object();
+    private List<Consumer<State>> journal;
+
+    public UserDirectoryIndex(UserDirectoryRepository repository) {
+        this.repository = repository;
+    }
+
+    // 점수 높은 순 상위 limit 명 (excludeUserId 는 결과에서 제외, 보통 본인)
+    public List<UserDirectoryEntry> suggest(String query, int limit, Long excludeUserId) {
+        String prefix = normalize(query);
+        if (prefix.length() < MIN_QUERY_LENGTH || limit <= 0) {
+            return List.of();
+        }
+        State current = state;
+
+        Set<Long> seen = new HashSet<>();
+        List<Scored> matched = new ArrayList<>();
+        Consumer<Long> consider = id -> {
+            if (id.equals(excludeUserId) || !seen.add(id)) {
+                return;
+            }
+            // 탈퇴했거나 이름이 바뀌어 더 이상 맞지 않는 posting 은 건너뜀
+            UserDirectoryEntry entry = current.entries.get(id);
+            int score = entry == null ? -1 : score(entry, prefix);
+            if (score >= 0) {
+                matched.add(new Scored(entry, score));
+            }
+        };
+        current.snapshot.scan(prefix, MAX_SCAN, consider);
+        int scanned = 0;
+        for (Posting posting : current.delta.subSet(new Posting(prefix, Long.MIN_VALUE), true,
+                new Posting(prefix + Character.MAX_VALUE, Long.MIN_VALUE), false)) {
+            if (++scanned > MAX_SCAN) {
+                break;
+            }
+            consider.accept(posting.userId());
+        }
+
+        return matched.stream()
+                .sorted(Scored.ORDER)
+                .limit(limit)
+                .map(Scored::entry)
+                .toList();
+    }
+
+    // 가입, 프로필 변경 (트랜잭션 안이면 커밋 후 반영)
+    public void put(UserDirectoryEntry entry) {
+        afterCommit(() -> apply(s -> s.put(entry)));
+    }
+
+    // 탈퇴
+    public void remove(long userId) {
+        afterCommit(() -> apply(s -> s.entries.remove(userId)));
+    }
+
+    // 전체 재구성: users 를 스트리밍해 새 스냅샷을 만든 뒤 한 번에 교체 (시작 직후 1회 + 주기적으로)
+    @Scheduled(fixedDelayString = "${user-directory.rebuild-ms:3600000}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            journal = new ArrayList<>();
+        }
+        try {
+            long started = System.nanoTime();
+            Map<Long, UserDirectoryEntry> entries = new ConcurrentHashMap<>();
+            AtomicLong maxUserId = new AtomicLong();
+            List<Posting> postings = new ArrayList<>();
+            repository.forEachAfter(0, entry -> {
+                entries.put(entry.id(), entry);
+                maxUserId.accumulateAndGet(entry.id(), Math::max);
+                for (String term : terms(entry)) {
+                    postings.add(new Posting(term, entry.id()));
+                }
+            });
+            State rebuilt = new State(Snapshot.of(postings), entries, new ConcurrentSkipListSet<>(), maxUserId);
+
+            synchronized (writeLock) {
+                journal.forEach(change -> change.accept(rebuilt));
+                state = rebuilt;
+                ready = true;
+            }
+            log.info("User directory index rebuilt: {} users, {} terms in {} ms",
+                    entries.size(), postings.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Failed to rebuild user directory index", e);
+        } finally {
+            synchronized (writeLock) {
+                journal = null;
+            }
+        }
+    }
+
+    // 다른 인스턴스에서 가입한 사용자 반영 (PK 범위 조회라 가볍다)
+    @Scheduled(fixedDelayString = "${user-directory.poll-ms:10000}")
+    public void pollNewUsers() {
+        if (!ready) {
+            return;
+        }
+        try {
+            repository.forEachAfter(state.maxUserId.get(), entry -> apply(s -> s.put(entry)));
+        } catch (Exception e) {
+            log.warn("Failed to poll new users for directory index", e);
+        }
+    }
+
+    private void apply(Consumer<State> change) {
+        synchronized (writeLock) {
+            change.accept(state);
+            if (journal != null) {
+                journal.add(change);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = query.strip().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_QUERY_LENGTH ? normalized.substring(0, MAX_QUERY_LENGTH) : normalized;
+    }
+
+    // 사용자 이름 전체, 이름의 각 단어, 이메일, 초대 코드
+    static Set<String> terms(UserDirectoryEntry entry) {
+        Set<String> terms = new LinkedHashSet<>();
+        String username = normalize(entry.username());
+        if (!username.isEmpty()) {
+            terms.add(username);
+            for (String word : username.split("\\s+")) {
+                terms.add(word);
+            }
+        }
+        String email = normalize(entry.email());
+        if (!email.isEmpty()) {
+            terms.add(email);
+        }
+        String inviteCode = normalize(entry.inviteCode());
+        if (!inviteCode.isEmpty()) {
+            terms.add(inviteCode);
+        }
+        return terms;
+    }
+
+    // 정확히 일치 > 필드 가중치(초대 코드 > 이름 전체 > 이름 단어 > 이메일) > 남은 글자 수가 적은 순
+    // 이메일은 정확히 일치할 때만, 맞는 term 이 없으면 -1
+    static int score(UserDirectoryEntry entry, String prefix) {
+        int best = -1;
+        String username = normalize(entry.username());
+        best = Math.max(best, rank(3, username, prefix));
+        for (String word : username.split("\\s+")) {
+            best = Math.max(best, rank(2, word, prefix));
+        }
+        String email = normalize(entry.email());
+        if (email.equals(prefix)) {
+            best = Math.max(best, rank(1, email, prefix));
+        }
+        best = Math.max(best, rank(4, normalize(entry.inviteCode()), prefix));
+        return best;
+    }
+
+    private static int rank(int weight, String term, String prefix) {
+        if (term.isEmpty() || !term.startsWith(prefix)) {
+            return -1;
+        }
+        int rest = Math.min(term.length() - prefix.length(), 63);
+        int exact = rest == 0 ? 1 : 0;
+        return exact << 10 | weight << 6 | (63 - rest);
+    }
+
+    private record Scored(UserDirectoryEntry entry, int score) {
+
+        static final Comparator<Scored> ORDER = Comparator.comparingInt(Scored::score).reversed()
+                .thenComparingLong(scored -> scored.entry().id());
+    }
+
+    record Posting(String term, long userId) implements Comparable<Posting> {
+
+        private static final Comparator<Posting> ORDER =
+                Comparator.comparing(Posting::term).thenComparingLong(Posting::userId);
+
+        @Override
+        public int compareTo(Posting other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    // term 순으로 정렬된 불변 배열 (이분 탐색으로 접두어 시작 위치를 찾음)
+    record Snapshot(String[] terms, long[] userIds) {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new long[0]);
+
+        static Snapshot of(List<Posting> postings) {
+            Posting[] sorted = postings.toArray(new Posting[0]);
+            Arrays.parallelSort(sorted);
+            String[] terms = new String[sorted.length];
+            long[] userIds = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                terms[i] = sorted[i].term();
+                userIds[i] = sorted[i].userId();
+            }
+            return new Snapshot(terms, userIds);
+        }
+
+        void scan(String prefix, int maxScan, Consumer<Long> consumer) {
+            int low = 0;
+            int high = terms.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (terms[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low, end = Math.min(terms.length, low + maxScan); i < end && terms[i].startsWith(prefix); i++) {
+                consumer.accept(userIds[i]);
+            }
+        }
+    }
+
+    // 스냅샷 + 이후 변경분. 읽기는 volatile 참조 하나로 일관된 상태를 본다
+    record State(Snapshot snapshot, Map<Long, UserDirectoryEntry> entries, ConcurrentSkipListSet<Posting> delta,
+                 AtomicLong maxUserId) {
+
+        static State empty() {
+            return new State(Snapshot.EMPTY, new ConcurrentHashMap<>(), new ConcurrentSkipListSet<>(), new AtomicLong());
+        }
+
+        void put(UserDirectoryEntry entry) {
+            maxUserId.accumulateAndGet(entry.id(), Math::max);
+            if (entry.equals(entries.put(entry.id(), entry))) {
+                return;
+            }
+            for (String term : terms(entry)) {
+                delta.add(new Posting(term, entry.id()));
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.tomo.Users;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+// 사용자 검색 인덱스 적재용 users 스트리밍 조회 (JDBC)
+@Repository
+public class UserDirectoryRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public UserDirectoryRepository(DataSource dataSource) {
+        this(new JdbcTemplate(dataSource));
+        // MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때만 결과를 메모리에 다 올리지 않고 한 행씩 읽는다
+        this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    UserDirectoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // user_id 가 afterId 보다 큰 사용자를 id 순으로 한 행씩 전달
+    public void forEachAfter(long afterId, Consumer<UserDirectoryEntry> consumer) {
+        jdbcTemplate.query(
+                "SELECT user_id, username, email, invite_code FROM users WHERE user_id > ? ORDER BY user_id",
+                (RowCallbackHandler) rs -> consumer.accept(new UserDirectoryEntry(
+                        rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4))),
+                afterId);
+    }
+}
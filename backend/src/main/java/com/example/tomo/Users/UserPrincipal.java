@@ -0,0 +1,16 @@
+package com.example.tomo.Users;
+
+// 인증된 요청의 사용자 정보 (JwtAuthenticationFilter 가 SecurityContext 에 등록)
+// AccessToken 클레임에서 바로 만들어지므로 서비스는 users 테이블을 다시 조회하지 않고 id 를 사용한다
+public record UserPrincipal(
+        Long id,
+        String firebaseId,
+        String email,
+        String username,
+        int tokenVersion
+) {
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getFirebaseId(), user.getEmail(), user.getUsername(),
+                user.getTokenVersion());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.tomo.Users;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// Firebase UID → UserPrincipal 인메모리 캐시 (크기 제한 + TTL)
+// AccessToken 의 ver 클레임이 최신인지 확인하고, 토큰 재발급 시 최신 프로필을 얻는 데 사용
+// 탈퇴, 로그아웃, 프로필 변경 시 evict 해야 한다
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserPrincipal> cache;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // 캐시에 없으면 DB 조회 후 저장 (없는 사용자는 저장하지 않음)
+    public UserPrincipal get(String firebaseId) {
+        UserPrincipal principal = cache.get(firebaseId, uid -> userRepository.findByFirebaseId(uid)
+                .map(UserPrincipal::from)
+                .orElse(null));
+        if (principal == null) {
+            throw new EntityNotFoundException("존재하지 않는 사용자입니다");
+        }
+        return principal;
+    }
+
+    // 트랜잭션 중이면 커밋 후에도 한 번 더 제거 (커밋 전 다른 요청이 옛 값을 다시 올리는 경우 방지)
+    public void evict(String firebaseId) {
+        cache.invalidate(firebaseId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(firebaseId);
+                }
+            });
+        }
+    }
+}
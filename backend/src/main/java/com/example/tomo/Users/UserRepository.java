@@ -4,6 +4,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,5 +16,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByFirebaseId(String firebaseId);
     Optional<User> findByInviteCode(String inviteCode);
+    List<User> findTop2ByLegacyInviteCode(String legacyInviteCode);
+    List<User> findAllByEmailIn(Collection<String> emails);
 
 }
@@ -1,17 +1,30 @@
 package com.example.tomo.Users;
 
+import com.example.tomo.Friends.CommonMoimCounter;
 import com.example.tomo.Friends.Friend;
+import com.example.tomo.Friends.FriendGraph;
+import com.example.tomo.Friends.FriendLeaderboardService;
 import com.example.tomo.Friends.FriendRepository;
+import com.example.tomo.Friends.FriendSuggestionService;
 import com.example.tomo.Moim.MoimRepository;
 import com.example.tomo.Moim_people.MoimPeopleRepository;
+import com.example.tomo.Sync.SyncService;
+import com.example.tomo.Users.dtos.RequestUpdateProfileDto;
 import com.example.tomo.Users.dtos.RequestUserSignDto;
+import com.example.tomo.Users.dtos.ResponseMyProfileDto;
 import com.example.tomo.Users.dtos.ResponsePostUniformDto;
+import com.example.tomo.Users.dtos.ResponseUserSuggestionDto;
 import com.example.tomo.Users.dtos.getFriendResponseDto;
+import com.example.tomo.global.Auth.AccessTokenRevocationList;
+import com.example.tomo.global.Auth.RefreshTokenStore;
 import com.example.tomo.global.SelfFriendRequestException;
+import com.example.tomo.jwt.JwtTokenProvider;
+import com.example.tomo.jwt.VerifiedAccessToken;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,10 +35,26 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserService {
 
+    static final int DEFAULT_SUGGESTION_SIZE = 10;
+    static final int MAX_SUGGESTION_SIZE = 20;
+
     private final UserRepository userRepository;
     private final FriendRepository friendRepository;
     private final MoimPeopleRepository moimPeopleRepository;
     private final MoimRepository moimRepository;
+    private final CommonMoimCounter commonMoimCounter;
+    private final UserPrincipalCache userPrincipalCache;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenRevocationList revocationList;
+    private final InviteCodeAllocator inviteCodeAllocator;
+    private final UserDirectoryIndex userDirectoryIndex;
+    private final UserSuggestionLimiter userSuggestionLimiter;
+    private final ContactHasher contactHasher;
+    private final FriendGraph friendGraph;
+    private final FriendSuggestionService friendSuggestionService;
+    private final SyncService syncService;
+    private final FriendLeaderboardService friendLeaderboardService;
 
     // 사용자 존재 시 true 반환 404
     public User userSignUp(User entity) {
@@ -39,23 +68,22 @@ public class UserService {
 
     // 이미 친구 관계이면 TRUE 404
     public boolean alreadyFriend(User user, User friend){
-        // user-friend 관계 존재 여부 체크
-        return friendRepository.existsByUserAndFriend(user, friend);
+        // user-friend 관계 존재 여부 체크 (순서 무관, 행 하나)
+        return friendRepository.existsBetween(user.getId(), friend.getId());
 
     }
 
     // 친구 추가하기
     // DTO  변환하기
     @Transactional
-    public ResponsePostUniformDto addFriends(String uid, String query) {
+    public ResponsePostUniformDto addFriends(Long userId, String query) {
 
-        // 친구 요청을 보내는 사용자를 먼저 조회
-        User user = userRepository.findByFirebaseId(uid)
-                .orElseThrow(() -> new EntityNotFoundException("사용자가 존재하지 않습니다. 회원가입 또는 로그인을 진행해 주세요 "));
+        // 친구 요청을 보내는 사용자는 인증 단계에서 확인됨 → 조회 없이 참조만 사용
+        User user = userRepository.getReferenceById(userId);
 
         User friend = getUser(query);
 
-        if (user.getEmail().equals(friend.getEmail())) {
+        if (userId.equals(friend.getId())) {
             throw new SelfFriendRequestException("자기 자신은 친구로 추가할 수 없습니다.");
         }
 
@@ -66,34 +94,55 @@ public class UserService {
 
         User realFriend =  userSignUp(friend); // 유저의 회원가입 여부를 검증
         Friend friends = new Friend(user, realFriend);
-        Friend reverseFriend = new Friend(realFriend, user);
 
-        friendRepository.save(friends);
-        friendRepository.save(reverseFriend);
+        // 이미 함께 속한 모임 수로 공통 모임 카운터 초기화
+        commonMoimCounter.initialize(friends);
+
+        // 관계당 행 하나라 INSERT 한 번으로 생성. 동시에 서로 추가하면 uk_friend_user_friend 에서 한쪽만 성공
+        try {
+            friendRepository.save(friends);
+        } catch (DataIntegrityViolationException e) {
+            throw new EntityExistsException("이미 친구 관계입니다");
+        }
+        friendGraph.addFriendship(userId, realFriend.getId());
+        friendSuggestionService.onFriendshipChanged(userId, realFriend.getId());
+        syncService.recordFriendChanged(userId, realFriend.getId(), false);
+        friendLeaderboardService.onFriendshipChanged(userId, realFriend.getId());
         return new ResponsePostUniformDto(true , "success");
 
     }
 
+    // 입력 형태로 먼저 구분해 해당 조회 하나만 실행 (초대 코드에는 '@' 가 없으므로 이메일과 겹치지 않음)
     public User getUser(String query) {
-        User email = userRepository.findByEmail(query).orElse(null);
-        User invite = userRepository.findByInviteCode(query).orElse(null);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("email 또는 inviteCode 중 하나는 반드시 필요합니다.");
+        }
+        String trimmed = query.strip();
 
         User existUser;
-
-        if (email != null && invite != null) {
-            throw new IllegalArgumentException("email과 inviteCode 중 하나만 전달해야 합니다.");
+        if (trimmed.indexOf('@') >= 0) {
+            existUser = userRepository.findByEmail(trimmed).orElse(null);
+        } else if (InviteCodes.isLegacy(trimmed)) {
+            existUser = findByLegacyInviteCode(trimmed);
+        } else {
+            existUser = userRepository.findByInviteCode(trimmed).orElse(null);
         }
 
-        if (email != null) {
-            existUser = email;
-        } else if (invite != null) {
-            existUser = invite;
-        } else {
+        if (existUser == null) {
             throw new IllegalArgumentException("email 또는 inviteCode 중 하나는 반드시 필요합니다.");
         }
         return existUser;
     }
 
+    // 앱이 보여주는 이전 형식 코드 ("TOMO-" + UID 뒤 4자리)는 여러 명이 같을 수 있음
+    private User findByLegacyInviteCode(String code) {
+        List<User> users = userRepository.findTop2ByLegacyInviteCode(code);
+        if (users.size() > 1) {
+            throw new IllegalArgumentException("같은 초대 코드를 쓰는 사용자가 여러 명입니다. 이메일로 추가해 주세요.");
+        }
+        return users.isEmpty() ? null : users.get(0);
+    }
+
 
     /// 여기 부터
     public boolean isUserAvailable(RequestUserSignDto dto) {
@@ -109,7 +158,11 @@ public class UserService {
         }
 
         User newUser = new User(dto.getUuid(),dto.getUsername(),dto.getEmail());
+        newUser.setInviteCode(inviteCodeAllocator.allocate());
+        newUser.setEmailHash(contactHasher.email(newUser.getEmail()));
+        newUser.setPhoneHash(contactHasher.phone(newUser.getPhone()));
         userRepository.save(newUser);
+        userDirectoryIndex.put(UserDirectoryEntry.from(newUser));
 
         return new ResponsePostUniformDto(true, "success");
 
@@ -123,46 +176,99 @@ public class UserService {
         return new getFriendResponseDto(user.getUsername(), user.getEmail());
     }
 
-    public void saveRefreshToken(String uid, String refreshToken){
-        User user = userRepository.findByFirebaseId(uid)
-                .orElseThrow(() -> new EntityNotFoundException("로그인 되지 않은 사용자입니다."));
+    // 내 프로필 (고유 초대 코드 포함)
+    public ResponseMyProfileDto getMyProfile(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("사용자 없음"));
+        return new ResponseMyProfileDto(user.getUsername(), user.getEmail(), user.getInviteCode());
+    }
+
+    // 입력 중 자동완성 (이름, 초대 코드 접두어, 이메일 전체). 본인은 제외, 이메일은 가려서 반환
+    public List<ResponseUserSuggestionDto> suggestUsers(Long userId, String query, Integer size) {
+        userSuggestionLimiter.check(userId);
+        int limit = Math.max(1, Math.min(size == null ? DEFAULT_SUGGESTION_SIZE : size, MAX_SUGGESTION_SIZE));
+        return userDirectoryIndex.suggest(query, limit, userId).stream()
+                .map(ResponseUserSuggestionDto::from)
+                .toList();
+    }
 
+    // 프로필 변경 후 토큰 버전을 올려 이전 AccessToken 을 무효화하고, 새 스냅샷이 담긴 AccessToken 반환
+    @Transactional
+    public String updateProfile(Long userId, RequestUpdateProfileDto dto) {
+        if (dto.getUsername() == null || dto.getUsername().isBlank()) {
+            throw new IllegalArgumentException("사용자 이름을 입력해 주세요");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("사용자 없음"));
 
-        user.setRefreshToken(refreshToken);
+        user.setUsername(dto.getUsername());
+        user.increaseTokenVersion();
         userRepository.save(user);
+        userDirectoryIndex.put(UserDirectoryEntry.from(user));
+        syncService.recordUserChanged(userId);
+
+        userPrincipalCache.evict(user.getFirebaseId());
+        jwtTokenProvider.evictVerifiedTokens(user.getFirebaseId());
+        return jwtTokenProvider.createAccessToken(UserPrincipal.from(user));
     }
 
     @Transactional
-    public void deleteUser(String uid) {
-        User user = userRepository.findByFirebaseId(uid)
+    public void deleteUser(Long userId) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("사용자 없음"));
-        Long userId = user.getId();
 
         //  리더 모임 ID 조회
         List<Long> leaderMoimIds = moimPeopleRepository.findLeaderMoimIds(userId);
 
         if (!leaderMoimIds.isEmpty()) {
+            // 삭제될 모임의 남은 멤버끼리 공통 모임 수 차감
+            commonMoimCounter.onMoimsRemoved(leaderMoimIds);
+            friendSuggestionService.onMoimsRemoved(leaderMoimIds);
+            syncService.recordMoimsRemoved(leaderMoimIds);
             // 리더 모임 참여자 삭제
             moimPeopleRepository.deleteMoimPeopleByMoimIds(leaderMoimIds);
             //  리더 모임 삭제
             moimRepository.deleteMoimsByIds(leaderMoimIds);
         }
 
+        // 친구들과 일반 멤버 모임의 다른 멤버에게 동기화 기록 (friend / moim_people 행 삭제 전)
+        syncService.recordUserRemoved(userId);
+
         // 일반 멤버 모임에서 본인만 삭제
         moimPeopleRepository.deleteUserFromNonLeaderMoims(userId);
 
+        // 추천 목록 정리 + 친구들의 추천 재계산 표시 (friend 행 삭제 전)
+        friendSuggestionService.onUserDeleted(userId);
+        friendLeaderboardService.onUserDeleted(userId);
+
         // 친구 관계 삭제 (선택)
         friendRepository.deleteAllByUserId(userId);
+        friendGraph.removeUser(userId);
+
+        // RefreshToken 삭제
+        refreshTokenStore.deleteAll(userId);
 
         // 사용자 삭제
         userRepository.delete(user);
+        userDirectoryIndex.remove(userId);
+        userPrincipalCache.evict(user.getFirebaseId());
+        jwtTokenProvider.evictVerifiedTokens(user.getFirebaseId());
     }
-    public void logout(String uid) {
-        User user = userRepository.findByFirebaseId(uid)
+    // 모든 기기에서 로그아웃: RefreshToken 전부 폐기 + 토큰 버전을 올려 다른 기기의 AccessToken 도 무효화
+    // 현재 AccessToken 은 폐기 목록에도 등록 (다른 인스턴스의 principal 캐시가 만료되기 전에도 바로 거부되도록)
+    // 세 가지 쓰기를 한 트랜잭션으로 묶어 일부만 반영되는 일이 없게 한다
+    @Transactional
+    public void logout(Long userId, VerifiedAccessToken accessToken) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("사용자가 존재하지 않습니다."));
-        // Refresh Token 삭제
-        user.setRefreshToken(null);
-        userRepository.save(user);
+        // 모든 기기의 Refresh Token 폐기
+        refreshTokenStore.revokeAll(userId);
+        user.increaseTokenVersion();
+        if (accessToken != null) {
+            revocationList.revoke(accessToken.jti(), accessToken.expiresAtMillis());
+        }
+        userPrincipalCache.evict(user.getFirebaseId());
+        jwtTokenProvider.evictVerifiedTokens(user.getFirebaseId());
     }
 
 
@@ -0,0 +1,26 @@
+package com.example.tomo.Users;
+
+import com.example.tomo.global.Exception.RateLimitExceededException;
+import com.example.tomo.global.RateLimit.UsageLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 자동완성 요청 수 제한 (사용자별 분당). 이름 접두어를 훑어 가입자 목록을 긁어 가는 것을 막는다
+@Component
+public class UserSuggestionLimiter {
+
+    private final UsageLimiter limiter;
+
+    public UserSuggestionLimiter(@Value("${user-directory.suggest.requests-per-minute:60}") int requestsPerMinute,
+                                 @Value("${user-directory.suggest.limiter-max-users:100000}") long maxUsers) {
+        this.limiter = new UsageLimiter(requestsPerMinute, Duration.ofMinutes(1), maxUsers);
+    }
+
+    public void check(Long userId) {
+        if (!limiter.tryAcquire(userId, 1)) {
+            throw new RateLimitExceededException("검색 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+}
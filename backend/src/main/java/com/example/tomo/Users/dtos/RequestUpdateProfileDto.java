@@ -0,0 +1,16 @@
+package com.example.tomo.Users.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RequestUpdateProfileDto {
+
+    private String username;
+
+}
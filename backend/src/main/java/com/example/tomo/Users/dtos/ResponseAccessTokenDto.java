@@ -0,0 +1,10 @@
+package com.example.tomo.Users.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResponseAccessTokenDto {
+    private String accessToken;
+}
@@ -0,0 +1,9 @@
+package com.example.tomo.Users.dtos;
+
+// hash: 요청에 담겨 온 연락처 해시 (앱이 주소록 항목과 다시 연결할 때 사용)
+// 이메일은 내려주지 않는다 (전화번호만 아는 상대의 이메일을 알아내는 용도로 쓰이지 않도록)
+public record ResponseContactMatchDto(
+        String hash,
+        String username
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.tomo.Users.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 내 프로필. inviteCode 는 사용자마다 고유한 초대 코드 (이전 "TOMO-" 코드 대신 공유/친구 추가에 사용)
+@Getter
+@AllArgsConstructor
+public class ResponseMyProfileDto {
+    private String username;
+    private String email;
+    private String inviteCode;
+}
@@ -0,0 +1,27 @@
+package com.example.tomo.Users.dtos;
+
+import com.example.tomo.Users.UserDirectoryEntry;
+
+// 자동완성 결과. 이름 검색으로 다른 사람의 이메일을 알아낼 수 없도록 이메일은 가려서 내려준다
+// 고른 사람은 inviteCode 로 바로 친구 추가할 수 있다 (초대 코드는 원래 검색어로도 찾을 수 있는 값)
+public record ResponseUserSuggestionDto(
+        String username,
+        String maskedEmail,
+        String inviteCode
+) {
+    public static ResponseUserSuggestionDto from(UserDirectoryEntry entry) {
+        return new ResponseUserSuggestionDto(entry.username(), maskEmail(entry.email()), entry.inviteCode());
+    }
+
+    // 로컬 파트 앞 두 글자만 남김 (mskim@test.com → ms***@test.com, a@test.com → a***@test.com)
+    static String maskEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return "***";
+        }
+        return email.substring(0, Math.min(2, Math.max(at - 1, 1))) + "***" + email.substring(at);
+    }
+}
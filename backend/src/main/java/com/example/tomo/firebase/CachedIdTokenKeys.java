@@ -0,0 +1,121 @@
+package com.example.tomo.firebase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// ID Token 공개키 캐시
+// 만료 전에 백그라운드에서 미리 갱신하고, 갱신이 실패하면 이전 키를 계속 사용한다
+// (요청 스레드는 키 조회를 기다리지 않음 → 장애 직후 로그인이 몰려도 로컬에서 바로 검증)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "firebase.id-token.verifier", havingValue = "local", matchIfMissing = true)
+public class CachedIdTokenKeys {
+
+    static final Duration REFRESH_AHEAD = Duration.ofMinutes(10);
+    // 모르는 kid 로 갱신을 요청하는 최소 간격 (위조 kid 를 계속 보내 키 서버 호출을 유발하는 것 방지)
+    static final Duration MIN_UNKNOWN_KID_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final IdTokenKeySource keySource;
+    private final long minRefreshIntervalNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "id-token-key-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile IdTokenKeySet current = IdTokenKeySet.EMPTY;
+    private volatile long lastUnknownKidRefreshAt;
+    private volatile boolean unknownKidRefreshed;
+
+    @Autowired
+    public CachedIdTokenKeys(@Value("${firebase.id-token.key-file:}") String keyFile,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this(keyFile.isBlank() ? new GoogleIdTokenKeySource() : StaticIdTokenKeySource.fromFile(Path.of(keyFile)),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public CachedIdTokenKeys(IdTokenKeySource keySource, MeterRegistry meterRegistry) {
+        this(keySource, meterRegistry, MIN_UNKNOWN_KID_REFRESH_INTERVAL);
+    }
+
+    CachedIdTokenKeys(IdTokenKeySource keySource, MeterRegistry meterRegistry, Duration minRefreshInterval) {
+        this.keySource = keySource;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.hits = Counter.builder("firebase.id_token.keys").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("firebase.id_token.keys").tag("result", "miss").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    // 요청 스레드에서 호출. 모르는 kid 면 (키 교체 직후) 백그라운드 갱신만 요청하고 바로 반환
+    // 갱신 요청은 MIN_UNKNOWN_KID_REFRESH_INTERVAL 에 한 번까지 (그 사이 모르는 kid 는 그대로 거절)
+    public PublicKey get(String kid) {
+        PublicKey key = current.keys().get(kid);
+        if (key == null) {
+            misses.increment();
+            refreshAsync();
+        } else {
+            hits.increment();
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${firebase.id-token.key-check-ms:60000}")
+    public void refreshIfExpiring() {
+        if (Instant.now().isAfter(current.expiresAt().minus(REFRESH_AHEAD))) {
+            refresh();
+        }
+    }
+
+    void refresh() {
+        try {
+            IdTokenKeySet fetched = keySource.fetch();
+            if (!fetched.keys().isEmpty()) {
+                current = fetched;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh Firebase ID token keys, keeping {} cached keys", current.keys().size(), e);
+        }
+    }
+
+    private void refreshAsync() {
+        long now = System.nanoTime();
+        if (unknownKidRefreshed && now - lastUnknownKidRefreshAt < minRefreshIntervalNanos) {
+            return;
+        }
+        if (refreshing.compareAndSet(false, true)) {
+            lastUnknownKidRefreshAt = now;
+            unknownKidRefreshed = true;
+            refresher.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.example.tomo.firebase;
 
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
+import com.example.tomo.global.Exception.InvalidTokenException;
+import com.example.tomo.global.Exception.TokenExpiredException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,13 +16,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
 
+@Slf4j
 @Component
 public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
 
-    private final FirebaseService firebaseService;
+    private final IdTokenVerifier idTokenVerifier;
 
-    public FirebaseAuthenticationFilter(FirebaseService firebaseService) {
-        this.firebaseService = firebaseService;
+    public FirebaseAuthenticationFilter(IdTokenVerifier idTokenVerifier) {
+        this.idTokenVerifier = idTokenVerifier;
     }
 
     @Override
@@ -49,9 +51,8 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
             String idToken = header.substring(7);
             try {
                 // Firebase ID Token 검증
-                FirebaseToken decodedToken = firebaseService.verifyIdToken(idToken);
-                String uuid = decodedToken.getUid();
-                System.out.println(" Firebase Token verified: " + uuid);
+                String uuid = idTokenVerifier.verifyAndGetUid(idToken);
+                log.debug("Firebase ID token verified: {}", uuid);
 
                 // SecurityContext에 사용자 UID 등록
                 UsernamePasswordAuthenticationToken auth =
@@ -62,8 +63,8 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
                 filterChain.doFilter(request, response);
                 return;
 
-            } catch (FirebaseAuthException e) {
-                System.out.println("[DEBUG] Token verification failed: " + e.getMessage());
+            } catch (InvalidTokenException | TokenExpiredException e) {
+                log.debug("Firebase ID token verification failed: {}", e.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired Firebase ID token");
                 return;
             }
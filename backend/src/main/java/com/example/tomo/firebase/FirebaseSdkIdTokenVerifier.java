@@ -0,0 +1,30 @@
+package com.example.tomo.firebase;
+
+import com.example.tomo.global.Exception.InvalidTokenException;
+import com.example.tomo.global.Exception.TokenExpiredException;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuthException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 기존 방식: Firebase Admin SDK 로 검증 (키 조회를 SDK 가 요청 스레드에서 처리)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "firebase.id-token.verifier", havingValue = "sdk")
+public class FirebaseSdkIdTokenVerifier implements IdTokenVerifier {
+
+    private final FirebaseService firebaseService;
+
+    @Override
+    public String verifyAndGetUid(String idToken) {
+        try {
+            return firebaseService.verifyIdToken(idToken).getUid();
+        } catch (FirebaseAuthException e) {
+            if (e.getAuthErrorCode() == AuthErrorCode.EXPIRED_ID_TOKEN) {
+                throw new TokenExpiredException("Firebase ID token expired");
+            }
+            throw new InvalidTokenException("Invalid Firebase ID token");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.tomo.firebase;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Firebase 가 ID Token 서명에 쓰는 공개 인증서 (kid → PEM) 조회
+// 만료 시각은 응답의 Cache-Control max-age 를 따른다
+public class GoogleIdTokenKeySource implements IdTokenKeySource {
+
+    static final URI CERTIFICATES_URI = URI.create(
+            "https://www.googleapis.com/robot/v1/metadata/x509/securetoken@system.gserviceaccount.com");
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public IdTokenKeySet fetch() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(CERTIFICATES_URI)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Firebase 공개키 조회가 중단되었습니다", e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Firebase 공개키 조회 실패: HTTP " + response.statusCode());
+        }
+
+        Map<String, String> certificates = objectMapper.readValue(response.body(), new TypeReference<>() {});
+        Duration maxAge = response.headers().firstValue("Cache-Control")
+                .map(MAX_AGE::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> Duration.ofSeconds(Long.parseLong(matcher.group(1))))
+                .orElse(DEFAULT_MAX_AGE);
+
+        return new IdTokenKeySet(PemCertificates.toPublicKeys(certificates), Instant.now().plus(maxAge));
+    }
+}
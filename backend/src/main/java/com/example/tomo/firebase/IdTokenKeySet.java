@@ -0,0 +1,11 @@
+package com.example.tomo.firebase;
+
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Map;
+
+// kid → 공개키, 그리고 이 키 목록을 다시 받아야 하는 시각
+public record IdTokenKeySet(Map<String, PublicKey> keys, Instant expiresAt) {
+
+    public static final IdTokenKeySet EMPTY = new IdTokenKeySet(Map.of(), Instant.EPOCH);
+}
@@ -0,0 +1,9 @@
+package com.example.tomo.firebase;
+
+import java.io.IOException;
+
+// ID Token 서명 검증용 공개키 출처 (Google 공개 인증서 또는 파일/메모리)
+public interface IdTokenKeySource {
+
+    IdTokenKeySet fetch() throws IOException;
+}
@@ -0,0 +1,9 @@
+package com.example.tomo.firebase;
+
+// Firebase ID Token 검증 (로그인 전용)
+// firebase.id-token.verifier=local(기본) 이면 캐시된 공개키로 직접 RS256 검증, sdk 면 Firebase Admin SDK 사용
+public interface IdTokenVerifier {
+
+    // 검증 후 Firebase UID 반환 (실패 시 InvalidTokenException, 만료 시 TokenExpiredException)
+    String verifyAndGetUid(String idToken);
+}
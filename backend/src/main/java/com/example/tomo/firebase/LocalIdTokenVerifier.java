@@ -0,0 +1,103 @@
+package com.example.tomo.firebase;
+
+import com.example.tomo.global.Exception.InvalidTokenException;
+import com.example.tomo.global.Exception.TokenExpiredException;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.ImplFirebaseTrampolines;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Date;
+
+// Firebase ID Token 을 캐시된 공개키로 직접 검증 (RS256, iss/aud/exp/sub/auth_time)
+@Component
+@DependsOn("firebaseInitializer")
+@ConditionalOnProperty(name = "firebase.id-token.verifier", havingValue = "local", matchIfMissing = true)
+public class LocalIdTokenVerifier implements IdTokenVerifier {
+
+    static final String ISSUER_PREFIX = "https://securetoken.google.com/";
+
+    private final JwtParser parser;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public LocalIdTokenVerifier(CachedIdTokenKeys keys,
+                                @Value("${firebase.project-id:}") String projectId,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this(keys, projectId.isBlank() ? projectIdFromFirebaseApp() : projectId,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public LocalIdTokenVerifier(CachedIdTokenKeys keys, String projectId, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if (!"RS256".equals(header.getAlgorithm()) || header.getKeyId() == null) {
+                            throw new UnsupportedJwtException("RS256 + kid 가 필요합니다");
+                        }
+                        Key key = keys.get(header.getKeyId());
+                        if (key == null) {
+                            throw new UnsupportedJwtException("알 수 없는 kid: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireIssuer(ISSUER_PREFIX + projectId)
+                .requireAudience(projectId)
+                .setAllowedClockSkewSeconds(60)
+                .build();
+    }
+
+    @Override
+    public String verifyAndGetUid(String idToken) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "failure";
+        try {
+            Claims claims = parser.parseClaimsJws(idToken).getBody();
+            String uid = claims.getSubject();
+            if (uid == null || uid.isBlank() || uid.length() > 128) {
+                throw new InvalidTokenException("Invalid Firebase ID token");
+            }
+            Long authTime = claims.get("auth_time", Long.class);
+            if (authTime == null || new Date(authTime * 1000).after(new Date(System.currentTimeMillis() + 60_000))) {
+                throw new InvalidTokenException("Invalid Firebase ID token");
+            }
+            result = "success";
+            return uid;
+        } catch (ExpiredJwtException e) {
+            result = "expired";
+            throw new TokenExpiredException("Firebase ID token expired");
+        } catch (InvalidTokenException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidTokenException("Invalid Firebase ID token");
+        } finally {
+            sample.stop(meterRegistry.timer("firebase.id_token.verify", "result", result));
+        }
+    }
+
+    private static String projectIdFromFirebaseApp() {
+        String projectId = ImplFirebaseTrampolines.getProjectId(FirebaseApp.getInstance());
+        if (projectId == null || projectId.isBlank()) {
+            throw new IllegalStateException("firebase.project-id 설정이 필요합니다");
+        }
+        return projectId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.tomo.firebase;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+// kid → PEM 인증서 문자열을 kid → 공개키로 변환
+final class PemCertificates {
+
+    private PemCertificates() {}
+
+    static Map<String, PublicKey> toPublicKeys(Map<String, String> pemByKid) throws IOException {
+        try {
+            CertificateFactory factory = CertificateFactory.getInstance("X.509");
+            Map<String, PublicKey> keys = new HashMap<>();
+            for (Map.Entry<String, String> entry : pemByKid.entrySet()) {
+                byte[] pem = entry.getValue().getBytes(StandardCharsets.US_ASCII);
+                keys.put(entry.getKey(), factory.generateCertificate(new ByteArrayInputStream(pem)).getPublicKey());
+            }
+            return Map.copyOf(keys);
+        } catch (CertificateException e) {
+            throw new IOException("인증서를 읽을 수 없습니다", e);
+        }
+    }
+}
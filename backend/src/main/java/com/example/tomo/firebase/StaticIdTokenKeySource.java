@@ -0,0 +1,45 @@
+package com.example.tomo.firebase;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+// 로컬/테스트용 고정 키 목록
+// 파일은 Google 응답과 같은 형식 ({"kid": "-----BEGIN CERTIFICATE-----..."}), 매번 다시 읽어 교체를 반영
+public class StaticIdTokenKeySource implements IdTokenKeySource {
+
+    private static final Duration VALIDITY = Duration.ofHours(1);
+
+    private final Path file;
+    private final Map<String, PublicKey> keys;
+
+    private StaticIdTokenKeySource(Path file, Map<String, PublicKey> keys) {
+        this.file = file;
+        this.keys = keys;
+    }
+
+    public static StaticIdTokenKeySource fromFile(Path file) {
+        return new StaticIdTokenKeySource(file, null);
+    }
+
+    public static StaticIdTokenKeySource of(Map<String, PublicKey> keys) {
+        return new StaticIdTokenKeySource(null, Map.copyOf(keys));
+    }
+
+    @Override
+    public IdTokenKeySet fetch() throws IOException {
+        if (keys != null) {
+            return new IdTokenKeySet(keys, Instant.now().plus(VALIDITY));
+        }
+        Map<String, String> certificates = new ObjectMapper()
+                .readValue(Files.readString(file), new TypeReference<>() {});
+        return new IdTokenKeySet(PemCertificates.toPublicKeys(certificates), Instant.now().plus(VALIDITY));
+    }
+}
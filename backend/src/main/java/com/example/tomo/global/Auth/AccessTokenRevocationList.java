@@ -0,0 +1,131 @@
+package com.example.tomo.global.Auth;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 만료 전에 폐기된 AccessToken 목록
+// 요청마다의 확인은 메모리에서만 한다: Bloom filter 로 대부분 바로 통과시키고, 걸린 경우에만 정확한 집합 확인
+// DB(revoked_access_token)는 재시작 시 복원과 인스턴스 간 동기화(주기적 폴링)에 사용
+@Slf4j
+@Component
+public class AccessTokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // 다른 인스턴스의 커밋이 늦게 보이는 경우를 위해 마지막 폴링 시각보다 조금 앞부터 다시 읽음
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final int expectedInsertions;
+
+    // jti → 토큰 만료 시각 (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile JtiBloomFilter bloomFilter;
+    private int bloomCapacity;
+    private volatile LocalDateTime pollWatermark = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public AccessTokenRevocationList(RevokedAccessTokenRepository revokedAccessTokenRepository,
+                                     @Value("${auth.revocation.expected-insertions:100000}") int expectedInsertions) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.bloomFilter = new JtiBloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+        this.bloomCapacity = expectedInsertions;
+    }
+
+    // 시작 시 아직 만료되지 않은 폐기 목록 복원
+    @PostConstruct
+    public void load() {
+        List<RevokedAccessToken> rows = revokedAccessTokenRepository.findAllByExpiresAtAfter(LocalDateTime.now());
+        apply(rows);
+        log.info("Loaded {} revoked access tokens", rows.size());
+    }
+
+    // 요청마다 호출 (jti 가 없는 이전 형식 토큰은 폐기 대상 아님)
+    public boolean isRevoked(String jti) {
+        return jti != null && bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedAccessTokenRepository.insertIfAbsent(jti, toLocalDateTime(expiresAtMillis));
+        add(jti, expiresAtMillis);
+    }
+
+    // 다른 인스턴스에서 폐기된 토큰 반영
+    @Scheduled(fixedDelayString = "${auth.revocation.poll-ms:5000}")
+    public void poll() {
+        apply(revokedAccessTokenRepository.findAllByRevokedAtGreaterThanEqual(pollWatermark));
+    }
+
+    // 만료된 항목 정리 후 Bloom filter 재구성 (삭제가 불가능한 구조라 새로 만들어 교체)
+    @Scheduled(fixedDelayString = "${auth.revocation.prune-ms:60000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        boolean removed = revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        if (removed) {
+            rebuild();
+        }
+        revokedAccessTokenRepository.deleteExpired(toLocalDateTime(now));
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void apply(List<RevokedAccessToken> rows) {
+        long now = System.currentTimeMillis();
+        LocalDateTime latest = null;
+        for (RevokedAccessToken row : rows) {
+            long expiresAt = toEpochMillis(row.getExpiresAt());
+            if (expiresAt > now) {
+                add(row.getJti(), expiresAt);
+            }
+            if (latest == null || row.getRevokedAt().isAfter(latest)) {
+                latest = row.getRevokedAt();
+            }
+        }
+        if (latest != null && latest.minus(POLL_OVERLAP).isAfter(pollWatermark)) {
+            pollWatermark = latest.minus(POLL_OVERLAP);
+        }
+    }
+
+    // 집합에 먼저 넣고 Bloom filter 에 넣는다 (filter 에 있으면 집합에도 반드시 있음)
+    // 재구성과 겹치면 새 filter 에서 빠질 수 있어 쓰기끼리는 잠금
+    private synchronized void add(String jti, long expiresAtMillis) {
+        revoked.put(jti, expiresAtMillis);
+        bloomFilter.put(jti);
+        if (revoked.size() > bloomCapacity) {
+            // 예상보다 많아지면 오탐률이 올라가므로 더 크게 재구성
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        bloomCapacity = Math.max(expectedInsertions, revoked.size() * 2);
+        JtiBloomFilter rebuilt = new JtiBloomFilter(bloomCapacity, FALSE_POSITIVE_RATE);
+        for (String jti : revoked.keySet()) {
+            rebuilt.put(jti);
+        }
+        bloomFilter = rebuilt;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime value) {
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
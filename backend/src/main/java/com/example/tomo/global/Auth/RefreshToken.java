@@ -0,0 +1,67 @@
+package com.example.tomo.global.Auth;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 기기(로그인)별 RefreshToken. 원문 대신 SHA-256 digest 만 저장
+// 같은 로그인에서 회전된 토큰들은 family_id 를 공유하고, 이미 회전된 토큰이 다시 오면 family 전체를 폐기한다
+@Entity
+@Getter
+@Table(name = "refresh_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_token_user", columnList = "user_id")
+        })
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "refresh_token_id")
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, columnDefinition = "CHAR(64)")
+    private String tokenHash;
+
+    // users 엔티티를 로딩하지 않도록 id 만 보관
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // 모아서 기록 (RefreshTokenUsageBuffer)
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;
+
+    // 새 토큰으로 교체된 시각
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    public RefreshToken() {}
+
+    public RefreshToken(String tokenHash, Long userId, String familyId,
+                        LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // 교체되지도 폐기되지도 않았고 만료 전인 토큰
+    public boolean isActive(LocalDateTime now) {
+        return rotatedAt == null && revokedAt == null && expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.tomo.global.Auth;
+
+import com.example.tomo.global.Exception.InvalidTokenException;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// refresh_token 테이블 접근 (발급, 회전, 재사용 감지, 폐기)
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenUsageBuffer usageBuffer;
+
+    // 로그인: 새 family 로 저장 (users 행은 건드리지 않음)
+    public void issue(Long userId, String token, Duration validity) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(
+                hash(token), userId, UUID.randomUUID().toString(), now, now.plus(validity)));
+    }
+
+    // 재발급: 제시된 토큰을 회전 처리하고 같은 family 로 새 토큰 저장
+    // 이미 회전/폐기된 토큰이 다시 오면 탈취로 보고 family 전체를 폐기
+    // 회전 표시와 새 토큰 저장을 한 트랜잭션으로 묶는다 (새 토큰 저장이 실패하면 회전도 취소되어 다시 시도 가능)
+    // 재사용 감지 시 family 폐기는 예외를 던져도 커밋되어야 하므로 InvalidTokenException 은 롤백하지 않는다
+    @Transactional(dontRollbackOn = InvalidTokenException.class)
+    public void rotate(Long userId, String presented, String next, Duration validity) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(presented))
+                .filter(token -> token.getUserId().equals(userId))
+                .orElseThrow(() -> new EntityNotFoundException("Refresh token 불일치"));
+
+        if (!current.isActive(now) || refreshTokenRepository.markRotated(current.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidTokenException("Refresh token reused");
+        }
+
+        refreshTokenRepository.save(new RefreshToken(
+                hash(next), userId, current.getFamilyId(), now, now.plus(validity)));
+    }
+
+    // Refresh-Token 헤더로 인증하는 요청: 활성 토큰인지만 확인하고 사용 시각은 모아서 기록
+    public boolean isActive(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        return refreshTokenRepository.findByTokenHash(hash(token))
+                .filter(refreshToken -> refreshToken.isActive(now))
+                .map(refreshToken -> {
+                    usageBuffer.record(refreshToken.getId(), now);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    // 로그아웃: 모든 기기의 토큰 폐기
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    // 탈퇴: 토큰 행 삭제
+    public void deleteAll(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    // MySQL SHA2(token, 256) 과 같은 소문자 hex (V4 마이그레이션에서 기존 토큰 이관에 사용)
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.tomo.global.Auth;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// RefreshToken 마지막 사용 시각을 메모리에 모았다가 주기적으로 한 번의 JDBC 배치로 기록
+// 토큰별 최신 시각만 남기므로 같은 토큰이 여러 번 쓰여도 UPDATE 는 한 번
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenUsageBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Long tokenId, LocalDateTime usedAt) {
+        pending.merge(tokenId, usedAt, (old, now) -> now.isAfter(old) ? now : old);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.usage-flush-ms:30000}")
+    public int flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long tokenId : List.copyOf(pending.keySet())) {
+            LocalDateTime usedAt = pending.remove(tokenId);
+            if (usedAt != null) {
+                rows.add(new Object[]{Timestamp.valueOf(usedAt), tokenId});
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE refresh_token SET last_used_at = ? WHERE refresh_token_id = ?", rows);
+        return rows.size();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.tomo.global.Auth;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 만료 전에 폐기된 AccessToken (로그아웃 등). 토큰의 exp 가 지나면 정리된다
+@Entity
+@Getter
+@Table(name = "revoked_access_token",
+        indexes = {
+                @Index(name = "idx_revoked_access_token_revoked_at", columnList = "revoked_at"),
+                @Index(name = "idx_revoked_access_token_expires_at", columnList = "expires_at")
+        })
+public class RevokedAccessToken {
+
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // DB 시각으로 기록 (다른 인스턴스가 이 값으로 새 폐기 목록을 가져감)
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    public RevokedAccessToken() {}
+}
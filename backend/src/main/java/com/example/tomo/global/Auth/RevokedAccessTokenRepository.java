@@ -0,0 +1,31 @@
+package com.example.tomo.global.Auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    // revoked_at 은 DB 시각 (인스턴스 간 시계 차이 영향 없음)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO revoked_access_token (jti, expires_at, revoked_at) " +
+            "VALUES (:jti, :expiresAt, NOW(6))", nativeQuery = true)
+    int insertIfAbsent(@Param("jti") String jti, @Param("expiresAt") LocalDateTime expiresAt);
+
+    List<RevokedAccessToken> findAllByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedAccessToken> findAllByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedAccessToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
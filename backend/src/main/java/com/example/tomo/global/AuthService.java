@@ -1,12 +1,11 @@
 package com.example.tomo.global;
 
 
-import com.example.tomo.Users.User;
-import com.example.tomo.Users.UserRepository;
-import com.example.tomo.Users.UserService;
+import com.example.tomo.Users.UserPrincipal;
+import com.example.tomo.Users.UserPrincipalCache;
 import com.example.tomo.firebase.ResponseFirebaseLoginDto;
+import com.example.tomo.global.Auth.RefreshTokenStore;
 import com.example.tomo.jwt.JwtTokenProvider;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -16,43 +15,34 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
-    private final UserService userService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final RefreshTokenStore refreshTokenStore;
 
 
 
+    // 로그인: 사용자 정보는 캐시에서, RefreshToken 은 refresh_token 테이블에 INSERT 한 번
     public ResponseFirebaseLoginDto loginWithFirebase(String uid) {
-        String accessToken = jwtTokenProvider.createAccessToken(uid);
+        UserPrincipal principal = userPrincipalCache.get(uid);
+
+        String accessToken = jwtTokenProvider.createAccessToken(principal);
         String refreshToken = jwtTokenProvider.createRefreshToken(uid);
 
-        // DB에 RefreshToken 저장
-        userService.saveRefreshToken(uid, refreshToken);
+        refreshTokenStore.issue(principal.id(), refreshToken, JwtTokenProvider.REFRESH_TOKEN_VALIDITY);
 
         return new ResponseFirebaseLoginDto(accessToken, refreshToken);
     }
 
+    // 재발급: digest 조회 1 + 회전 UPDATE 1 + 새 토큰 INSERT 1
     public ResponseFirebaseLoginDto reissueAccessToken(String refreshToken) {
-        try {
-            String uid = jwtTokenProvider.validateRefreshTokenAndGetUuid(refreshToken);
-            User user = userRepository.findByFirebaseId(uid)
-                    .orElseThrow(() -> new EntityNotFoundException("사용자 없음"));
-
-            if (!refreshToken.equals(user.getRefreshToken())) {
-                throw new EntityNotFoundException("Refresh token 불일치");
-            }
-
-            String newAccessToken = jwtTokenProvider.createAccessToken(uid);
-            String newRefreshToken = jwtTokenProvider.createRefreshToken(uid);
-
-
-            user.setRefreshToken(newRefreshToken);
-            userRepository.save(user);
+        String uid = jwtTokenProvider.validateRefreshTokenAndGetUuid(refreshToken);
+        UserPrincipal principal = userPrincipalCache.get(uid);
 
-            return new ResponseFirebaseLoginDto(newAccessToken, newRefreshToken);
+        String newRefreshToken = jwtTokenProvider.createRefreshToken(uid);
+        refreshTokenStore.rotate(principal.id(), refreshToken, newRefreshToken,
+                JwtTokenProvider.REFRESH_TOKEN_VALIDITY);
 
-        } catch (Exception e) {
-            throw new RuntimeException("Refresh token 검증 실패", e);
-        }
+        String newAccessToken = jwtTokenProvider.createAccessToken(principal);
+        return new ResponseFirebaseLoginDto(newAccessToken, newRefreshToken);
     }
 
 }
@@ -0,0 +1,34 @@
+package com.example.tomo.global.Batch;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 배치 작업이 마지막으로 커밋한 위치 (재시작 시 이어서 처리)
+@Entity
+@Getter
+@Table(name = "job_checkpoint")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName, Long lastId) {
+        this.jobName = jobName;
+        this.lastId = lastId;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
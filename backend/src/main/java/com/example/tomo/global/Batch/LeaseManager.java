@@ -0,0 +1,131 @@
+package com.example.tomo.global.Batch;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+// scheduler_lease 행을 이용한 리더 선출
+// 모든 인스턴스가 같은 스케줄로 호출해도 리스를 가진 하나만 작업을 실행한다
+// 리스 만료(lease_until)는 DB 시각으로 판단하고, clock 은 성공 기록(last_success_at)과 지연 지표에만 쓴다
+@Slf4j
+@Component
+public class LeaseManager {
+
+    private static final LocalDateTime EXPIRED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String instanceId;
+    private final Duration ttl;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> registeredGauges = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public LeaseManager(SchedulerLeaseRepository leaseRepository,
+                        @Value("${scheduler.instance-id:}") String instanceId,
+                        @Value("${scheduler.lease.ttl-seconds:300}") long ttlSeconds,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+        this(leaseRepository,
+                instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId,
+                Duration.ofSeconds(ttlSeconds),
+                Clock.systemDefaultZone(),
+                meterRegistry.getIfAvailable());
+    }
+
+    public LeaseManager(SchedulerLeaseRepository leaseRepository, String instanceId,
+                        Duration ttl, Clock clock, MeterRegistry meterRegistry) {
+        this.leaseRepository = leaseRepository;
+        this.instanceId = instanceId;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    // notBefore 이후 성공 기록이 없을 때만 리스를 잡고 작업 실행
+    // job 에는 리스 연장용 heartbeat 가 전달되고, 끝까지 처리했으면 true 를 반환해야 한다
+    public boolean runExclusively(String name, LocalDateTime notBefore, Predicate<BooleanSupplier> job) {
+        registerLagGauge(name);
+
+        if (succeededSince(name, notBefore) || !tryAcquire(name)) {
+            return false;
+        }
+        try {
+            // 리스를 잡는 사이 다른 인스턴스가 끝냈을 수 있으므로 다시 확인
+            if (succeededSince(name, notBefore)) {
+                return false;
+            }
+            boolean completed = job.test(() -> renew(name));
+            if (completed) {
+                markSuccess(name);
+            }
+            return completed;
+        } finally {
+            release(name);
+        }
+    }
+
+    public boolean tryAcquire(String name) {
+        leaseRepository.insertIfAbsent(name, EXPIRED);
+        return leaseRepository.acquire(name, instanceId, ttl.toSeconds()) == 1;
+    }
+
+    public boolean renew(String name) {
+        boolean renewed = leaseRepository.renew(name, instanceId, ttl.toSeconds()) == 1;
+        if (!renewed) {
+            log.warn("[lease:{}] lost by {}", name, instanceId);
+        }
+        return renewed;
+    }
+
+    public void release(String name) {
+        leaseRepository.release(name, instanceId);
+    }
+
+    public void markSuccess(String name) {
+        leaseRepository.markSuccess(name, instanceId, LocalDateTime.now(clock));
+    }
+
+    // 마지막 성공 이후 경과 시간 (한 번도 성공하지 않았으면 empty)
+    public Optional<Duration> lagSinceLastSuccess(String name) {
+        return leaseRepository.findLastSuccessAt(name)
+                .map(lastSuccess -> Duration.between(lastSuccess, LocalDateTime.now(clock)));
+    }
+
+    private boolean succeededSince(String name, LocalDateTime notBefore) {
+        return leaseRepository.findLastSuccessAt(name)
+                .map(lastSuccess -> !lastSuccess.isBefore(notBefore))
+                .orElse(false);
+    }
+
+    private void registerLagGauge(String name) {
+        if (meterRegistry == null || !registeredGauges.add(name)) {
+            return;
+        }
+        Gauge.builder("scheduler.lease.lag.seconds", this,
+                        manager -> manager.lagSinceLastSuccess(name)
+                                .map(lag -> (double) lag.toSeconds())
+                                .orElse(Double.NaN))
+                .tag("lease", name)
+                .description("마지막 성공 실행 이후 경과 시간")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.tomo.global.Batch;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 여러 인스턴스 중 하나만 스케줄 작업을 실행하도록 하는 DB 리스
+@Entity
+@Getter
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    // 현재 리스를 가진 인스턴스 (없으면 NULL)
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    // 마지막으로 작업이 끝까지 성공한 시각
+    @Column(name = "last_success_at")
+    private LocalDateTime lastSuccessAt;
+
+    public SchedulerLease() {}
+}
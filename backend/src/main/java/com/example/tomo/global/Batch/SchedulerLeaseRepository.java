@@ -0,0 +1,61 @@
+package com.example.tomo.global.Batch;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // 리스 행이 없으면 만료된 상태로 생성
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_lease (name, lease_until) VALUES (:name, :expired)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("expired") LocalDateTime expired);
+
+    // lease_until 은 DB 시각(NOW(6)) 기준으로 쓰고 비교 → 인스턴스 사이 시계 차이와 무관하게 만료 판단
+    // 비어 있거나 만료된 리스만 획득 (본인이 가진 리스는 연장)
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease " +
+            "SET owner = :owner, lease_until = NOW(6) + INTERVAL :ttlSeconds SECOND " +
+            "WHERE name = :name " +
+            "AND (owner = :owner OR owner IS NULL OR lease_until < NOW(6))",
+            nativeQuery = true)
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("ttlSeconds") long ttlSeconds);
+
+    // 본인이 가진 리스만 연장
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease " +
+            "SET lease_until = NOW(6) + INTERVAL :ttlSeconds SECOND " +
+            "WHERE name = :name AND owner = :owner",
+            nativeQuery = true)
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("ttlSeconds") long ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease " +
+            "SET owner = NULL, lease_until = NOW(6) " +
+            "WHERE name = :name AND owner = :owner",
+            nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLease l " +
+            "SET l.lastSuccessAt = :at " +
+            "WHERE l.name = :name AND l.owner = :owner")
+    int markSuccess(@Param("name") String name, @Param("owner") String owner,
+                    @Param("at") LocalDateTime at);
+
+    @Query("SELECT l.lastSuccessAt FROM SchedulerLease l WHERE l.name = :name")
+    Optional<LocalDateTime> findLastSuccessAt(@Param("name") String name);
+}
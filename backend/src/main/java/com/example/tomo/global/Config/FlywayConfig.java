@@ -0,0 +1,30 @@
+package com.example.tomo.global.Config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    // ddl-auto 로 이미 테이블이 만들어진 DB 는 버전 0 으로 baseline 후 V1 부터 적용
+    // (V1 은 Flyway 도입 전 스키마를 IF NOT EXISTS 로 만들어 기존 테이블은 그대로 두고,
+    //  그 뒤에 생긴 컬럼/테이블은 V1_1 부터 ALTER/CREATE 로 추가되므로 기존 DB 에도 똑같이 적용된다)
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+
+    // 스키마는 마이그레이션으로만 바꾸고 Hibernate 는 엔티티와 맞는지 검증만 한다
+    // (배포 환경 properties 에 ddl-auto=update 가 남아 있어도 Flyway 를 쓰는 한 validate 로 고정)
+    @Bean
+    @ConditionalOnProperty(name = "spring.flyway.enabled", matchIfMissing = true)
+    public HibernatePropertiesCustomizer validateSchemaOnly() {
+        return properties -> properties.put(AvailableSettings.HBM2DDL_AUTO, "validate");
+    }
+}
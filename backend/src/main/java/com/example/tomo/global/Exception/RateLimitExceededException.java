@@ -0,0 +1,7 @@
+package com.example.tomo.global.Exception;
+
+public class RateLimitExceededException extends RuntimeException {
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.tomo.global.RateLimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 사용자별 고정 윈도우 사용량 제한 (요청 수, 조회 건수 등)
+// 첫 사용 시점부터 window 동안 limit 까지 허용하고, 창이 지나면 항목이 만료되어 다시 0 부터 센다
+// 인스턴스마다 따로 세므로 전체 한도는 인스턴스 수만큼 늘어난다
+public class UsageLimiter {
+
+    private final Cache<Long, AtomicInteger> usage;
+    private final int limit;
+
+    public UsageLimiter(int limit, Duration window, long maxUsers) {
+        this.limit = limit;
+        this.usage = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    // amount 만큼 남아 있으면 차감하고 true, 아니면 차감하지 않고 false
+    public boolean tryAcquire(Long userId, int amount) {
+        AtomicInteger used = usage.get(userId, id -> new AtomicInteger());
+        if (used.addAndGet(amount) > limit) {
+            used.addAndGet(-amount);
+            return false;
+        }
+        return true;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.tomo.jwt;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// 토큰 검증용 공개키 게시 (게이트웨이/사이드카가 백엔드 도달 전에 토큰을 검증할 수 있도록)
+@RestController
+@Tag(name = "Auth API", description = "토큰 검증 공개키")
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Operation(summary = "JWKS", description = "Access/Refresh Token 서명 검증용 공개키 목록 (RFC 7517)")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, String>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", jwtTokenProvider.jwks()));
+    }
+}
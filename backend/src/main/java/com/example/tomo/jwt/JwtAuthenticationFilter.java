@@ -1,5 +1,10 @@
 package com.example.tomo.jwt;
 
+import com.example.tomo.Users.UserPrincipal;
+import com.example.tomo.Users.UserPrincipalCache;
+import com.example.tomo.global.Auth.AccessTokenRevocationList;
+import com.example.tomo.global.Auth.RefreshTokenStore;
+import com.example.tomo.global.Exception.InvalidTokenException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,7 +23,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // 로그아웃 시 현재 AccessToken 을 폐기하기 위해 컨트롤러에 전달
+    public static final String ACCESS_TOKEN_ATTRIBUTE = "accessToken";
+
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserPrincipalCache userPrincipalCache;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenRevocationList revocationList;
 
 
     @Override
@@ -47,39 +58,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
+        if (path.equals("/.well-known/jwks.json")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         try {
             if (header != null && header.startsWith("Bearer ")) {
                 String accessToken = header.substring(7);
-                String uuid = jwtTokenProvider.validateTokenAndGetUuid(accessToken);
-
-                // SecurityContext에 인증 객체 + 권한 설정
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(
-                                uuid,
-                                null,
-                                List.of(new SimpleGrantedAuthority("ROLE_USER")) // 최소 권한
-                        );
-                SecurityContextHolder.getContext().setAuthentication(auth);
-                request.setAttribute("uuid", uuid);
+                VerifiedAccessToken verified = jwtTokenProvider.verifyAccessToken(accessToken);
+                if (revocationList.isRevoked(verified.jti())) {
+                    // 로그아웃으로 폐기된 토큰
+                    throw new InvalidTokenException("Revoked access token");
+                }
+                // typ=access 이고 id 클레임이 있는 토큰만 verifyAccessToken 을 통과한다
+                UserPrincipal principal = verified.principal();
+
+                if (userPrincipalCache.get(principal.firebaseId()).tokenVersion() != principal.tokenVersion()) {
+                    // 프로필이 바뀐 뒤의 오래된 토큰
+                    throw new InvalidTokenException("Stale access token");
+                }
+
+                authenticate(request, principal);
+                request.setAttribute(ACCESS_TOKEN_ATTRIBUTE, verified);
 
             } else if (refreshHeader != null) {
-                // RefreshToken 검증 로직 (DB와 비교, 만료 체크)
+                // RefreshToken 검증 로직 (서명/만료 체크 후 refresh_token 테이블과 비교)
                 String uuid = jwtTokenProvider.validateRefreshTokenAndGetUuid(refreshHeader);
+                if (!refreshTokenStore.isActive(refreshHeader)) {
+                    // 로그아웃, 회전, 재사용 감지로 폐기된 토큰
+                    throw new InvalidTokenException("Revoked refresh token");
+                }
+                UserPrincipal principal = userPrincipalCache.get(uuid);
 
                 // 새로운 AccessToken 발급
-                String newAccessToken = jwtTokenProvider.createAccessToken(uuid);
+                String newAccessToken = jwtTokenProvider.createAccessToken(principal);
                 response.setHeader("Authorization", "Bearer " + newAccessToken);
 
-                // SecurityContext에 인증 객체 + 권한 설정
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(
-                                uuid,
-                                null,
-                                List.of(new SimpleGrantedAuthority("ROLE_USER"))
-                        );
-                SecurityContextHolder.getContext().setAuthentication(auth);
-                request.setAttribute("uuid", uuid);
+                authenticate(request, principal);
 
             } else {
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Missing token");
@@ -92,4 +108,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // SecurityContext에 인증 객체 + 권한 설정
+    // (컨트롤러에서는 @AuthenticationPrincipal UserPrincipal 로 사용)
+    private void authenticate(HttpServletRequest request, UserPrincipal principal) {
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        List.of(new SimpleGrantedAuthority("ROLE_USER")) // 최소 권한
+                );
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        request.setAttribute("uuid", principal.firebaseId());
+    }
 }
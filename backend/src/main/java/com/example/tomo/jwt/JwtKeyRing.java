@@ -0,0 +1,147 @@
+package com.example.tomo.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+import java.util.stream.Stream;
+
+// 토큰 서명/검증 키 목록
+// - 서명: active kid 의 ES256 개인키 (kid 헤더 포함). 설정이 없으면 기존 jwt.secret HMAC 으로 서명
+// - 검증: kid 헤더가 있으면 해당 EC 공개키, 없으면 기존 HMAC 키 (전환 기간 동안 이전 토큰 허용)
+// 키 교체: 새 공개키를 먼저 배포(JWKS 게시) → active kid 변경 → RefreshToken 유효기간(7일)이 지난 뒤 이전 키 제거
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private final Key legacyHmacKey;
+    private final String activeKid;
+    private final PrivateKey activePrivateKey;
+    private final Map<String, ECPublicKey> verificationKeys;
+
+    public JwtKeyRing(Key legacyHmacKey, String activeKid, PrivateKey activePrivateKey,
+                      Map<String, ECPublicKey> verificationKeys) {
+        if (activeKid == null && legacyHmacKey == null) {
+            throw new IllegalStateException("jwt.secret 또는 jwt.signing.active-kid 설정이 필요합니다");
+        }
+        if (activeKid != null && (activePrivateKey == null || !verificationKeys.containsKey(activeKid))) {
+            throw new IllegalStateException("active kid 의 개인키/공개키가 없습니다: " + activeKid);
+        }
+        this.legacyHmacKey = legacyHmacKey;
+        this.activeKid = activeKid;
+        this.activePrivateKey = activePrivateKey;
+        this.verificationKeys = Map.copyOf(verificationKeys);
+    }
+
+    public static JwtKeyRing hmac(String secret) {
+        return new JwtKeyRing(hmacKey(secret), null, null, Map.of());
+    }
+
+    // keyDir 의 {kid}.pub.pem (X.509 공개키) 를 모두 검증키로, {activeKid}.key.pem (PKCS#8 개인키) 를 서명키로 사용
+    public static JwtKeyRing load(String secret, String keyDir, String activeKid) throws IOException {
+        Key legacy = secret == null || secret.isBlank() ? null : hmacKey(secret);
+        if (keyDir == null || keyDir.isBlank()) {
+            return new JwtKeyRing(legacy, null, null, Map.of());
+        }
+
+        Path dir = Path.of(keyDir);
+        Map<String, ECPublicKey> publicKeys = new HashMap<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".pub.pem")).toList()) {
+                String kid = file.getFileName().toString().replace(".pub.pem", "");
+                publicKeys.put(kid, (ECPublicKey) ecKeyFactory()
+                        .generatePublic(new X509EncodedKeySpec(pemBody(file))));
+            }
+            PrivateKey privateKey = null;
+            String kid = activeKid == null || activeKid.isBlank() ? null : activeKid;
+            if (kid != null) {
+                privateKey = ecKeyFactory().generatePrivate(new PKCS8EncodedKeySpec(pemBody(dir.resolve(kid + ".key.pem"))));
+            }
+            return new JwtKeyRing(legacy, kid, privateKey, publicKeys);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("JWT 서명 키를 읽을 수 없습니다: " + keyDir, e);
+        }
+    }
+
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (activeKid == null) {
+            return builder.signWith(legacyHmacKey);
+        }
+        return builder.setHeaderParam(JwsHeader.KEY_ID, activeKid)
+                .signWith(activePrivateKey, SignatureAlgorithm.ES256);
+    }
+
+    // 알고리즘 혼동 방지: kid 가 있으면 ES256 만, 없으면 HMAC 만 허용
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid != null) {
+            ECPublicKey key = verificationKeys.get(kid);
+            if (key == null || !SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("알 수 없는 서명 키: " + kid);
+            }
+            return key;
+        }
+        if (legacyHmacKey == null || header.getAlgorithm() == null || !header.getAlgorithm().startsWith("HS")) {
+            throw new UnsupportedJwtException("kid 가 없는 토큰은 허용되지 않습니다");
+        }
+        return legacyHmacKey;
+    }
+
+    // RFC 7517 JWK 목록 (공개키만)
+    public List<Map<String, String>> jwks() {
+        List<Map<String, String>> keys = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> {
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("x", coordinate(key.getW().getAffineX()));
+            jwk.put("y", coordinate(key.getW().getAffineY()));
+            keys.add(jwk);
+        });
+        keys.sort(Comparator.comparing(jwk -> jwk.get("kid")));
+        return keys;
+    }
+
+    // P-256 좌표는 32바이트 고정 길이 big-endian
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int copy = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - copy, fixed, 32 - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static KeyFactory ecKeyFactory() throws GeneralSecurityException {
+        return KeyFactory.getInstance("EC");
+    }
+
+    private static byte[] pemBody(Path file) throws IOException {
+        String pem = Files.readString(file)
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(pem);
+    }
+}
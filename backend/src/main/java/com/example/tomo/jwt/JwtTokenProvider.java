@@ -1,63 +1,137 @@
 package com.example.tomo.jwt;
 
+import com.example.tomo.Users.UserPrincipal;
 import com.example.tomo.global.Exception.InvalidTokenException;
 import com.example.tomo.global.Exception.TokenExpiredException;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
-    // 시크릿 키 (512bit)
-    //private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
-    private final Key key;
+    static final String CLAIM_USER_ID = "id";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_USERNAME = "name";
+    static final String CLAIM_VERSION = "ver";
+    // 토큰 종류. 같은 키로 서명하므로 RefreshToken 을 AccessToken 자리에 쓰지 못하게 구분
+    static final String CLAIM_TYPE = "typ";
+    static final String TYPE_ACCESS = "access";
+    static final String TYPE_REFRESH = "refresh";
 
-    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey) {
-        // 주입받은 secretKey 문자열로 Key 객체를 생성
-        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    public static final Duration REFRESH_TOKEN_VALIDITY = Duration.ofDays(7);
+
+    // 서명/검증 키 (ES256 + kid, 전환 기간에는 기존 HMAC 키로도 검증)
+    private final JwtKeyRing keyRing;
+
+    // 불변 + 스레드 안전하므로 한 번만 만들어 재사용
+    private final JwtParser parser;
+
+    // 검증된 AccessToken (SHA-256 digest → 사용자 정보, exp). 토큰의 exp 시각에 정확히 만료
+    private final Cache<String, VerifiedAccessToken> verifiedTokens;
+
+    @Autowired
+    public JwtTokenProvider(@Value("${jwt.secret:}") String secretKey,
+                            @Value("${jwt.signing.key-dir:}") String keyDir,
+                            @Value("${jwt.signing.active-kid:}") String activeKid,
+                            @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize) throws IOException {
+        this(JwtKeyRing.load(secretKey, keyDir, activeKid), verifiedCacheMaxSize);
     }
 
+    // HMAC 키만 사용 (테스트, 벤치마크)
+    public JwtTokenProvider(String secretKey, long verifiedCacheMaxSize) {
+        this(JwtKeyRing.hmac(secretKey), verifiedCacheMaxSize);
+    }
 
-    // Access 토큰 생성
-    public String createAccessToken(String uuid) {
+    public JwtTokenProvider(JwtKeyRing keyRing, long verifiedCacheMaxSize) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+
+    // Access 토큰 생성 (subject = Firebase UID, 클레임 = 내부 id + 프로필 스냅샷 + 버전)
+    public String createAccessToken(UserPrincipal principal) {
         long accessTokenValidity = 1000 * 60 * 60;
-        return Jwts.builder()
-                .setSubject(uuid)           // DB 조회 UUID
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(principal.firebaseId())           // Firebase UID
+                .claim(CLAIM_USER_ID, principal.id())
+                .claim(CLAIM_EMAIL, principal.email())
+                .claim(CLAIM_USERNAME, principal.username())
+                .claim(CLAIM_VERSION, principal.tokenVersion())
+                .claim(CLAIM_TYPE, TYPE_ACCESS)
+                .setId(UUID.randomUUID().toString())    // 폐기 목록용 jti
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + accessTokenValidity))
-                .signWith(key)
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenValidity));
+        return keyRing.sign(builder).compact();
     }
 
-    // Refresh 토큰 생성
+    // Refresh 토큰 생성 (jti 로 같은 시각에 발급돼도 토큰이 겹치지 않게 함)
     public String createRefreshToken(String uuid) {
-        long refreshTokenValidity = 1000 * 60 * 60 * 24 * 7; // 7일
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(uuid)
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + refreshTokenValidity))
-                .signWith(key)
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + REFRESH_TOKEN_VALIDITY.toMillis()));
+        return keyRing.sign(builder).compact();
     }
 
-    // AccessToken 검증 후 UUID 반환
-    public String validateTokenAndGetUuid(String token) throws TokenExpiredException, InvalidTokenException {
+    // AccessToken 검증 후 클레임 반환 (한 번 검증된 토큰은 exp 까지 캐시에서 바로 반환)
+    // typ=access 이고 id 클레임이 있는 토큰만 허용 (RefreshToken, id 없는 이전 형식 토큰은 거부)
+    public VerifiedAccessToken verifyAccessToken(String token) throws TokenExpiredException, InvalidTokenException {
+        String digest = digest(token);
+        VerifiedAccessToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getSubject();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (!TYPE_ACCESS.equals(claims.get(CLAIM_TYPE, String.class))
+                    || claims.get(CLAIM_USER_ID, Long.class) == null) {
+                throw new InvalidTokenException("Not an access token");
+            }
+            Integer version = claims.get(CLAIM_VERSION, Integer.class);
+            UserPrincipal principal = new UserPrincipal(
+                    claims.get(CLAIM_USER_ID, Long.class),
+                    claims.getSubject(),
+                    claims.get(CLAIM_EMAIL, String.class),
+                    claims.get(CLAIM_USERNAME, String.class),
+                    version == null ? 0 : version);
+
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return new VerifiedAccessToken(principal, claims.getId(), Long.MAX_VALUE);
+            }
+            VerifiedAccessToken verified = new VerifiedAccessToken(principal, claims.getId(), expiration.getTime());
+            verifiedTokens.put(digest, verified);
+            return verified;
         } catch (ExpiredJwtException e) {
             throw new TokenExpiredException("Access token expired");
         } catch (Exception e) {
@@ -65,14 +139,24 @@ public class JwtTokenProvider {
         }
     }
 
-    // RefreshToken 검증 후 UUID 반환
+    public UserPrincipal validateAccessToken(String token) throws TokenExpiredException, InvalidTokenException {
+        return verifyAccessToken(token).principal();
+    }
+
+    // AccessToken 검증 후 UUID 반환
+    public String validateTokenAndGetUuid(String token) throws TokenExpiredException, InvalidTokenException {
+        return validateAccessToken(token).firebaseId();
+    }
+
+    // RefreshToken 검증 후 UUID 반환 (재발급 때만 쓰이므로 캐시하지 않음)
+    // typ 가 없는 이전 RefreshToken 은 호출 측이 refresh_token 저장소로 확인하므로 허용, AccessToken 은 거부
     public String validateRefreshTokenAndGetUuid(String token) throws TokenExpiredException, InvalidTokenException {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            String type = claims.get(CLAIM_TYPE, String.class);
+            if (type != null && !TYPE_REFRESH.equals(type)) {
+                throw new InvalidTokenException("Not a refresh token");
+            }
             return claims.getSubject();
         } catch (ExpiredJwtException e) {
             throw new TokenExpiredException("Refresh token expired");
@@ -80,4 +164,45 @@ public class JwtTokenProvider {
             throw new InvalidTokenException("Invalid refresh token");
         }
     }
-}
\ No newline at end of file
+
+    // /.well-known/jwks.json 으로 게시할 공개키 목록
+    public List<Map<String, String>> jwks() {
+        return keyRing.jwks();
+    }
+
+    // 로그아웃/탈퇴 시 해당 사용자의 캐시된 토큰 제거 (드물게 호출되므로 전체 순회)
+    public void evictVerifiedTokens(String uuid) {
+        verifiedTokens.asMap().values().removeIf(token -> token.principal().firebaseId().equals(uuid));
+    }
+
+    private static String digest(String token) {
+        try {
+            // MessageDigest 는 스레드 안전하지 않아 호출마다 생성
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 엔트리 수명 = 토큰 exp 까지 남은 시간
+    private static class UntilTokenExpiry implements Expiry<String, VerifiedAccessToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedAccessToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return Math.max(0, remainingMillis) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedAccessToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedAccessToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
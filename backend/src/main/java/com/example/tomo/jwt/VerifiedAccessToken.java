@@ -0,0 +1,12 @@
+package com.example.tomo.jwt;
+
+import com.example.tomo.Users.UserPrincipal;
+
+// 서명 검증이 끝난 AccessToken 의 내용
+// jti 는 폐기 목록 확인용 (jti 가 없는 이전 형식 토큰은 null)
+public record VerifiedAccessToken(
+        UserPrincipal principal,
+        String jti,
+        long expiresAtMillis
+) {
+}
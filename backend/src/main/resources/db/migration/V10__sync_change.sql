@@ -0,0 +1,24 @@
+-- 델타 동기화: 사용자별 변경 버전과 엔티티별 마지막 변경 (SyncService)
+
+-- version: 이 사용자에게 마지막으로 발급한 버전, min_version: 이보다 오래된 since 는 전체 재동기화
+CREATE TABLE IF NOT EXISTS sync_version (
+    user_id     BIGINT NOT NULL,
+    version     BIGINT NOT NULL,
+    min_version BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+-- (사용자, 엔티티) 당 한 행. 다시 바뀌면 같은 행의 버전을 올리므로 이전 변경은 남지 않는다
+CREATE TABLE IF NOT EXISTS sync_change (
+    sync_change_id BIGINT      NOT NULL AUTO_INCREMENT,
+    user_id        BIGINT      NOT NULL,
+    entity_type    VARCHAR(16) NOT NULL,
+    entity_id      BIGINT      NOT NULL,
+    version        BIGINT      NOT NULL,
+    deleted        BIT         NOT NULL,
+    changed_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (sync_change_id),
+    CONSTRAINT uk_sync_change_user_entity UNIQUE (user_id, entity_type, entity_id),
+    CONSTRAINT uk_sync_change_user_version UNIQUE (user_id, version),
+    INDEX idx_sync_change_changed_at (changed_at)
+) ENGINE = InnoDB;
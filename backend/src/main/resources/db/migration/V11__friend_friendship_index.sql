@@ -0,0 +1,4 @@
+-- 친한 친구 순위: 한 사용자의 친구를 점수 순으로 읽는 인덱스 (FriendLeaderboardRepository)
+-- friend 는 관계당 (작은 id, 큰 id) 한 행이라 양쪽 컬럼에 각각 둔다. PK(friend_id) 가 뒤에 붙어 동점 순서까지 인덱스 순서
+CREATE INDEX idx_friend_user_friendship ON friend (user_id, friendship);
+CREATE INDEX idx_friend_friend_user_friendship ON friend (friend_user_id, friendship);
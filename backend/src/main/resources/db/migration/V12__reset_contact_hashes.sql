@@ -0,0 +1,2 @@
+-- 공개 기본 salt 로 만든 연락처 해시 폐기. 배포 환경의 contact.hash-salt 로 ContactHashBackfill 이 다시 채운다
+UPDATE users SET email_hash = NULL, phone_hash = NULL;
@@ -0,0 +1,4 @@
+-- 친구 목록 날짜순 keyset 페이지 (FriendListRepository): 양쪽 컬럼에서 각각 created_at 순으로 읽는 인덱스
+-- PK(friend_id) 가 뒤에 붙어 같은 날짜 안의 순서까지 인덱스 순서
+CREATE INDEX idx_friend_user_created ON friend (user_id, created_at);
+CREATE INDEX idx_friend_friend_user_created ON friend (friend_user_id, created_at);
@@ -0,0 +1,3 @@
+-- 친구 관계별 공통 모임 수 (모임 변경 시 증분 유지, NULL 이면 아직 집계 전 → 점수 작업이 다시 셈)
+ALTER TABLE friend
+    ADD COLUMN common_moim_count INT NULL;
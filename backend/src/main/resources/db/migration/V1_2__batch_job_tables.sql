@@ -0,0 +1,16 @@
+-- 배치 작업 체크포인트 (중단된 작업을 마지막 처리 id 다음부터 이어서 실행)
+CREATE TABLE job_checkpoint (
+    job_name   VARCHAR(255) NOT NULL,
+    last_id    BIGINT       NOT NULL,
+    updated_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (job_name)
+) ENGINE = InnoDB;
+
+-- 스케줄 작업 리스 (여러 인스턴스 중 하나만 실행)
+CREATE TABLE scheduler_lease (
+    name            VARCHAR(255) NOT NULL,
+    owner           VARCHAR(255),
+    lease_until     DATETIME(6)  NOT NULL,
+    last_success_at DATETIME(6),
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
@@ -0,0 +1,55 @@
+-- Flyway 도입 전 엔티티 기준 초기 스키마 (이후 추가된 컬럼/테이블은 V1_1 부터 별도 마이그레이션)
+-- 기존 DB(ddl-auto 로 생성된 테이블)에서는 아무 것도 하지 않도록 IF NOT EXISTS 사용
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id       BIGINT       NOT NULL AUTO_INCREMENT,
+    firebase_id   VARCHAR(255) NOT NULL,
+    username      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    phone         VARCHAR(255) NOT NULL,
+    refresh_token VARCHAR(255) NOT NULL,
+    invite_code   VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS moim (
+    moim_id     BIGINT       NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255),
+    description LONGTEXT,
+    created_at  DATE,
+    PRIMARY KEY (moim_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS moim_people (
+    id      BIGINT NOT NULL AUTO_INCREMENT,
+    moim_id BIGINT,
+    user_id BIGINT,
+    leader  BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_moim_people_moim FOREIGN KEY (moim_id) REFERENCES moim (moim_id),
+    CONSTRAINT fk_moim_people_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS friend (
+    friend_id         BIGINT NOT NULL AUTO_INCREMENT,
+    user_id           BIGINT,
+    friend_user_id    BIGINT,
+    m_score           INT,
+    b_score           INT,
+    friendship        INT,
+    created_at        DATE,
+    PRIMARY KEY (friend_id),
+    CONSTRAINT fk_friend_user FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT fk_friend_friend_user FOREIGN KEY (friend_user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS promise (
+    promise_id   BIGINT NOT NULL AUTO_INCREMENT,
+    moim_id      BIGINT,
+    location     VARCHAR(255),
+    promise_time TIME(6),
+    promise_date DATE,
+    promise_name VARCHAR(255),
+    PRIMARY KEY (promise_id),
+    CONSTRAINT fk_promise_moim FOREIGN KEY (moim_id) REFERENCES moim (moim_id)
+) ENGINE = InnoDB;
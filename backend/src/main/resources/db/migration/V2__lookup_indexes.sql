@@ -0,0 +1,43 @@
+-- 조회 경로별 인덱스와 유니크 제약
+-- 유니크 제약을 걸기 전에 중복 행을 정리한다 (users 는 참조가 많아 자동 정리하지 않음, 중복이 있으면 마이그레이션 실패)
+
+-- friend: 같은 (user_id, friend_user_id) 중 가장 먼저 생성된 행만 유지
+DELETE f1
+FROM friend f1
+JOIN friend f2
+    ON f1.user_id = f2.user_id
+   AND f1.friend_user_id = f2.friend_user_id
+   AND f1.friend_id > f2.friend_id;
+
+-- moim_people: 같은 (moim_id, user_id) 중 가장 먼저 생성된 행만 유지, 리더 여부는 보존
+UPDATE moim_people mp
+JOIN (
+    SELECT MIN(id) AS keep_id, MAX(leader) AS any_leader
+    FROM moim_people
+    GROUP BY moim_id, user_id
+    HAVING COUNT(*) > 1
+) d ON mp.id = d.keep_id
+SET mp.leader = d.any_leader;
+
+DELETE mp1
+FROM moim_people mp1
+JOIN moim_people mp2
+    ON mp1.moim_id = mp2.moim_id
+   AND mp1.user_id = mp2.user_id
+   AND mp1.id > mp2.id;
+
+-- users: 로그인/토큰 재발급(firebase_id), 친구 추가/모임 초대(email), 초대 코드 조회(invite_code)
+-- invite_code 는 아직 UID 뒤 4자리로 만들어져 충돌할 수 있으므로 일반 인덱스
+CREATE UNIQUE INDEX uk_users_firebase_id ON users (firebase_id);
+CREATE UNIQUE INDEX uk_users_email ON users (email);
+CREATE INDEX idx_users_invite_code ON users (invite_code);
+
+-- friend: 친구 여부 확인 및 user_id 기준 목록 조회
+CREATE UNIQUE INDEX uk_friend_user_friend ON friend (user_id, friend_user_id);
+
+-- moim_people: 모임 멤버 조회 및 중복 참여 방지
+CREATE UNIQUE INDEX uk_moim_people_moim_user ON moim_people (moim_id, user_id);
+
+-- promise: 모임별 같은 날짜/시간 약속 확인, 이름으로 약속 조회
+CREATE INDEX idx_promise_moim_date_time ON promise (moim_id, promise_date, promise_time);
+CREATE INDEX idx_promise_name ON promise (promise_name);
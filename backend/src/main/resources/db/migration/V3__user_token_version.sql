@@ -0,0 +1,3 @@
+-- 프로필 변경 시 증가, AccessToken 의 ver 클레임과 다르면 오래된 토큰으로 거절
+ALTER TABLE users
+    ADD COLUMN token_version INT NOT NULL DEFAULT 0;
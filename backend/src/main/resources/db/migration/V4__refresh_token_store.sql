@@ -0,0 +1,28 @@
+-- RefreshToken 을 users 에서 분리: 기기별 행, SHA-256 digest 로 조회, 회전 family 추적
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+    refresh_token_id BIGINT      NOT NULL AUTO_INCREMENT,
+    token_hash       CHAR(64)    NOT NULL,
+    user_id          BIGINT      NOT NULL,
+    family_id        VARCHAR(36) NOT NULL,
+    created_at       DATETIME(6) NOT NULL,
+    expires_at       DATETIME(6) NOT NULL,
+    last_used_at     DATETIME(6),
+    rotated_at       DATETIME(6),
+    revoked_at       DATETIME(6),
+    PRIMARY KEY (refresh_token_id),
+    CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash),
+    INDEX idx_refresh_token_family (family_id),
+    INDEX idx_refresh_token_user (user_id),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+) ENGINE = InnoDB;
+
+-- 기존 로그인 세션 유지: users.refresh_token 을 digest 로 옮긴다 (만료는 이관 시점 + 7일)
+INSERT IGNORE INTO refresh_token (token_hash, user_id, family_id, created_at, expires_at)
+SELECT SHA2(refresh_token, 256), user_id, UUID(), NOW(6), NOW(6) + INTERVAL 7 DAY
+FROM users
+WHERE refresh_token IS NOT NULL AND refresh_token <> '';
+
+-- 더 이상 쓰지 않는 컬럼 (롤백 대비로 남겨 두고 NULL 허용)
+ALTER TABLE users
+    MODIFY refresh_token VARCHAR(255) NULL;
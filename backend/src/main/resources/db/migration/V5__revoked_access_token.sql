@@ -0,0 +1,9 @@
+-- 만료 전에 폐기된 AccessToken 의 jti (로그아웃). 각 인스턴스가 메모리에 올려 요청마다 확인
+CREATE TABLE IF NOT EXISTS revoked_access_token (
+    jti        VARCHAR(36) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (jti),
+    INDEX idx_revoked_access_token_revoked_at (revoked_at),
+    INDEX idx_revoked_access_token_expires_at (expires_at)
+) ENGINE = InnoDB;
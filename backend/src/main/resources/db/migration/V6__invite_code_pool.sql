@@ -0,0 +1,24 @@
+-- 미리 만들어 둔 초대 코드 (Crockford base32 8자리). 인스턴스가 묶음으로 가져가 메모리에서 하나씩 꺼내 쓴다
+CREATE TABLE IF NOT EXISTS invite_code_pool (
+    code       VARCHAR(16) NOT NULL,
+    claimed_by VARCHAR(36),
+    PRIMARY KEY (code),
+    INDEX idx_invite_code_pool_claimed_by (claimed_by)
+) ENGINE = InnoDB;
+
+-- 앱은 여전히 "TOMO-" + UID 뒤 4자리를 초대 코드로 보여주므로 별도 컬럼으로 보관해 계속 조회 가능하게 한다
+ALTER TABLE users
+    ADD COLUMN legacy_invite_code VARCHAR(16) NULL;
+
+UPDATE users
+SET legacy_invite_code = invite_code;
+
+-- 기존 코드는 서로 겹칠 수 있어 user_id 기반 코드로 교체
+-- ('U' 는 Crockford base32 에 없는 문자라 풀에서 나오는 코드와 겹치지 않음)
+UPDATE users
+SET invite_code = CONCAT('U', LPAD(CONV(user_id, 10, 32), 7, '0'));
+
+ALTER TABLE users
+    DROP INDEX idx_users_invite_code,
+    ADD CONSTRAINT uk_users_invite_code UNIQUE (invite_code),
+    ADD INDEX idx_users_legacy_invite_code (legacy_invite_code);
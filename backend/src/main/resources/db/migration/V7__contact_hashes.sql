@@ -0,0 +1,6 @@
+-- 연락처 일괄 매칭용 해시 (SHA-256(salt + 정규화한 값), hex). 기존 행은 ContactHashBackfill 이 채운다
+ALTER TABLE users
+    ADD COLUMN email_hash CHAR(64) NULL,
+    ADD COLUMN phone_hash CHAR(64) NULL,
+    ADD INDEX idx_users_email_hash (email_hash),
+    ADD INDEX idx_users_phone_hash (phone_hash);
@@ -0,0 +1,25 @@
+-- 알 수도 있는 사람: 사용자별 상위 K 명 후보 (FriendSuggestionService 가 미리 계산)
+CREATE TABLE IF NOT EXISTS friend_suggestion (
+    friend_suggestion_id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id              BIGINT NOT NULL,
+    candidate_id         BIGINT NOT NULL,
+    score                INT    NOT NULL,
+    common_moim_count    INT    NOT NULL,
+    mutual_friend_count  INT    NOT NULL,
+    PRIMARY KEY (friend_suggestion_id),
+    CONSTRAINT uk_friend_suggestion_user_candidate UNIQUE (user_id, candidate_id),
+    INDEX idx_friend_suggestion_user_score (user_id, score),
+    INDEX idx_friend_suggestion_candidate (candidate_id)
+) ENGINE = InnoDB;
+
+-- 모임/친구 관계가 바뀌어 후보를 다시 계산해야 하는 사용자
+CREATE TABLE IF NOT EXISTS friend_suggestion_dirty (
+    user_id   BIGINT      NOT NULL,
+    marked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+-- 처음 한 번은 모든 사용자를 계산 (갱신 작업이 묶음 단위로 처리)
+INSERT INTO friend_suggestion_dirty (user_id, marked_at)
+SELECT user_id, NOW(6)
+FROM users;
@@ -0,0 +1,20 @@
+-- friend: 친구 관계 하나를 (작은 id, 큰 id) 행 하나로 저장 (user_id < friend_user_id)
+-- 점수와 공통 모임 수는 두 방향이 같으므로 정방향 행만 남겨도 값이 보존된다
+
+-- 정방향 행 없이 역방향 행만 있는 관계는 정방향으로 다시 넣는다
+INSERT INTO friend (user_id, friend_user_id, m_score, b_score, friendship, common_moim_count, created_at)
+SELECT r.friend_user_id, r.user_id, r.m_score, r.b_score, r.friendship, r.common_moim_count, r.created_at
+FROM friend r
+LEFT JOIN friend c
+    ON c.user_id = r.friend_user_id
+   AND c.friend_user_id = r.user_id
+WHERE r.user_id > r.friend_user_id
+  AND c.friend_id IS NULL;
+
+-- 역방향 행과 자기 자신과의 행 삭제
+DELETE FROM friend WHERE user_id >= friend_user_id;
+
+-- friend_user_id 쪽 친구 목록 조회 (user_id 쪽은 uk_friend_user_friend)
+CREATE INDEX idx_friend_friend_user_user ON friend (friend_user_id, user_id);
+
+ALTER TABLE friend ADD CONSTRAINT chk_friend_canonical_pair CHECK (user_id < friend_user_id);
@@ -0,0 +1,104 @@
+package com.example.tomo.Auth;
+
+import com.example.tomo.global.Auth.AccessTokenRevocationList;
+import com.example.tomo.global.Auth.JtiBloomFilter;
+import com.example.tomo.global.Auth.RevokedAccessToken;
+import com.example.tomo.global.Auth.RevokedAccessTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenRevocationListTest {
+
+    @Mock
+    RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    AccessTokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new AccessTokenRevocationList(revokedAccessTokenRepository, 1000);
+    }
+
+    private RevokedAccessToken row(String jti, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        RevokedAccessToken row = new RevokedAccessToken();
+        ReflectionTestUtils.setField(row, "jti", jti);
+        ReflectionTestUtils.setField(row, "expiresAt", expiresAt);
+        ReflectionTestUtils.setField(row, "revokedAt", revokedAt);
+        return row;
+    }
+
+    @Test
+    void revoke_shouldPersistAndRejectImmediately() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        revocationList.revoke("jti-1", expiresAt);
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+        verify(revokedAccessTokenRepository).insertIfAbsent(eq("jti-1"), any());
+    }
+
+    @Test
+    void load_shouldRestoreUnexpiredRevocations() {
+        LocalDateTime now = LocalDateTime.now();
+        when(revokedAccessTokenRepository.findAllByExpiresAtAfter(any()))
+                .thenReturn(List.of(row("jti-1", now.plusMinutes(30), now)));
+
+        revocationList.load();
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void poll_shouldPickUpRevocationsFromOtherInstances() {
+        LocalDateTime now = LocalDateTime.now();
+        when(revokedAccessTokenRepository.findAllByRevokedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(row("jti-remote", now.plusMinutes(30), now)));
+
+        revocationList.poll();
+
+        assertThat(revocationList.isRevoked("jti-remote")).isTrue();
+    }
+
+    @Test
+    void prune_shouldDropExpiredEntries() throws InterruptedException {
+        revocationList.revoke("jti-short", System.currentTimeMillis() + 50);
+        revocationList.revoke("jti-long", System.currentTimeMillis() + 60_000);
+        Thread.sleep(100);
+
+        revocationList.prune();
+
+        assertThat(revocationList.isRevoked("jti-short")).isFalse();
+        assertThat(revocationList.isRevoked("jti-long")).isTrue();
+        verify(revokedAccessTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void bloomFilter_shouldNeverMissInsertedJti() {
+        JtiBloomFilter filter = new JtiBloomFilter(10_000, 0.01);
+        List<String> inserted = IntStream.range(0, 10_000)
+                .mapToObj(i -> UUID.randomUUID().toString()).toList();
+        inserted.forEach(filter::put);
+
+        assertThat(inserted).allMatch(filter::mightContain);
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.tomo.Auth;
+
+import com.example.tomo.global.Auth.RefreshToken;
+import com.example.tomo.global.Auth.RefreshTokenRepository;
+import com.example.tomo.global.Auth.RefreshTokenStore;
+import com.example.tomo.global.Auth.RefreshTokenUsageBuffer;
+import com.example.tomo.global.Exception.InvalidTokenException;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenStoreTest {
+
+    static final Duration VALIDITY = Duration.ofDays(7);
+
+    @Mock
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    RefreshTokenUsageBuffer usageBuffer;
+
+    @InjectMocks
+    RefreshTokenStore refreshTokenStore;
+
+    private RefreshToken stored(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = new RefreshToken("hash", userId, "family-1", now, now.plusDays(7));
+        ReflectionTestUtils.setField(token, "id", 10L);
+        return token;
+    }
+
+    @Test
+    void issue_shouldStoreDigestInNewFamily() {
+        refreshTokenStore.issue(1L, "token", VALIDITY);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash()).hasSize(64).isNotEqualTo("token");
+        assertThat(saved.getValue().getUserId()).isEqualTo(1L);
+        assertThat(saved.getValue().getFamilyId()).isNotBlank();
+    }
+
+    @Test
+    void rotate_shouldMarkRotatedAndKeepFamily() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(1L)));
+        when(refreshTokenRepository.markRotated(eq(10L), any())).thenReturn(1);
+
+        refreshTokenStore.rotate(1L, "old", "new", VALIDITY);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo("family-1");
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void rotate_shouldRevokeFamily_whenTokenReused() {
+        RefreshToken rotated = stored(1L);
+        ReflectionTestUtils.setField(rotated, "rotatedAt", LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(rotated));
+
+        assertThatThrownBy(() -> refreshTokenStore.rotate(1L, "old", "new", VALIDITY))
+                .isInstanceOf(InvalidTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_shouldRevokeFamily_whenConcurrentRotationWins() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(1L)));
+        when(refreshTokenRepository.markRotated(eq(10L), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenStore.rotate(1L, "old", "new", VALIDITY))
+                .isInstanceOf(InvalidTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+    }
+
+    @Test
+    void rotate_shouldThrow_whenTokenBelongsToAnotherUser() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(2L)));
+
+        assertThatThrownBy(() -> refreshTokenStore.rotate(1L, "old", "new", VALIDITY))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void isActive_shouldBufferLastUsed() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(1L)));
+
+        assertThat(refreshTokenStore.isActive("token")).isTrue();
+
+        verify(usageBuffer).record(eq(10L), any());
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.tomo.Batch;
+
+import com.example.tomo.TestcontainersConfig;
+import com.example.tomo.global.Batch.LeaseManager;
+import com.example.tomo.global.Batch.SchedulerLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 같은 DB 를 바라보는 두 인스턴스(node-a, node-b)가 작업을 중복 실행하지 않는지 검증
+// 리스 상태는 DB 에만 있으므로 LeaseManager 두 개로 두 애플리케이션 인스턴스를 대신한다
+// 리스 만료는 DB 시각 기준이라 lease_until 을 직접 과거로 돌려 만료시키고, clock 은 성공 기록에만 쓰인다
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchedulerLeaseTest {
+
+    static final String JOB = "test-job";
+    static final Duration TTL = Duration.ofMinutes(5);
+
+    @Autowired
+    SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    MutableClock clock;
+    LeaseManager nodeA;
+    LeaseManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository.deleteAll();
+        clock = new MutableClock(LocalDateTime.of(2025, 1, 1, 0, 0));
+        nodeA = new LeaseManager(leaseRepository, "node-a", TTL, clock, null);
+        nodeB = new LeaseManager(leaseRepository, "node-b", TTL, clock, null);
+    }
+
+    @Test
+    void concurrentAcquire_shouldElectExactlyOneOwner() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = List.of(
+                    executor.submit(() -> { start.await(); return nodeA.tryAcquire(JOB); }),
+                    executor.submit(() -> { start.await(); return nodeB.tryAcquire(JOB); }));
+            start.countDown();
+
+            long winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void renew_shouldKeepLeaseAndFailoverAfterExpiry() {
+        assertThat(nodeA.tryAcquire(JOB)).isTrue();
+
+        // 리스 기간 안에 연장하면 다른 노드는 획득 불가 (연장은 DB 시각 + TTL)
+        expireIn(Duration.ofSeconds(10));
+        assertThat(nodeA.renew(JOB)).isTrue();
+        assertThat(leaseRemaining()).isGreaterThan(TTL.minusMinutes(1));
+        assertThat(nodeB.tryAcquire(JOB)).isFalse();
+
+        // node-a 가 연장하지 못하고 만료되면 node-b 가 넘겨받고, node-a 의 연장은 실패
+        expireIn(Duration.ofSeconds(-1));
+        assertThat(nodeB.tryAcquire(JOB)).isTrue();
+        assertThat(nodeA.renew(JOB)).isFalse();
+    }
+
+    @Test
+    void tryAcquire_shouldIgnoreInstanceClockSkew() {
+        // 인스턴스 시계가 TTL 보다 크게 앞서 있어도 DB 시각으로는 아직 리스 기간
+        MutableClock skewed = new MutableClock(LocalDateTime.now().plus(TTL).plusHours(1));
+        LeaseManager nodeAhead = new LeaseManager(leaseRepository, "node-ahead", TTL, skewed, null);
+
+        assertThat(nodeA.tryAcquire(JOB)).isTrue();
+        assertThat(nodeAhead.tryAcquire(JOB)).isFalse();
+    }
+
+    @Test
+    void runExclusively_shouldRunOncePerSlotAcrossNodes() {
+        AtomicInteger runs = new AtomicInteger();
+        LocalDateTime slot = clock.now().toLocalDate().atStartOfDay();
+
+        assertThat(nodeA.runExclusively(JOB, slot, heartbeat -> runs.incrementAndGet() > 0)).isTrue();
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(nodeB.runExclusively(JOB, slot, heartbeat -> runs.incrementAndGet() > 0)).isFalse();
+        assertThat(nodeA.runExclusively(JOB, slot, heartbeat -> runs.incrementAndGet() > 0)).isFalse();
+
+        assertThat(runs).hasValue(1);
+        assertThat(nodeB.lagSinceLastSuccess(JOB)).contains(Duration.ofMinutes(10));
+
+        // 다음 날 슬롯은 다시 한 번 실행
+        clock.advance(Duration.ofDays(1));
+        LocalDateTime nextSlot = clock.now().toLocalDate().atStartOfDay();
+        assertThat(nodeB.runExclusively(JOB, nextSlot, heartbeat -> runs.incrementAndGet() > 0)).isTrue();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void runExclusively_shouldRetryOnOtherNodeWhenLeaseLost() {
+        AtomicInteger runs = new AtomicInteger();
+        LocalDateTime slot = clock.now().toLocalDate().atStartOfDay();
+
+        // node-a 실행 중 리스가 만료되어 node-b 가 가져감 → node-a 는 미완료로 종료
+        boolean completedByA = nodeA.runExclusively(JOB, slot, heartbeat -> {
+            runs.incrementAndGet();
+            expireIn(Duration.ofSeconds(-1));
+            assertThat(nodeB.tryAcquire(JOB)).isTrue();
+            return heartbeat.getAsBoolean();
+        });
+        assertThat(completedByA).isFalse();
+        assertThat(nodeA.lagSinceLastSuccess(JOB)).isEmpty();
+
+        // node-a 의 release 는 node-b 의 리스를 건드리지 않는다
+        assertThat(nodeA.tryAcquire(JOB)).isFalse();
+        nodeB.release(JOB);
+
+        assertThat(nodeB.runExclusively(JOB, slot, heartbeat -> runs.incrementAndGet() > 0)).isTrue();
+        assertThat(runs).hasValue(2);
+    }
+
+    // lease_until 을 DB 시각 기준 after 뒤로 설정 (음수면 이미 만료)
+    private void expireIn(Duration after) {
+        jdbcTemplate.update("UPDATE scheduler_lease SET lease_until = NOW(6) + INTERVAL ? SECOND WHERE name = ?",
+                after.toSeconds(), JOB);
+    }
+
+    private Duration leaseRemaining() {
+        Long millis = jdbcTemplate.queryForObject(
+                "SELECT TIMESTAMPDIFF(MICROSECOND, NOW(6), lease_until) DIV 1000 FROM scheduler_lease WHERE name = ?",
+                Long.class, JOB);
+        return Duration.ofMillis(millis == null ? 0 : millis);
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDateTime start) {
+            this.instant = start.atZone(ZoneId.systemDefault()).toInstant();
+        }
+
+        LocalDateTime now() {
+            return LocalDateTime.now(this);
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
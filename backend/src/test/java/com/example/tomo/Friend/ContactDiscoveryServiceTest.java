@@ -0,0 +1,128 @@
+package com.example.tomo.Friend;
+
+import com.example.tomo.Friends.ContactDiscoveryService;
+import com.example.tomo.Users.ContactHashRepository;
+import com.example.tomo.Users.ContactHashRepository.ContactMatchRow;
+import com.example.tomo.Users.dtos.ResponseContactMatchDto;
+import com.example.tomo.global.Exception.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactDiscoveryServiceTest {
+
+    @Mock
+    ContactHashRepository contactHashRepository;
+
+    ContactDiscoveryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ContactDiscoveryService(contactHashRepository, new ObjectMapper(), 1000, 3, 1200);
+    }
+
+    private static String hash(int i) {
+        return String.format("%064x", i);
+    }
+
+    private static InputStream body(List<String> hashes) {
+        String json = hashes.stream().map(h -> "\"" + h + "\"").collect(Collectors.joining(",", "[", "]"));
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void discover_shouldQueryInChunksAndSkipDuplicates() throws Exception {
+        List<String> hashes = new ArrayList<>(IntStream.range(0, 700).mapToObj(ContactDiscoveryServiceTest::hash).toList());
+        hashes.add(hash(3).toUpperCase());
+        // 조회 후 같은 Set 을 비워 재사용하므로 호출 시점의 크기를 기록
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(contactHashRepository.findMatches(anyCollection())).thenAnswer(invocation -> {
+            chunkSizes.add(invocation.<Collection<String>>getArgument(0).size());
+            return List.of();
+        });
+
+        service.discover(1L, body(hashes));
+
+        assertThat(chunkSizes).containsExactly(500, 200);
+    }
+
+    @Test
+    void discover_shouldReturnMatchesExceptSelf() throws Exception {
+        when(contactHashRepository.findMatches(anyCollection())).thenReturn(List.of(
+                new ContactMatchRow(1L, new ResponseContactMatchDto(hash(1), "me")),
+                new ContactMatchRow(2L, new ResponseContactMatchDto(hash(2), "john"))));
+
+        List<ResponseContactMatchDto> result = service.discover(1L, body(List.of(hash(1), hash(2), hash(3))));
+
+        assertThat(result).containsExactly(new ResponseContactMatchDto(hash(2), "john"));
+    }
+
+    @Test
+    void discover_shouldRejectMalformedHash() {
+        assertThatThrownBy(() -> service.discover(1L, body(List.of("not-a-hash"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(contactHashRepository);
+    }
+
+    @Test
+    void discover_shouldRejectNonArrayBody() {
+        InputStream body = new ByteArrayInputStream("{\"hashes\":[]}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> service.discover(1L, body))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void discover_shouldRejectTooManyHashes() {
+        when(contactHashRepository.findMatches(anyCollection())).thenReturn(List.of());
+        List<String> hashes = IntStream.range(0, 1001).mapToObj(ContactDiscoveryServiceTest::hash).toList();
+
+        assertThatThrownBy(() -> service.discover(1L, body(hashes)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1000");
+    }
+
+    @Test
+    void discover_shouldLimitRequestsPerUser() throws Exception {
+        when(contactHashRepository.findMatches(anyCollection())).thenReturn(List.of());
+        for (int i = 0; i < 3; i++) {
+            service.discover(1L, body(List.of(hash(i))));
+        }
+
+        assertThatThrownBy(() -> service.discover(1L, body(List.of(hash(9)))))
+                .isInstanceOf(RateLimitExceededException.class);
+        // 다른 사용자는 영향 없음
+        service.discover(2L, body(List.of(hash(9))));
+        verify(contactHashRepository, times(4)).findMatches(anyCollection());
+    }
+
+    @Test
+    void discover_shouldLimitHashesPerDay() throws Exception {
+        when(contactHashRepository.findMatches(anyCollection())).thenReturn(List.of());
+        service.discover(1L, body(IntStream.range(0, 1000).mapToObj(ContactDiscoveryServiceTest::hash).toList()));
+
+        // 하루 1200 건 중 1000 건 사용 → 500 건 chunk 는 거부
+        List<String> next = IntStream.range(1000, 1500).mapToObj(ContactDiscoveryServiceTest::hash).toList();
+        assertThatThrownBy(() -> service.discover(1L, body(next)))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("1200");
+        verify(contactHashRepository, times(2)).findMatches(anyCollection());
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.tomo.Friend;
+
+import com.example.tomo.Friends.FriendBatchRepository;
+import com.example.tomo.Friends.FriendBatchRepository.NewFriendship;
+import com.example.tomo.Friends.FriendBatchRepository.UserKeyRow;
+import com.example.tomo.Friends.FriendBatchService;
+import com.example.tomo.Friends.FriendBatchStatus;
+import com.example.tomo.Friends.FriendGraph;
+import com.example.tomo.Friends.FriendLeaderboardService;
+import com.example.tomo.Friends.FriendShipPolicy;
+import com.example.tomo.Friends.FriendSuggestionService;
+import com.example.tomo.Friends.dtos.ResponseFriendBatchItemDto;
+import com.example.tomo.Sync.SyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FriendBatchServiceTest {
+
+    @Mock
+    FriendBatchRepository friendBatchRepository;
+
+    @Mock
+    FriendGraph friendGraph;
+
+    @Mock
+    FriendSuggestionService friendSuggestionService;
+
+    @Mock
+    SyncService syncService;
+
+    @Mock
+    FriendLeaderboardService friendLeaderboardService;
+
+    FriendBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FriendBatchService(friendBatchRepository, new FriendShipPolicy(), friendGraph,
+                friendSuggestionService, syncService, friendLeaderboardService, 5);
+    }
+
+    @Test
+    void addFriends_shouldReportPerItemAndInsertOnlyNewFriendsInOneBatch() {
+        // 요청 값 그대로 조회하고 (collation 이 대소문자 무시) 결과는 대소문자 무시로 매핑
+        when(friendBatchRepository.findUsersByKeys(Set.of("A@test.com", "me@test.com", "none@test.com"),
+                Set.of("code0003", "CODE0002"), Set.of()))
+                .thenReturn(List.of(
+                        new UserKeyRow(2L, "a@test.com", "CODE0002", null),
+                        new UserKeyRow(3L, "b@test.com", "CODE0003", null),
+                        new UserKeyRow(1L, "me@test.com", "CODE0001", null)));
+        when(friendBatchRepository.findFriendIdsAmong(1L, List.of(2L, 3L))).thenReturn(Set.of(3L));
+        when(friendBatchRepository.countCommonMoims(1L, List.of(2L))).thenReturn(Map.of(2L, 2));
+        when(friendBatchRepository.insertFriendships(eq(1L), anyList(), any(LocalDate.class))).thenReturn(1);
+
+        List<ResponseFriendBatchItemDto> result = service.addFriends(1L,
+                List.of("A@test.com", "code0003", "CODE0002", "me@test.com", "none@test.com"));
+
+        assertThat(result).extracting(ResponseFriendBatchItemDto::status).containsExactly(
+                FriendBatchStatus.ADDED,
+                FriendBatchStatus.ALREADY_FRIEND,
+                FriendBatchStatus.DUPLICATE,
+                FriendBatchStatus.SELF,
+                FriendBatchStatus.NOT_FOUND);
+        assertThat(result.get(0).query()).isEqualTo("A@test.com");
+        verify(friendBatchRepository).insertFriendships(eq(1L), eq(List.of(new NewFriendship(2L, 2, 10))),
+                any(LocalDate.class));
+        verify(friendGraph).addFriendship(1L, 2L);
+        verify(friendSuggestionService).onFriendshipsChanged(1L, List.of(2L));
+        verify(syncService).recordFriendsChanged(1L, List.of(2L), false);
+        verify(friendLeaderboardService).onFriendshipsChanged(1L, List.of(2L));
+        // 모두 저장됐으면 다시 확인하지 않는다
+        verify(friendBatchRepository, times(1)).findFriendIdsAmong(anyLong(), anyList());
+    }
+
+    @Test
+    void addFriends_shouldReportRowsSkippedByConcurrentInsertAsAlreadyFriend() {
+        when(friendBatchRepository.findUsersByKeys(Set.of("a@test.com", "b@test.com"), Set.of(), Set.of()))
+                .thenReturn(List.of(
+                        new UserKeyRow(2L, "a@test.com", "CODE0002", null),
+                        new UserKeyRow(3L, "b@test.com", "CODE0003", null)));
+        when(friendBatchRepository.findFriendIdsAmong(1L, List.of(2L, 3L)))
+                // 처음 확인할 때는 둘 다 친구 아님, INSERT 뒤에는 이 요청이 넣은 2만 보인다
+                .thenReturn(Set.of())
+                .thenReturn(Set.of(2L));
+        when(friendBatchRepository.countCommonMoims(1L, List.of(2L, 3L))).thenReturn(Map.of());
+        // 3 과의 관계는 다른 요청이 먼저 만들어 IGNORE 로 건너뜀
+        when(friendBatchRepository.insertFriendships(eq(1L), anyList(), any(LocalDate.class))).thenReturn(1);
+
+        List<ResponseFriendBatchItemDto> result = service.addFriends(1L, List.of("a@test.com", "b@test.com"));
+
+        assertThat(result).extracting(ResponseFriendBatchItemDto::status)
+                .containsExactly(FriendBatchStatus.ADDED, FriendBatchStatus.ALREADY_FRIEND);
+        verify(friendGraph).addFriendship(1L, 2L);
+        verify(friendGraph, never()).addFriendship(1L, 3L);
+        verify(friendSuggestionService).onFriendshipsChanged(1L, List.of(2L));
+        verify(syncService).recordFriendsChanged(1L, List.of(2L), false);
+        verify(friendLeaderboardService).onFriendshipsChanged(1L, List.of(2L));
+    }
+
+    @Test
+    void addFriends_shouldMarkSharedLegacyCodeAmbiguousAndBlankInvalid() {
+        when(friendBatchRepository.findUsersByKeys(Set.of(), Set.of(), Set.of("TOMO-abcd")))
+                .thenReturn(List.of(
+                        new UserKeyRow(2L, "a@test.com", "CODE0002", "TOMO-abcd"),
+                        new UserKeyRow(3L, "b@test.com", "CODE0003", "TOMO-abcd")));
+
+        List<ResponseFriendBatchItemDto> result = service.addFriends(1L, Arrays.asList("TOMO-abcd", " ", null));
+
+        assertThat(result).extracting(ResponseFriendBatchItemDto::status).containsExactly(
+                FriendBatchStatus.AMBIGUOUS, FriendBatchStatus.INVALID, FriendBatchStatus.INVALID);
+        verify(friendBatchRepository, never()).insertFriendships(anyLong(), anyList(), any());
+        verifyNoInteractions(friendGraph, friendSuggestionService, syncService, friendLeaderboardService);
+    }
+
+    @Test
+    void removeFriends_shouldDeleteOnlyExistingFriendsInOneStatement() {
+        when(friendBatchRepository.findUsersByKeys(Set.of("a@test.com", "b@test.com"), Set.of(), Set.of()))
+                .thenReturn(List.of(
+                        new UserKeyRow(2L, "a@test.com", "CODE0002", null),
+                        new UserKeyRow(3L, "b@test.com", "CODE0003", null)));
+        when(friendBatchRepository.findFriendIdsAmong(1L, List.of(2L, 3L))).thenReturn(Set.of(2L));
+
+        List<ResponseFriendBatchItemDto> result = service.removeFriends(1L, List.of("a@test.com", "b@test.com"));
+
+        assertThat(result).extracting(ResponseFriendBatchItemDto::status)
+                .containsExactly(FriendBatchStatus.REMOVED, FriendBatchStatus.NOT_FRIEND);
+        verify(friendBatchRepository).deleteFriendships(1L, List.of(2L));
+        verify(friendGraph).removeFriendship(1L, 2L);
+        verify(friendSuggestionService).onFriendshipsChanged(1L, List.of(2L));
+        verify(syncService).recordFriendsChanged(1L, List.of(2L), true);
+        verify(friendLeaderboardService).onFriendshipsChanged(1L, List.of(2L));
+    }
+
+    @Test
+    void addFriends_shouldRejectEmptyOrOversizedRequest() {
+        assertThatThrownBy(() -> service.addFriends(1L, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.addFriends(1L, Collections.nCopies(6, "a@test.com")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("최대 5명");
+        verifyNoInteractions(friendBatchRepository);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.tomo.Friend;
+
+import com.example.tomo.Friends.FriendGraph;
+import com.example.tomo.Friends.FriendGraphRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FriendGraphTest {
+
+    @Mock
+    FriendGraphRepository repository;
+
+    SimpleMeterRegistry meterRegistry;
+    FriendGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        graph = new FriendGraph(repository, meterRegistry);
+    }
+
+    // FriendGraphRepository 처럼 (작은 id, 큰 id) 행을 정방향 순서로 한 번, 역방향 순서로 한 번 전달
+    private void givenEdges(long[]... pairs) {
+        doAnswer(invocation -> {
+            FriendGraphRepository.EdgeConsumer consumer = invocation.getArgument(0);
+            List<long[]> forward = new ArrayList<>();
+            List<long[]> reverse = new ArrayList<>();
+            for (long[] pair : pairs) {
+                long low = Math.min(pair[0], pair[1]);
+                long high = Math.max(pair[0], pair[1]);
+                forward.add(new long[]{low, high});
+                reverse.add(new long[]{high, low});
+            }
+            Comparator<long[]> order = Comparator.<long[]>comparingLong(row -> row[0]).thenComparingLong(row -> row[1]);
+            forward.sort(order);
+            reverse.sort(order);
+            forward.forEach(row -> consumer.accept(row[0], row[1]));
+            reverse.forEach(row -> consumer.accept(row[0], row[1]));
+            return null;
+        }).when(repository).forEachEdge(any());
+    }
+
+    @Test
+    void rebuild_shouldLoadSortedAdjacencyAndCountMutualFriends() {
+        givenEdges(new long[]{1, 2}, new long[]{1, 3}, new long[]{1, 4}, new long[]{5, 2}, new long[]{5, 4}, new long[]{5, 6});
+        graph.rebuild();
+
+        assertThat(graph.friendsOf(1)).containsExactly(2, 3, 4);
+        assertThat(graph.friendsOf(4)).containsExactly(1, 5);   // 역방향 묶음(1)과 정방향 묶음(5) 병합
+        assertThat(graph.areFriends(5, 6)).isTrue();
+        assertThat(graph.areFriends(1, 5)).isFalse();
+        assertThat(graph.mutualFriendCount(1, 5)).isEqualTo(2);
+        assertThat(graph.mutualFriends(1, 5)).containsExactly(2, 4);
+        assertThat(graph.mutualFriendCount(1, 99)).isZero();
+        assertThat(meterRegistry.get("friend.graph.edges").gauge().value()).isEqualTo(12.0);
+    }
+
+    @Test
+    void friendsOf_shouldReadFromDatabaseUntilFirstRebuild() {
+        when(repository.findFriendIds(1)).thenReturn(new long[]{2, 3});
+
+        assertThat(graph.isReady()).isFalse();
+        assertThat(graph.friendsOf(1)).containsExactly(2, 3);
+
+        givenEdges(new long[]{1, 4});
+        graph.rebuild();
+
+        assertThat(graph.isReady()).isTrue();
+        assertThat(graph.friendsOf(1)).containsExactly(4);
+        verify(repository).findFriendIds(1);
+    }
+
+    @Test
+    void mutualFriendCount_shouldMatchWhenDegreesAreSkewed() {
+        givenEdges();
+        graph.rebuild();
+        graph.addFriendship(1, 500);
+        graph.addFriendship(1, 900);
+        LongStream.rangeClosed(100, 1000).forEach(id -> graph.addFriendship(2, id));
+
+        assertThat(graph.mutualFriendCount(1, 2)).isEqualTo(2);
+        assertThat(graph.mutualFriendCount(2, 1)).isEqualTo(2);
+    }
+
+    @Test
+    void incrementalUpdates_shouldKeepBothDirectionsInSync() {
+        givenEdges();
+        graph.rebuild();
+        graph.addFriendship(1, 3);
+        graph.addFriendship(1, 2);
+        graph.addFriendship(2, 3);
+        graph.addFriendship(1, 2);
+
+        assertThat(graph.friendsOf(1)).containsExactly(2, 3);
+        assertThat(graph.friendsOf(3)).containsExactly(1, 2);
+
+        graph.removeFriendship(2, 1);
+        assertThat(graph.friendsOf(1)).containsExactly(3);
+        assertThat(graph.friendsOf(2)).containsExactly(3);
+
+        graph.removeUser(3);
+        assertThat(graph.friendsOf(1)).isEmpty();
+        assertThat(graph.friendsOf(2)).isEmpty();
+        assertThat(graph.edgeCount()).isZero();
+    }
+
+    @Test
+    void rebuild_shouldKeepChangesMadeWhileStreaming() {
+        doAnswer(invocation -> {
+            FriendGraphRepository.EdgeConsumer consumer = invocation.getArgument(0);
+            consumer.accept(1, 2);
+            consumer.accept(2, 1);
+            // 스트리밍 도중 친구 추가/삭제
+            graph.addFriendship(1, 3);
+            graph.removeFriendship(1, 2);
+            return null;
+        }).when(repository).forEachEdge(any());
+
+        graph.rebuild();
+
+        assertThat(graph.friendsOf(1)).containsExactly(3);
+        assertThat(graph.friendsOf(2)).isEmpty();
+    }
+}
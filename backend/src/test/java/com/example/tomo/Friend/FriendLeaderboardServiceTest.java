@@ -0,0 +1,105 @@
+package com.example.tomo.Friend;
+
+import com.example.tomo.Friends.FriendLeaderboardRepository;
+import com.example.tomo.Friends.FriendLeaderboardService;
+import com.example.tomo.Friends.dtos.FriendLeaderboardRow;
+import com.example.tomo.Friends.dtos.ResponseClosestFriendDto;
+import com.example.tomo.Friends.dtos.ResponseFriendRankDto;
+import com.example.tomo.Users.User;
+import com.example.tomo.Users.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FriendLeaderboardServiceTest {
+
+    @Mock
+    FriendLeaderboardRepository leaderboardRepository;
+
+    @Mock
+    UserRepository userRepository;
+
+    FriendLeaderboardService service;
+
+    User friend;
+
+    @BeforeEach
+    void setUp() {
+        // 상위 2명 캐시
+        service = new FriendLeaderboardService(leaderboardRepository, userRepository, 2, 100, 300);
+        friend = new User();
+        ReflectionTestUtils.setField(friend, "id", 2L);
+    }
+
+    private static FriendLeaderboardRow row(long friendId, long friendUserId, int friendship) {
+        return new FriendLeaderboardRow(friendId, friendUserId, "user" + friendUserId + "@test.com", "user" + friendUserId, friendship);
+    }
+
+    @Test
+    void getClosestFriends_shouldServeFromCacheUntilEvicted() {
+        when(leaderboardRepository.findTop(1L, 2)).thenReturn(List.of(row(20, 5L, 90), row(10, 3L, 70)));
+
+        List<ResponseClosestFriendDto> first = service.getClosestFriends(1L, 10);
+        service.getClosestFriends(1L, 1);
+
+        assertThat(first).extracting(ResponseClosestFriendDto::rank).containsExactly(1, 2);
+        assertThat(first).extracting(ResponseClosestFriendDto::username).containsExactly("user5", "user3");
+        verify(leaderboardRepository, times(1)).findTop(1L, 2);
+
+        service.onFriendshipChanged(1L, 4L);
+        service.getClosestFriends(1L, 1);
+        verify(leaderboardRepository, times(2)).findTop(1L, 2);
+    }
+
+    @Test
+    void getRankAmongFriendsOf_shouldUseCachedTopWhenIncluded() {
+        when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friend));
+        when(leaderboardRepository.findBetween(1L, 2L)).thenReturn(Optional.of(row(7, 2L, 80)));
+        when(leaderboardRepository.findTop(2L, 2)).thenReturn(List.of(row(9, 6L, 95), row(7, 1L, 80)));
+        when(leaderboardRepository.countFriends(2L)).thenReturn(40);
+
+        ResponseFriendRankDto rank = service.getRankAmongFriendsOf(1L, "friend@test.com");
+
+        assertThat(rank.rank()).isEqualTo(2);
+        assertThat(rank.friendCount()).isEqualTo(40);
+        verify(leaderboardRepository, never()).countAhead(anyLong(), anyInt(), anyLong());
+    }
+
+    @Test
+    void getRankAmongFriendsOf_shouldCountAheadOutsideTop() {
+        when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friend));
+        when(leaderboardRepository.findBetween(1L, 2L)).thenReturn(Optional.of(row(7, 2L, 30)));
+        when(leaderboardRepository.findTop(2L, 2)).thenReturn(List.of(row(9, 6L, 95), row(8, 5L, 80)));
+        when(leaderboardRepository.countFriends(2L)).thenReturn(1000);
+        when(leaderboardRepository.countAhead(2L, 30, 7L)).thenReturn(412);
+
+        ResponseFriendRankDto rank = service.getRankAmongFriendsOf(1L, "friend@test.com");
+
+        assertThat(rank.rank()).isEqualTo(413);
+        assertThat(rank.friendCount()).isEqualTo(1000);
+        assertThat(rank.friendship()).isEqualTo(30);
+    }
+
+    @Test
+    void getRankAmongFriendsOf_shouldRejectNonFriend() {
+        when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friend));
+        when(leaderboardRepository.findBetween(1L, 2L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getRankAmongFriendsOf(1L, "friend@test.com"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("친구 관계가 아닙니다.");
+        verify(leaderboardRepository, never()).findTop(anyLong(), anyInt());
+    }
+}
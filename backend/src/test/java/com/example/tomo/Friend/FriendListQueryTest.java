@@ -0,0 +1,116 @@
+package com.example.tomo.Friend;
+
+import com.example.tomo.Friends.Friend;
+import com.example.tomo.Friends.FriendListRepository;
+import com.example.tomo.Friends.FriendSortType;
+import com.example.tomo.Friends.dtos.FriendListRow;
+import com.example.tomo.TestcontainersConfig;
+import com.example.tomo.Users.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 친구 목록 프로젝션과 keyset 페이지가 user_id 쪽, friend_user_id 쪽 행을 순서대로 빠짐없이 합치는지 검증
+// (인덱스 사용은 SchemaIndexTest 에서 EXPLAIN 으로 확인)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfig.class, FriendListRepository.class})
+@Testcontainers(disabledWithoutDocker = true)
+class FriendListQueryTest {
+
+    static final int FRIEND_COUNT = 45;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    FriendListRepository friendListRepository;
+
+    User me;
+
+    @BeforeEach
+    void setUp() {
+        // 앞의 친구들은 me 보다 id 가 작아 friend_user_id 쪽에 me 가 저장됨 → 양쪽 모두 조회되는지 검증
+        List<User> others = new ArrayList<>();
+        for (int i = 0; i < FRIEND_COUNT; i++) {
+            if (i == FRIEND_COUNT / 3) {
+                me = persistUser("me");
+            }
+            others.add(persistUser("friend" + i));
+        }
+        for (int i = 0; i < FRIEND_COUNT; i++) {
+            Friend friend = new Friend(me, others.get(i));
+            // 같은 점수가 여러 개 생기도록 해서 friend_id 보조 정렬까지 검증
+            friend.updateFriendship((i % 5) * 10);
+            em.persist(friend);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findFriendRows_shouldLoadEmailAndUsernameFromBothSides() {
+        List<FriendListRow> rows = friendListRepository.findFriendRows(me.getId());
+
+        assertThat(rows).hasSize(FRIEND_COUNT);
+        assertThat(rows).extracting(FriendListRow::friendId).isSorted();
+        assertThat(rows.get(0).email()).isEqualTo("friend0@test.com");
+        assertThat(rows.get(0).username()).isEqualTo("friend0");
+        assertThat(rows).extracting(FriendListRow::email).doesNotContain("me@test.com");
+    }
+
+    @Test
+    void scorePages_shouldWalkAllFriendsInOrder() {
+        List<FriendListRow> walked = new ArrayList<>();
+        int limit = 10;
+
+        List<FriendListRow> page = friendListRepository.findPage(me.getId(), FriendSortType.SCORE, null, null, limit);
+        while (!page.isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(limit);
+            walked.addAll(page);
+            FriendListRow last = page.get(page.size() - 1);
+            page = friendListRepository.findPage(me.getId(), FriendSortType.SCORE, last.friendship(), last.friendId(), limit);
+        }
+
+        assertThat(walked).hasSize(FRIEND_COUNT);
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(FriendListRow::friendship)
+                .thenComparing(FriendListRow::friendId).reversed());
+    }
+
+    @Test
+    void createdAtPages_shouldWalkAllFriendsWithoutDuplicates() {
+        List<FriendListRow> walked = new ArrayList<>();
+        int limit = 20;
+
+        List<FriendListRow> page = friendListRepository.findPage(me.getId(), FriendSortType.CREATED_AT, null, null, limit);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            FriendListRow last = page.get(page.size() - 1);
+            page = friendListRepository.findPage(me.getId(), FriendSortType.CREATED_AT, last.createdAt(), last.friendId(), limit);
+        }
+
+        assertThat(walked).extracting(FriendListRow::friendId).hasSize(FRIEND_COUNT).doesNotHaveDuplicates();
+        assertThat(walked).extracting(FriendListRow::friendId).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    private User persistUser(String name) {
+        User user = new User("uid-" + name, name, name + "@test.com");
+        user.setPhone("010-0000-0000");
+        user.setRefreshToken("token");
+        return em.persist(user);
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.tomo.Friend;
 import com.example.tomo.Friends.Friend;
+import com.example.tomo.Friends.FriendGraph;
+import com.example.tomo.Friends.FriendLeaderboardService;
+import com.example.tomo.Friends.FriendListRepository;
 import com.example.tomo.Friends.FriendRepository;
 import com.example.tomo.Friends.FriendService;
-import com.example.tomo.Friends.FriendShipPolicy;
+import com.example.tomo.Friends.FriendSuggestionService;
+import com.example.tomo.Friends.FriendshipRecalculationJob;
+import com.example.tomo.Friends.FriendshipScoringMode;
+import com.example.tomo.Friends.SetBasedFriendshipScorer;
+import com.example.tomo.Friends.FriendSortType;
+import com.example.tomo.Friends.dtos.FriendListRow;
+import com.example.tomo.Friends.dtos.FriendPageDto;
+import com.example.tomo.Friends.dtos.RecalculationReport;
 import com.example.tomo.Friends.dtos.ResponseFriendDetailDto;
-import com.example.tomo.Moim_people.MoimPeopleRepository;
+import com.example.tomo.Sync.SyncService;
 import com.example.tomo.Users.User;
 import com.example.tomo.Users.UserRepository;
 
 import com.example.tomo.Users.UserService;
+import com.example.tomo.global.Batch.LeaseManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +32,8 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,14 +50,32 @@ class FriendServiceTest {
     @Mock
     FriendRepository friendRepository;
 
+    @Mock
+    FriendListRepository friendListRepository;
+
     @Mock
     UserRepository userRepository;
 
     @Mock
-    MoimPeopleRepository moimPeopleRepository;
+    FriendshipRecalculationJob friendshipRecalculationJob;
+
+    @Mock
+    SetBasedFriendshipScorer setBasedFriendshipScorer;
+
+    @Mock
+    LeaseManager leaseManager;
+
+    @Mock
+    FriendGraph friendGraph;
+
+    @Mock
+    FriendSuggestionService friendSuggestionService;
 
     @Mock
-    FriendShipPolicy friendShipPolicy;
+    SyncService syncService;
+
+    @Mock
+    FriendLeaderboardService friendLeaderboardService;
 
     User user;
     User friendUser;
@@ -52,8 +83,8 @@ class FriendServiceTest {
 
     @BeforeEach
     void setUp() {
-        user = new User("uid123", "User", "user@test.com");
-        friendUser = new User("uid456", "Friend", "friend@test.com");
+        user = new User(1L, "uid123", "User", "user@test.com");
+        friendUser = new User(2L, "uid456", "Friend", "friend@test.com");
 
         friendship = new Friend(user, friendUser);
         friendship.updateFriendship(10);
@@ -62,44 +93,97 @@ class FriendServiceTest {
         ReflectionTestUtils.setField(friendship, "created_at", LocalDate.now());
     }
 
+    // 리스를 잡은 것처럼 작업을 바로 실행
+    @SuppressWarnings("unchecked")
+    private void givenLeaseAcquired() {
+        when(leaseManager.runExclusively(eq("friendship-score"), any(), any())).thenAnswer(invocation -> {
+            Predicate<BooleanSupplier> job = invocation.getArgument(2);
+            return job.test(() -> true);
+        });
+    }
+
+    private RecalculationReport report(boolean completed) {
+        return new RecalculationReport(0, 0, 0, 0, 0, 0, completed);
+    }
+
     @Test
-    void updateAllFriendshipScores_shouldUpdateScores() {
-        when(friendRepository.findAll()).thenReturn(List.of(friendship));
-        when(moimPeopleRepository.countCommonMoims(user.getId(), friendUser.getId())).thenReturn(2L);
-        when(friendShipPolicy.calculateTotalScore(any(), anyInt())).thenReturn(50);
+    void updateAllFriendshipScores_shouldRunRecalculationJob() {
+        givenLeaseAcquired();
+        when(friendshipRecalculationJob.run(any(BooleanSupplier.class))).thenReturn(report(true));
 
         friendService.updateAllFriendshipScores();
 
-        assertThat(friendship.getFriendship()).isEqualTo(50);
-        verify(friendRepository).saveAll(List.of(friendship));
+        verify(friendshipRecalculationJob).run(any(BooleanSupplier.class));
+        verify(leaseManager).runExclusively(eq("friendship-score"), eq(LocalDate.now().atStartOfDay()), any());
+        verify(friendRepository, never()).findAll();
+        verifyNoInteractions(setBasedFriendshipScorer);
+        verify(friendLeaderboardService).invalidateAll();
     }
 
     @Test
-    void removeFriend_shouldDeleteFriendship() {
-        // 실제 유저, 친구 객체
-        User user = new User("uid123", "User", "user@test.com");
-        User friendUser = new User("uid456", "Friend", "friend@test.com");
+    void updateAllFriendshipScores_shouldUseSetBasedScorerInSqlMode() {
+        ReflectionTestUtils.setField(friendService, "scoringMode", FriendshipScoringMode.SQL);
+        givenLeaseAcquired();
+        when(setBasedFriendshipScorer.run(any(BooleanSupplier.class))).thenReturn(report(true));
 
-        // 본인이 친구로 등록한 레코드
-        Friend friendship = new Friend(user, friendUser);
+        friendService.updateAllFriendshipScores();
 
-        // 친구가 본인을 친구로 등록한 레코드 (reverse)
-        Friend reverseFriendship = new Friend(friendUser, user);
+        // 범위마다 heartbeat 로 리스를 연장하도록 전달
+        verify(setBasedFriendshipScorer).run(any(BooleanSupplier.class));
+        verifyNoInteractions(friendshipRecalculationJob);
+    }
 
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
-        when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friendUser));
+    @Test
+    void recountAllFriendshipScores_shouldRunFullRecountUnderSameLease() {
+        givenLeaseAcquired();
+        when(friendshipRecalculationJob.recount(any(BooleanSupplier.class))).thenReturn(report(true));
 
-        when(friendRepository.findByUserAndFriend(user, friendUser))
-                .thenReturn(Optional.of(friendship));
-        when(friendRepository.findByUserAndFriend(friendUser, user))
-                .thenReturn(Optional.of(reverseFriendship));
+        friendService.recountAllFriendshipScores();
 
-        // 메서드 실행
-        friendService.removeFriend("uid123", "friend@test.com");
+        verify(friendshipRecalculationJob).recount(any(BooleanSupplier.class));
+        verify(friendshipRecalculationJob, never()).run(any(BooleanSupplier.class));
+        verify(friendLeaderboardService).invalidateAll();
+    }
+
+    @Test
+    void updateAllFriendshipScores_shouldSkipWhenLeaseNotAcquired() {
+        when(leaseManager.runExclusively(eq("friendship-score"), any(), any())).thenReturn(false);
 
-        // delete가 각각 1번씩 호출됐는지 검증
-        verify(friendRepository).delete(friendship);
-        verify(friendRepository).delete(reverseFriendship);
+        friendService.updateAllFriendshipScores();
+
+        verifyNoInteractions(friendshipRecalculationJob, setBasedFriendshipScorer);
+    }
+
+    @Test
+    void getFriends_shouldReturnSameStoredScoreAsFriendPage() {
+        FriendListRow row = new FriendListRow(1L, "friend@test.com", "Friend", LocalDate.now(), null, 42);
+        when(friendListRepository.findFriendRows(user.getId())).thenReturn(List.of(row));
+        when(friendListRepository.findPage(user.getId(), FriendSortType.SCORE, null, null, 21)).thenReturn(List.of(row));
+
+        List<ResponseFriendDetailDto> list = friendService.getFriends(user.getId());
+        FriendPageDto page = friendService.getFriendPage(user.getId(), FriendSortType.SCORE, null, null);
+
+        assertThat(list).extracting(ResponseFriendDetailDto::getFriendship).containsExactly(42);
+        assertThat(page.getFriends()).extracting(ResponseFriendDetailDto::getFriendship).containsExactly(42);
+    }
+
+    @Test
+    void removeFriend_shouldDeleteFriendship() {
+        // 실제 친구 객체
+        User friendUser = new User(2L, "uid456", "Friend", "friend@test.com");
+
+        when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friendUser));
+
+        // 메서드 실행
+        friendService.removeFriend(1L, "friend@test.com");
+
+        // 관계당 행 하나 → 조회 없이 DELETE 한 번
+        verify(friendRepository).deleteBetween(1L, 2L);
+        verify(friendRepository, never()).delete(any(Friend.class));
+        verify(friendGraph).removeFriendship(1L, 2L);
+        verify(friendSuggestionService).onFriendshipChanged(1L, 2L);
+        verify(syncService).recordFriendChanged(1L, 2L, true);
+        verify(friendLeaderboardService).onFriendshipChanged(1L, 2L);
     }
 
 
@@ -107,61 +191,88 @@ class FriendServiceTest {
 
     @Test
     void getFriends_shouldReturnList() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
-        when(friendRepository.findAllByUserId(user.getId())).thenReturn(List.of(friendship));
-        when(userRepository.findById(friendUser.getId())).thenReturn(Optional.of(friendUser));
+        when(friendListRepository.findFriendRows(user.getId())).thenReturn(List.of(
+                new FriendListRow(1L, "friend@test.com", "Friend", LocalDate.now(), 0, 0)));
 
-        List<ResponseFriendDetailDto> list = friendService.getFriends("uid123");
+        List<ResponseFriendDetailDto> list = friendService.getFriends(user.getId());
 
         assertThat(list).hasSize(1);
         assertThat(list.get(0).getEmail()).isEqualTo("friend@test.com");
+        assertThat(list.get(0).getUsername()).isEqualTo("Friend");
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void getFriendByUidAndEmail_shouldReturnFriend() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
+    void getFriendPage_shouldReturnNextCursorByScore() {
+        LocalDate createdAt = LocalDate.of(2025, 1, 1);
+        when(friendListRepository.findPage(user.getId(), FriendSortType.SCORE, 30, 7L, 3))
+                .thenReturn(List.of(
+                        new FriendListRow(5L, "a@test.com", "A", createdAt, 0, 30),
+                        new FriendListRow(9L, "b@test.com", "B", createdAt, 0, 20),
+                        new FriendListRow(3L, "c@test.com", "C", createdAt, 0, 10)));
+
+        FriendPageDto page = friendService.getFriendPage(user.getId(), FriendSortType.SCORE, 2, "30_7");
+
+        assertThat(page.getFriends()).extracting(ResponseFriendDetailDto::getEmail)
+                .containsExactly("a@test.com", "b@test.com");
+        assertThat(page.getNextCursor()).isEqualTo("20_9");
+    }
+
+    @Test
+    void getFriendPage_shouldStartFromFirstPageByCreatedAt() {
+        when(friendListRepository.findPage(user.getId(), FriendSortType.CREATED_AT, null, null, 21))
+                .thenReturn(List.of(new FriendListRow(5L, "a@test.com", "A", LocalDate.now(), 0, 30)));
+
+        FriendPageDto page = friendService.getFriendPage(user.getId(), FriendSortType.CREATED_AT, null, null);
+
+        assertThat(page.getFriends()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getFriendPage_shouldRejectMalformedCursor() {
+
+        assertThatThrownBy(() -> friendService.getFriendPage(user.getId(), FriendSortType.CREATED_AT, 10, "abc_1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getFriendByUserIdAndEmail_shouldReturnFriend() {
         when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friendUser));
-        when(friendRepository.findByUserIdAndFriendId(user.getId(), friendUser.getId())).thenReturn(Optional.of(friendship));
+        when(friendRepository.findBetween(user.getId(), friendUser.getId())).thenReturn(Optional.of(friendship));
 
-        Friend result = friendService.getFriendByUidAndEmail("uid123", "friend@test.com");
+        Friend result = friendService.getFriendByUserIdAndEmail(user.getId(), "friend@test.com");
 
         assertThat(result).isEqualTo(friendship);
     }
 
     @Test
-    void getFriendByUidAndEmail_shouldThrowIfNotExist() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
+    void getFriendByUserIdAndEmail_shouldThrowIfNotExist() {
         when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friendUser));
-        when(friendRepository.findByUserIdAndFriendId(user.getId(), friendUser.getId()))
+        when(friendRepository.findBetween(user.getId(), friendUser.getId()))
                 .thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> friendService.getFriendByUidAndEmail("uid123", "friend@test.com"))
+        assertThatThrownBy(() -> friendService.getFriendByUserIdAndEmail(user.getId(), "friend@test.com"))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("친구 관계가 아닙니다.");
     }
     @Test
     void getFriendDetail_shouldReturnResponse() {
-        // 로그인 유저 조회
-        when(userRepository.findByFirebaseId("uid123"))
-                .thenReturn(Optional.of(user));
-
         // query → userService.getUser()
         when(userService.getUser("friend@test.com"))
                 .thenReturn(friendUser);
 
-        // 친구 유저 조회
-        when(userRepository.findByEmail("friend@test.com"))
-                .thenReturn(Optional.of(friendUser));
-
         // 친구 관계 조회
-        when(friendRepository.findByUserIdAndFriendId(
+        when(friendRepository.findBetween(
                 user.getId(),
                 friendUser.getId()
         )).thenReturn(Optional.of(friendship));
 
+        // 저장된 점수(setUp 의 10)를 그대로 반환
+
         // 실행
         ResponseFriendDetailDto dto =
-                friendService.getFriendDetail("uid123", "friend@test.com");
+                friendService.getFriendDetail(user.getId(), "friend@test.com");
 
         // 검증
         assertThat(dto.getEmail()).isEqualTo("friend@test.com");
@@ -0,0 +1,123 @@
+package com.example.tomo.Friend;
+
+import com.example.tomo.Friends.FriendSuggestionRepository;
+import com.example.tomo.Friends.FriendSuggestionService;
+import com.example.tomo.Friends.dtos.FriendSuggestionCandidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FriendSuggestionServiceTest {
+
+    @Mock
+    FriendSuggestionRepository suggestionRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    FriendSuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        // 공통 모임 1개 5점, 공통 친구 1명 3점, 상위 2명, 묶음 2명
+        service = new FriendSuggestionService(suggestionRepository,
+                (moims, mutual) -> moims * 5 + mutual * 3, transactionManager, 2, 2);
+    }
+
+    @Test
+    void refresh_shouldStoreTopKExcludingExistingFriends() {
+        when(suggestionRepository.claimDirty(2)).thenReturn(List.of(1L));
+        when(suggestionRepository.countCommonMoims(1L)).thenReturn(Map.of(2L, 1, 3L, 2, 4L, 1));
+        when(suggestionRepository.countMutualFriends(1L)).thenReturn(Map.of(4L, 2, 5L, 1));
+        when(suggestionRepository.findFriendIds(1L)).thenReturn(Set.of(3L));
+
+        service.refresh();
+
+        // 4: 5 + 6 = 11, 2: 5, 5: 3, 3 은 이미 친구
+        verify(suggestionRepository).replace(1L, List.of(
+                new FriendSuggestionCandidate(4L, 1, 2, 11),
+                new FriendSuggestionCandidate(2L, 1, 0, 5)));
+        verify(suggestionRepository).deleteDirty(List.of(1L));
+    }
+
+    @Test
+    void refresh_shouldReleaseClaimBeforeRecomputing() {
+        when(suggestionRepository.claimDirty(2)).thenReturn(List.of(1L));
+        when(suggestionRepository.countCommonMoims(1L)).thenReturn(Map.of(2L, 1));
+        when(suggestionRepository.countMutualFriends(1L)).thenReturn(Map.of());
+        when(suggestionRepository.findFriendIds(1L)).thenReturn(Set.of());
+
+        service.refresh();
+
+        // 가져오기(잠금 + 삭제) 트랜잭션을 커밋한 뒤에 재계산
+        InOrder inOrder = inOrder(suggestionRepository, transactionManager);
+        inOrder.verify(suggestionRepository).claimDirty(2);
+        inOrder.verify(suggestionRepository).deleteDirty(List.of(1L));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(suggestionRepository).countCommonMoims(1L);
+        inOrder.verify(suggestionRepository).replace(eq(1L), anyList());
+    }
+
+    @Test
+    void refresh_shouldMarkUserDirtyAgainWhenRecomputeFails() {
+        when(suggestionRepository.claimDirty(2)).thenReturn(List.of(1L, 2L), List.of());
+        when(suggestionRepository.countCommonMoims(1L)).thenThrow(new IllegalStateException("down"));
+        when(suggestionRepository.countCommonMoims(2L)).thenReturn(Map.of());
+        when(suggestionRepository.countMutualFriends(2L)).thenReturn(Map.of());
+        when(suggestionRepository.findFriendIds(2L)).thenReturn(Set.of());
+
+        service.refresh();
+
+        verify(suggestionRepository).markDirty(List.of(1L));
+        verify(suggestionRepository).replace(2L, List.of());
+        verify(suggestionRepository, never()).replace(eq(1L), anyList());
+    }
+
+    @Test
+    void refresh_shouldBreakTiesByNewerUserAndKeepClaimingFullBatches() {
+        when(suggestionRepository.claimDirty(2)).thenReturn(List.of(1L, 2L), List.of(3L));
+        when(suggestionRepository.countCommonMoims(anyLong())).thenReturn(Map.of(10L, 1, 11L, 1));
+        when(suggestionRepository.countMutualFriends(anyLong())).thenReturn(Map.of());
+        when(suggestionRepository.findFriendIds(anyLong())).thenReturn(Set.of());
+
+        service.refresh();
+
+        ArgumentCaptor<List<FriendSuggestionCandidate>> stored = ArgumentCaptor.captor();
+        verify(suggestionRepository, times(3)).replace(anyLong(), stored.capture());
+        assertThat(stored.getValue()).extracting(FriendSuggestionCandidate::candidateId).containsExactly(11L, 10L);
+        verify(suggestionRepository, times(2)).claimDirty(2);
+        // 가져오기 2번 + 사용자별 저장 3번
+        verify(transactionManager, times(5)).commit(any());
+    }
+
+    @Test
+    void getSuggestions_shouldClampSizeToStoredTopK() {
+        when(suggestionRepository.findTop(1L, 2)).thenReturn(List.of());
+
+        assertThat(service.getSuggestions(1L, 50)).isEmpty();
+        verify(suggestionRepository).findTop(1L, 2);
+    }
+
+    @Test
+    void onFriendshipChanged_shouldDropPairAndMarkBothSidesAndTheirFriends() {
+        service.onFriendshipChanged(1L, 2L);
+
+        verify(suggestionRepository).deletePairs(1L, List.of(2L));
+        verify(suggestionRepository).markDirty(List.of(1L, 2L));
+        verify(suggestionRepository).markFriendsDirty(List.of(1L, 2L));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.tomo.Friend;
+
+import com.example.tomo.Friends.FriendRepository;
+import com.example.tomo.Friends.FriendShipPolicy;
+import com.example.tomo.Friends.FriendshipRecalculationJob;
+import com.example.tomo.Friends.dtos.FriendCommonMoimCount;
+import com.example.tomo.Friends.dtos.FriendScoreRow;
+import com.example.tomo.Friends.dtos.RecalculationReport;
+import com.example.tomo.global.Batch.JobCheckpoint;
+import com.example.tomo.global.Batch.JobCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FriendshipRecalculationJobTest {
+
+    @Mock
+    FriendRepository friendRepository;
+
+    @Mock
+    JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    FriendShipPolicy friendShipPolicy;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    FriendshipRecalculationJob job;
+
+    LocalDate createdAt = LocalDate.now().minusWeeks(2);
+
+    @BeforeEach
+    void setUp() {
+        job = new FriendshipRecalculationJob(friendRepository, checkpointRepository,
+                friendShipPolicy, jdbcTemplate, transactionManager, 2);
+    }
+
+    @Test
+    void run_shouldRefreshTimeScoresWithoutRecountingMaintainedCounters() {
+        when(checkpointRepository.findById("friendship-recalculation")).thenReturn(Optional.empty());
+        when(friendRepository.findScoreRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new FriendScoreRow(1L, createdAt, 1, 15),
+                new FriendScoreRow(2L, createdAt, 0, 5)));
+        // 카운터 도입 이전 행은 한 번 직접 집계
+        when(friendRepository.findScoreRowsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(
+                new FriendScoreRow(5L, createdAt, null, 10)));
+        when(friendRepository.findScoreRowsAfter(eq(5L), any(Pageable.class))).thenReturn(List.of());
+        when(friendRepository.countCommonMoimsByFriendIds(List.of(5L)))
+                .thenReturn(List.of(new FriendCommonMoimCount(5L, 2L)));
+        when(friendShipPolicy.calculateTotalScore(createdAt, 0)).thenReturn(10);
+        when(friendShipPolicy.calculateTotalScore(createdAt, 1)).thenReturn(15);
+        when(friendShipPolicy.calculateTotalScore(createdAt, 2)).thenReturn(20);
+        when(friendShipPolicy.calculateTimeScore(createdAt)).thenReturn(10);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        RecalculationReport report = job.run();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> refreshes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE friend SET friendship"), refreshes.capture());
+        assertThat(refreshes.getValue()).containsExactly(new Object[]{10, 2L});
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> recounts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE friend SET common_moim_count"), recounts.capture());
+        assertThat(recounts.getValue()).containsExactly(new Object[]{2, 20, 5L, null});
+        verify(friendRepository, never()).countCommonMoimsByFriendIds(List.of(1L, 2L));
+
+        ArgumentCaptor<JobCheckpoint> checkpoints = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(checkpointRepository, times(2)).save(checkpoints.capture());
+        assertThat(checkpoints.getAllValues()).extracting(JobCheckpoint::getLastId).containsExactly(2L, 5L);
+        verify(checkpointRepository).deleteById("friendship-recalculation");
+
+        assertThat(report.rows()).isEqualTo(3);
+        assertThat(report.updatedRows()).isEqualTo(2);
+        assertThat(report.chunks()).isEqualTo(2);
+        assertThat(report.completed()).isTrue();
+    }
+
+    @Test
+    void recount_shouldCompareAndSetOnlyChangedCounts() {
+        when(checkpointRepository.findById("friendship-recount")).thenReturn(Optional.empty());
+        when(friendRepository.findScoreRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new FriendScoreRow(1L, createdAt, 1, 15),
+                new FriendScoreRow(2L, createdAt, 0, 10)));
+        when(friendRepository.findScoreRowsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(friendRepository.countCommonMoimsByFriendIds(List.of(1L, 2L)))
+                .thenReturn(List.of(new FriendCommonMoimCount(1L, 1L), new FriendCommonMoimCount(2L, 3L)));
+        when(friendShipPolicy.calculateTotalScore(createdAt, 1)).thenReturn(15);
+        when(friendShipPolicy.calculateTotalScore(createdAt, 3)).thenReturn(25);
+        // 집계 뒤 모임 변경이 먼저 커밋되어 compare-and-set 이 건너뛴 경우
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+
+        RecalculationReport report = job.recount();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("UPDATE friend SET common_moim_count"), updates.capture());
+        // 읽은 공통 모임 수(0)가 그대로일 때만 쓴다
+        assertThat(updates.getValue()).containsExactly(new Object[]{3, 25, 2L, 0});
+        verify(checkpointRepository).save(any(JobCheckpoint.class));
+        verify(checkpointRepository).deleteById("friendship-recount");
+        assertThat(report.updatedRows()).isZero();
+    }
+
+    @Test
+    void run_shouldResumeFromCheckpoint() {
+        when(checkpointRepository.findById("friendship-recalculation"))
+                .thenReturn(Optional.of(new JobCheckpoint("friendship-recalculation", 40L)));
+        when(friendRepository.findScoreRowsAfter(eq(40L), any(Pageable.class))).thenReturn(List.of());
+
+        RecalculationReport report = job.run();
+
+        verify(friendRepository, never()).findScoreRowsAfter(eq(0L), any(Pageable.class));
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(report.rows()).isZero();
+    }
+
+    @Test
+    void run_shouldKeepCheckpointWhenHeartbeatFails() {
+        when(checkpointRepository.findById("friendship-recalculation")).thenReturn(Optional.empty());
+        when(friendRepository.findScoreRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new FriendScoreRow(1L, createdAt, 0, 10),
+                new FriendScoreRow(2L, createdAt, 0, 10)));
+        when(friendShipPolicy.calculateTotalScore(createdAt, 0)).thenReturn(10);
+
+        // 첫 chunk 이후 리스를 잃은 상황
+        AtomicInteger beats = new AtomicInteger();
+        RecalculationReport report = job.run(() -> beats.incrementAndGet() == 1);
+
+        verify(friendRepository, never()).findScoreRowsAfter(eq(2L), any(Pageable.class));
+        verify(checkpointRepository).save(any(JobCheckpoint.class));
+        verify(checkpointRepository, never()).deleteById(anyString());
+        assertThat(report.completed()).isFalse();
+        assertThat(report.rows()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.tomo.Friend;
+
+import com.example.tomo.Friends.Friend;
+import com.example.tomo.Friends.FriendShipPolicy;
+import com.example.tomo.Friends.FriendshipRecalculationJob;
+import com.example.tomo.Friends.SetBasedFriendshipScorer;
+import com.example.tomo.Moim.Moim;
+import com.example.tomo.Moim_people.MoimPeopleRepository;
+import com.example.tomo.Moim_people.Moim_people;
+import com.example.tomo.TestcontainersConfig;
+import com.example.tomo.Users.User;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+// JAVA 모드(기준 구현)와 SQL 모드가 같은 점수를 내는지 무작위 데이터로 검증
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        // 120 개 관계를 여러 friend_id 범위로 나눠 갱신 (범위 경계에서 빠지거나 겹치는 행이 없는지)
+        "friendship.scoring.sql.range-size=16"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfig.class, FriendShipPolicy.class,
+        FriendshipRecalculationJob.class, SetBasedFriendshipScorer.class})
+@Testcontainers(disabledWithoutDocker = true)
+class FriendshipScoringParityTest {
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MoimPeopleRepository moimPeopleRepository;
+
+    @Autowired
+    FriendShipPolicy friendShipPolicy;
+
+    @Autowired
+    FriendshipRecalculationJob recalculationJob;
+
+    @Autowired
+    SetBasedFriendshipScorer setBasedScorer;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 7L, 42L})
+    void javaAndSqlModesShouldProduceIdenticalScores(long seed) {
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.now();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            User user = new User("uid-" + seed + "-" + i, "user" + i, "user" + seed + "-" + i + "@test.com");
+            user.setPhone("010-0000-0000");
+            user.setRefreshToken("token");
+            users.add(em.persist(user));
+        }
+
+        for (int m = 0; m < 12; m++) {
+            Moim moim = em.persist(new Moim("moim" + m, "description"));
+            for (User user : users) {
+                if (random.nextInt(4) == 0) {
+                    em.persist(new Moim_people(moim, user, false));
+                }
+            }
+        }
+
+        Set<String> pairs = new HashSet<>();
+        Map<Friend, LocalDate> friends = new LinkedHashMap<>();
+        while (friends.size() < 120) {
+            User user = users.get(random.nextInt(users.size()));
+            User other = users.get(random.nextInt(users.size()));
+            // 친구 관계는 순서와 관계없이 한 행
+            if (user == other || !pairs.add(Math.min(user.getId(), other.getId()) + ":" + Math.max(user.getId(), other.getId()))) {
+                continue;
+            }
+            // 주 경계(7의 배수)를 포함한 임의의 기간
+            friends.put(em.persist(new Friend(user, other)), today.minusDays(random.nextInt(1500)));
+        }
+        em.flush();
+
+        Map<Long, Integer> expected = new HashMap<>();
+        friends.forEach((friend, createdAt) -> {
+            jdbcTemplate.update("UPDATE friend SET created_at = ? WHERE friend_id = ?",
+                    Date.valueOf(createdAt), friend.getId());
+            long joinCount = moimPeopleRepository.countCommonMoims(
+                    friend.getUser().getId(), friend.getFriend().getId());
+            expected.put(friend.getId(), friendShipPolicy.calculateTotalScore(createdAt, (int) joinCount, today));
+        });
+        em.clear();
+
+        recalculationJob.recount();
+        Map<Long, Integer> javaScores = readScores();
+
+        jdbcTemplate.update("UPDATE friend SET friendship = -1, common_moim_count = -1");
+        setBasedScorer.recount(today);
+        Map<Long, Integer> sqlScores = readScores();
+
+        assertThat(javaScores).isEqualTo(expected);
+        assertThat(sqlScores).isEqualTo(javaScores);
+
+        // 매일 갱신(기간 점수만)도 유지된 공통 모임 수로 같은 점수를 낸다
+        // 카운터 도입 이전 행(common_moim_count NULL)은 두 모드 모두 그 자리에서 집계한다
+        String reset = "UPDATE friend SET friendship = -1, "
+                + "common_moim_count = IF(friend_id % 5 = 0, NULL, common_moim_count)";
+        jdbcTemplate.update(reset);
+        recalculationJob.run();
+        assertThat(readScores()).isEqualTo(expected);
+        assertThat(countMissingCommonMoims()).isZero();
+
+        jdbcTemplate.update(reset);
+        assertThat(countMissingCommonMoims()).isPositive();
+        setBasedScorer.run(today);
+        assertThat(readScores()).isEqualTo(expected);
+        assertThat(countMissingCommonMoims()).isZero();
+    }
+
+    private int countMissingCommonMoims() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM friend WHERE common_moim_count IS NULL", Integer.class);
+    }
+
+    private Map<Long, Integer> readScores() {
+        Map<Long, Integer> scores = new HashMap<>();
+        jdbcTemplate.query("SELECT friend_id, friendship FROM friend",
+                rs -> {
+                    scores.put(rs.getLong("friend_id"), rs.getInt("friendship"));
+                });
+        return scores;
+    }
+}
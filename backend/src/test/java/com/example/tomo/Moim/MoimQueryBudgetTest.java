@@ -0,0 +1,171 @@
+package com.example.tomo.Moim;
+
+import com.example.tomo.Friends.CommonMoimCounter;
+import com.example.tomo.Friends.FriendLeaderboardRepository;
+import com.example.tomo.Friends.FriendLeaderboardService;
+import com.example.tomo.Friends.FriendShipPolicy;
+import com.example.tomo.Friends.FriendSuggestionRepository;
+import com.example.tomo.Friends.FriendSuggestionService;
+import com.example.tomo.Friends.WeightedFriendSuggestionPolicy;
+import com.example.tomo.Moim.dtos.getDetailMoimDto;
+import com.example.tomo.Moim.dtos.getMoimResponseDto;
+import com.example.tomo.Moim.dtos.addMoimRequestDto;
+import com.example.tomo.Moim.dtos.addMoimResponseDto;
+import com.example.tomo.Moim_people.MoimPeopleJdbcRepository;
+import com.example.tomo.Moim_people.MoimPeopleRepository;
+import com.example.tomo.Moim_people.Moim_people;
+import com.example.tomo.Sync.SyncRepository;
+import com.example.tomo.Sync.SyncService;
+import com.example.tomo.TestcontainersConfig;
+import com.example.tomo.Users.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 모임 조회 경로의 쿼리 수 상한 검증 (Hibernate statistics)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfig.class, MoimService.class, MoimPeopleJdbcRepository.class,
+        CommonMoimCounter.class, FriendShipPolicy.class, FriendSuggestionService.class,
+        FriendSuggestionRepository.class, WeightedFriendSuggestionPolicy.class,
+        SyncService.class, SyncRepository.class, FriendLeaderboardService.class,
+        FriendLeaderboardRepository.class})
+@Testcontainers(disabledWithoutDocker = true)
+class MoimQueryBudgetTest {
+
+    static final int MOIM_COUNT = 50;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MoimService moimService;
+
+    @Autowired
+    MoimPeopleRepository moimPeopleRepository;
+
+    Statistics statistics;
+    User me;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        me = persistUser("me");
+        List<User> others = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            others.add(persistUser("other" + i));
+        }
+
+        for (int i = 0; i < MOIM_COUNT; i++) {
+            Moim moim = em.persist(new Moim("moim" + i, "description" + i));
+            em.persist(new Moim_people(moim, me, i % 2 == 0));
+            for (User other : others.subList(0, i % 4)) {
+                em.persist(new Moim_people(moim, other, false));
+            }
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void getMoimList_shouldStayWithinQueryBudget() {
+        List<getMoimResponseDto> moims = moimService.getMoimList(me.getId());
+
+        // 모임 목록 프로젝션 1 (사용자는 인증 단계에서 확인)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+
+        assertThat(moims).hasSize(MOIM_COUNT);
+        assertThat(moims.get(0).getPeopleCount()).isEqualTo(1);
+        assertThat(moims.get(3).getPeopleCount()).isEqualTo(4);
+        assertThat(moims.get(0).getLeader()).isTrue();
+        assertThat(moims.get(1).getLeader()).isFalse();
+    }
+
+    @Test
+    void getMoimDetail_shouldStayWithinQueryBudget() {
+        Moim big = em.persist(new Moim("big", "description"));
+        for (int i = 0; i < 120; i++) {
+            em.persist(new Moim_people(big, persistUser("member" + i), i == 0));
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        // 모임 조회 1 + 멤버 조인 1
+        getDetailMoimDto all = moimService.getMoimDetail(big.getId());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(all.getMembers()).hasSize(120);
+        assertThat(all.getNextCursor()).isNull();
+
+        // 커서로 끝까지 넘겨도 페이지당 쿼리 수는 일정
+        List<String> emails = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            em.clear();
+            statistics.clear();
+            getDetailMoimDto page = moimService.getMoimDetail(big.getId(), 50, cursor);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+            assertThat(page.getMembers()).hasSizeLessThanOrEqualTo(50);
+            page.getMembers().forEach(member -> emails.add(member.getEmail()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(emails).hasSize(120).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void addMoim_shouldResolveAndInsertMembersInBulk() {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            emails.add(persistUser("invitee" + i).getEmail());
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        addMoimRequestDto dto = new addMoimRequestDto();
+        dto.setTitle("big");
+        dto.setDescription("description");
+        dto.setEmails(emails);
+        addMoimResponseDto response = moimService.addMoim(me.getId(), dto);
+
+        // 이메일 IN 조회 1 + 모임 INSERT 1 + 공통 모임 수 UPDATE 1
+        // (멤버 INSERT 는 JDBC 다중 행 INSERT 한 문장)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(response.getPeopleList()).hasSize(200);
+        assertThat(moimPeopleRepository.findUserIdsByMoimId(response.getMoim_id())).hasSize(201);
+        assertThat(moimPeopleRepository.findLeaderByMoimIdAndUserId(response.getMoim_id(), me.getId())).isTrue();
+    }
+
+    private User persistUser(String name) {
+        User user = new User("uid-" + name, name, name + "@test.com");
+        user.setPhone("010-0000-0000");
+        user.setRefreshToken("token");
+        return em.persist(user);
+    }
+}
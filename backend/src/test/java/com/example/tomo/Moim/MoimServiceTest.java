@@ -1,7 +1,11 @@
 package com.example.tomo.Moim;
+import com.example.tomo.Friends.CommonMoimCounter;
+import com.example.tomo.Friends.FriendSuggestionService;
 import com.example.tomo.Moim.dtos.*;
+import com.example.tomo.Moim_people.MoimPeopleJdbcRepository;
 import com.example.tomo.Moim_people.MoimPeopleRepository;
 import com.example.tomo.Moim_people.Moim_people;
+import com.example.tomo.Sync.SyncService;
 import com.example.tomo.Users.User;
 import com.example.tomo.Users.UserRepository;
 
@@ -12,6 +16,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -37,14 +43,26 @@ class MoimServiceTest {
     @Mock
     MoimPeopleRepository moimPeopleRepository;
 
+    @Mock
+    CommonMoimCounter commonMoimCounter;
+
+    @Mock
+    MoimPeopleJdbcRepository moimPeopleJdbcRepository;
+
+    @Mock
+    FriendSuggestionService friendSuggestionService;
+
+    @Mock
+    SyncService syncService;
+
     User leader;
     User participant;
     Moim moim;
 
     @BeforeEach
     void setUp() {
-        leader = new User("uid123", "Leader", "leader@test.com");
-        participant = new User("uid456", "Participant", "participant@test.com");
+        leader = new User(100L, "uid123", "Leader", "leader@test.com");
+        participant = new User(200L, "uid456", "Participant", "participant@test.com");
 
         moim = new Moim("Title", "Description");
         ReflectionTestUtils.setField(moim, "id", 1L);
@@ -57,22 +75,46 @@ class MoimServiceTest {
         addMoimRequestDto dto = new addMoimRequestDto();
         dto.setTitle("Title");
         dto.setDescription("Description");
-        dto.setEmails(Arrays.asList("participant@test.com"));
+        // 중복 이메일과 리더 본인 이메일은 한 번만/제외 처리
+        dto.setEmails(Arrays.asList("participant@test.com", "participant@test.com", "leader@test.com"));
 
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(leader));
-        when(userRepository.findByEmail("participant@test.com")).thenReturn(Optional.of(participant));
+        when(userRepository.findAllByEmailIn(Set.of("participant@test.com", "leader@test.com")))
+                .thenReturn(List.of(participant, leader));
         when(moimRepository.save(any(Moim.class))).thenReturn(moim);
 
-        addMoimResponseDto response = moimService.addMoim("uid123", dto);
+        addMoimResponseDto response = moimService.addMoim(100L, dto);
 
         assertThat(response.getMoim_id()).isEqualTo(1L);
         assertThat(response.getTitle()).isEqualTo("Title");
         assertThat(response.getDescription()).isEqualTo("Description");
-        assertThat(response.getPeopleList()).contains("Participant");
-
+        assertThat(response.getPeopleList()).containsExactly("Participant");
 
-        verify(moimPeopleRepository, times(2)).save(any(Moim_people.class));
+        verify(moimPeopleJdbcRepository).insertMembers(1L, 100L, List.of(200L));
+        verify(moimPeopleRepository, never()).save(any(Moim_people.class));
+        verify(userRepository, never()).findByEmail(anyString());
         verify(moimRepository).save(any(Moim.class));
+        verify(commonMoimCounter).onMoimJoined(List.of(100L, 200L));
+        verify(friendSuggestionService).onMoimMembersChanged(List.of(100L, 200L));
+        verify(syncService).recordMoimChanged(1L, List.of(100L, 200L));
+    }
+
+    @Test
+    void addMoim_shouldMatchInviteeEmailsIgnoringCase() {
+        addMoimRequestDto dto = new addMoimRequestDto();
+        dto.setTitle("Title");
+        dto.setDescription("Description");
+        // DB collation 은 대소문자를 구분하지 않아 저장된 participant@test.com 을 찾아준다
+        dto.setEmails(Arrays.asList("Participant@Test.com", "participant@test.com"));
+
+        when(userRepository.findAllByEmailIn(Set.of("Participant@Test.com", "participant@test.com")))
+                .thenReturn(List.of(participant));
+        when(moimRepository.save(any(Moim.class))).thenReturn(moim);
+
+        addMoimResponseDto response = moimService.addMoim(100L, dto);
+
+        assertThat(response.getPeopleList()).containsExactly("Participant");
+        verify(moimPeopleJdbcRepository).insertMembers(1L, 100L, List.of(200L));
+        verify(commonMoimCounter).onMoimJoined(List.of(100L, 200L));
     }
 
     @Test
@@ -80,24 +122,25 @@ class MoimServiceTest {
         addMoimRequestDto dto = new addMoimRequestDto();
         dto.setTitle("Title");
         dto.setDescription("Description");
-        dto.setEmails(Collections.singletonList("unknown@test.com"));
+        dto.setEmails(Arrays.asList("unknown@test.com", "participant@test.com", "missing@test.com"));
 
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(leader));
-        when(userRepository.findByEmail("unknown@test.com")).thenReturn(Optional.empty());
+        when(userRepository.findAllByEmailIn(anyCollection())).thenReturn(List.of(participant));
 
-        assertThatThrownBy(() -> moimService.addMoim("uid123", dto))
+        // 없는 이메일을 모두 한 번에 알려주고, 모임은 만들지 않는다
+        assertThatThrownBy(() -> moimService.addMoim(100L, dto))
                 .isInstanceOf(EntityNotFoundException.class)
-                .hasMessageContaining("해당 이메일의 사용자가 존재하지 않습니다");
+                .hasMessageContaining("해당 이메일의 사용자가 존재하지 않습니다")
+                .hasMessageContaining("unknown@test.com, missing@test.com");
+        verifyNoInteractions(moimRepository, moimPeopleJdbcRepository, commonMoimCounter);
     }
 
     // ========================= getMoim =========================
     @Test
     void getMoim_shouldReturnDto() {
         when(moimRepository.findById(1L)).thenReturn(Optional.of(moim));
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(leader));
         when(moimPeopleRepository.findLeaderByMoimIdAndUserId(1L, leader.getId())).thenReturn(true);
 
-        getMoimResponseDto dto = moimService.getMoim(1L, "uid123");
+        getMoimResponseDto dto = moimService.getMoim(1L, leader.getId());
 
         assertThat(dto.getTitle()).isEqualTo("Title");
         assertThat(dto.getDescription()).isEqualTo("Description");
@@ -109,7 +152,7 @@ class MoimServiceTest {
     void getMoim_shouldThrowException_whenMoimNotFound() {
         when(moimRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> moimService.getMoim(1L, "uid123"))
+        assertThatThrownBy(() -> moimService.getMoim(1L, leader.getId()))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("존재하지 않는 모임입니다");
     }
@@ -117,42 +160,51 @@ class MoimServiceTest {
     // ========================= getMoimList =========================
     @Test
     void getMoimList_shouldReturnList() {
-        Moim_people mp = new Moim_people(moim, leader, true);
-        List<Moim_people> mpList = Collections.singletonList(mp);
+        getMoimResponseDto summary = new getMoimResponseDto(
+                1L, "Title", "Description", 3L, true, LocalDate.now());
 
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(leader));
-        when(moimPeopleRepository.findByUserId(leader.getId())).thenReturn(mpList);
-        when(moimRepository.findById(1L)).thenReturn(Optional.of(moim));
-        when(moimPeopleRepository.findLeaderByMoimIdAndUserId(1L, leader.getId())).thenReturn(true);
+        when(moimPeopleRepository.findMoimSummariesByUserId(leader.getId())).thenReturn(List.of(summary));
 
-        List<getMoimResponseDto> result = moimService.getMoimList("uid123");
+        List<getMoimResponseDto> result = moimService.getMoimList(leader.getId());
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitle()).isEqualTo("Title");
-    }
-
-    @Test
-    void getMoimList_shouldThrowException_whenUserNotFound() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.empty());
-
-        assertThatThrownBy(() -> moimService.getMoimList("uid123"))
-                .isInstanceOf(EntityNotFoundException.class)
-                .hasMessageContaining("해당 UID를 가진 사용자가 존재하지 않습니다");
+        assertThat(result.get(0).getPeopleCount()).isEqualTo(3);
+        assertThat(result.get(0).getLeader()).isTrue();
+        verify(moimRepository, never()).findById(anyLong());
+        verify(moimPeopleRepository, never()).findLeaderByMoimIdAndUserId(anyLong(), any());
+        verifyNoInteractions(userRepository);
     }
 
     // ========================= getMoimDetail =========================
     @Test
     void getMoimDetail_shouldReturnDto() {
         when(moimRepository.findById(1L)).thenReturn(Optional.of(moim));
-        when(moimPeopleRepository.findUserIdsByMoimId(1L)).thenReturn(Collections.singletonList(leader.getId()));
-        when(userRepository.findById(leader.getId())).thenReturn(Optional.of(leader));
-        when(moimPeopleRepository.findLeaderByMoimIdAndUserId(1L, leader.getId())).thenReturn(true);
+        when(moimPeopleRepository.findMembersByMoimId(1L, 0L, Pageable.unpaged()))
+                .thenReturn(List.of(new MoimMemberRow(10L, "leader@test.com", true)));
 
         getDetailMoimDto detail = moimService.getMoimDetail(1L);
 
         assertThat(detail.getTitle()).isEqualTo("Title");
         assertThat(detail.getMembers()).hasSize(1);
         assertThat(detail.getMembers().get(0).getLeader()).isTrue();
+        assertThat(detail.getNextCursor()).isNull();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getMoimDetail_shouldReturnNextCursor_whenMoreMembersRemain() {
+        when(moimRepository.findById(1L)).thenReturn(Optional.of(moim));
+        when(moimPeopleRepository.findMembersByMoimId(1L, 10L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(
+                        new MoimMemberRow(11L, "a@test.com", false),
+                        new MoimMemberRow(12L, "b@test.com", false),
+                        new MoimMemberRow(13L, "c@test.com", false)));
+
+        getDetailMoimDto detail = moimService.getMoimDetail(1L, 2, 10L);
+
+        assertThat(detail.getMembers()).extracting("email").containsExactly("a@test.com", "b@test.com");
+        assertThat(detail.getNextCursor()).isEqualTo(12L);
     }
 
     @Test
@@ -166,23 +218,25 @@ class MoimServiceTest {
     // ========================= deleteMoim =========================
     @Test
     void deleteMoim_shouldDeleteSuccessfully() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(leader));
         when(moimRepository.findById(1L)).thenReturn(Optional.of(moim));
         when(moimPeopleRepository.findLeaderByMoimIdAndUserId(1L, leader.getId())).thenReturn(true);
 
-        moimService.deleteMoim(1L, "uid123");
+        moimService.deleteMoim(1L, leader.getId());
 
+        verify(commonMoimCounter).onMoimsRemoved(List.of(1L));
+        verify(friendSuggestionService).onMoimsRemoved(List.of(1L));
+        verify(syncService).recordMoimsRemoved(List.of(1L));
         verify(moimRepository).delete(moim);
     }
 
     @Test
     void deleteMoim_shouldThrowException_whenNotLeader() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(leader));
         when(moimRepository.findById(1L)).thenReturn(Optional.of(moim));
         when(moimPeopleRepository.findLeaderByMoimIdAndUserId(1L, leader.getId())).thenReturn(false);
 
-        assertThatThrownBy(() -> moimService.deleteMoim(1L, "uid123"))
+        assertThatThrownBy(() -> moimService.deleteMoim(1L, leader.getId()))
                 .isInstanceOf(NotLeaderUserException.class)
                 .hasMessageContaining("모임을 삭제할 수 있는 권한이 없습니다");
+        verifyNoInteractions(commonMoimCounter);
     }
 }
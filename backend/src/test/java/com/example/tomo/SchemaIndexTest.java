@@ -0,0 +1,287 @@
+package com.example.tomo;
+
+import com.example.tomo.Friends.FriendLeaderboardRepository;
+import com.example.tomo.Friends.FriendListRepository;
+import com.example.tomo.Friends.FriendRepository;
+import com.example.tomo.Friends.FriendSortType;
+import com.example.tomo.Moim_people.MoimPeopleRepository;
+import com.example.tomo.Promise.PromiseRepository;
+import com.example.tomo.Users.ContactHashRepository;
+import com.example.tomo.Users.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Flyway 마이그레이션으로 만든 스키마에서 각 finder 가 실제로 보내는 SQL 이 인덱스를 타는지 EXPLAIN 으로 검증
+// JDBC 단에서 실행된 SQL 과 바인딩 값을 기록해 그대로 EXPLAIN 하므로 쿼리를 고치면 검증 대상도 따라 바뀐다
+// ddl-auto=validate 로 엔티티 매핑이 마이그레이션 스키마와 맞는지도 함께 확인
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfig.class, SchemaIndexTest.RecordingDataSourceConfig.class,
+        ContactHashRepository.class, FriendLeaderboardRepository.class, FriendListRepository.class})
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaIndexTest {
+
+    static final int ROWS = 200;
+    static final StatementRecorder RECORDER = new StatementRecorder();
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    FriendRepository friendRepository;
+
+    @Autowired
+    MoimPeopleRepository moimPeopleRepository;
+
+    @Autowired
+    PromiseRepository promiseRepository;
+
+    @Autowired
+    ContactHashRepository contactHashRepository;
+
+    @Autowired
+    FriendLeaderboardRepository friendLeaderboardRepository;
+
+    @Autowired
+    FriendListRepository friendListRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 테이블이 너무 작으면 옵티마이저가 풀스캔을 고르므로 데이터를 채워둔다
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> moims = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            users.add(new Object[]{(long) i, "uid-" + i, "user" + i, "user" + i + "@test.com", "010", "token",
+                    "CODE" + i, "TOMO-" + i});
+            moims.add(new Object[]{(long) i, "moim" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_id, firebase_id, username, email, phone, refresh_token, invite_code, "
+                + "legacy_invite_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO moim (moim_id, title) VALUES (?, ?)", moims);
+
+        List<Object[]> friends = new ArrayList<>();
+        List<Object[]> members = new ArrayList<>();
+        List<Object[]> promises = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            long next = i % ROWS + 1;
+            friends.add(new Object[]{Math.min(i, next), Math.max(i, next)});
+            members.add(new Object[]{(long) i, (long) i, true});
+            members.add(new Object[]{(long) i, next, false});
+            promises.add(new Object[]{(long) i, "promise" + i, "2025-01-" + String.format("%02d", i % 28 + 1), "12:00:00"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO friend (user_id, friend_user_id) VALUES (?, ?)", friends);
+        jdbcTemplate.batchUpdate("INSERT INTO moim_people (moim_id, user_id, leader) VALUES (?, ?, ?)", members);
+        jdbcTemplate.batchUpdate("INSERT INTO promise (moim_id, promise_name, promise_date, promise_time) "
+                + "VALUES (?, ?, ?, ?)", promises);
+    }
+
+    static Stream<Arguments> finderQueries() {
+        return Stream.of(
+                finder("UserRepository.findByFirebaseId",
+                        test -> test.userRepository.findByFirebaseId("uid-7")),
+                finder("UserRepository.findByEmail",
+                        test -> test.userRepository.findByEmail("user7@test.com")),
+                finder("UserRepository.findByInviteCode",
+                        test -> test.userRepository.findByInviteCode("CODE7")),
+                finder("UserRepository.findTop2ByLegacyInviteCode",
+                        test -> test.userRepository.findTop2ByLegacyInviteCode("TOMO-7")),
+                finder("ContactHashRepository.findMatches",
+                        test -> test.contactHashRepository.findMatches(List.of("a".repeat(64), "b".repeat(64)))),
+                finder("FriendRepository.existsBetween",
+                        test -> test.friendRepository.existsBetween(8L, 7L)),
+                finder("FriendRepository.findBetween",
+                        test -> test.friendRepository.findBetween(8L, 7L)),
+                finder("FriendRepository.findAllByUserId",
+                        test -> test.friendRepository.findAllByUserId(7L)),
+                finder("FriendListRepository.findFriendRows",
+                        test -> test.friendListRepository.findFriendRows(8L)),
+                finder("FriendListRepository.findPage (score)",
+                        test -> test.friendListRepository.findPage(8L, FriendSortType.SCORE, null, null, 21)),
+                finder("FriendListRepository.findPage (score, cursor)",
+                        test -> test.friendListRepository.findPage(8L, FriendSortType.SCORE, 10, 3L, 21)),
+                finder("FriendListRepository.findPage (created_at)",
+                        test -> test.friendListRepository.findPage(8L, FriendSortType.CREATED_AT, null, null, 21)),
+                finder("FriendListRepository.findPage (created_at, cursor)",
+                        test -> test.friendListRepository.findPage(8L, FriendSortType.CREATED_AT,
+                                LocalDate.of(2025, 1, 8), 3L, 21)),
+                finder("FriendLeaderboardRepository.findTop",
+                        test -> test.friendLeaderboardRepository.findTop(7L, 50)),
+                finder("FriendLeaderboardRepository.countAhead",
+                        test -> test.friendLeaderboardRepository.countAhead(8L, 10, 3L)),
+                finder("MoimPeopleRepository.findLeaderByMoimIdAndUserId",
+                        test -> test.moimPeopleRepository.findLeaderByMoimIdAndUserId(7L, 7L)),
+                finder("MoimPeopleRepository.findUserIdsByMoimId",
+                        test -> test.moimPeopleRepository.findUserIdsByMoimId(7L)),
+                finder("PromiseRepository.existsByMoimIdAndPromiseDateAndPromiseTime",
+                        test -> test.promiseRepository.existsByMoimIdAndPromiseDateAndPromiseTime(
+                                7L, LocalDate.of(2025, 1, 8), LocalTime.NOON)),
+                finder("PromiseRepository.existsByPromiseName",
+                        test -> test.promiseRepository.existsByPromiseName("promise7"))
+        );
+    }
+
+    private static Arguments finder(String name, Consumer<SchemaIndexTest> call) {
+        return Arguments.of(name, call);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finderQueries")
+    void finderShouldUseIndex(String finder, Consumer<SchemaIndexTest> call) {
+        RECORDER.clear();
+        call.accept(this);
+        List<RecordedStatement> selects = RECORDER.statements().stream()
+                .filter(statement -> statement.sql().strip().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertThat(selects).as(finder + " executed no SELECT").isNotEmpty();
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (RecordedStatement statement : selects) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                    statement.parameters().toArray());
+            // Hibernate 는 테이블 별칭(u1_0 등)으로 나오므로 이름 대신 실제 테이블 접근 행을 모두 본다
+            // <derived2>, <union1,3> 같은 임시 결과 읽기와 테이블 없는 행은 제외
+            plan.stream()
+                    .filter(row -> row.get("table") instanceof String table && !table.startsWith("<"))
+                    .forEach(rows::add);
+        }
+        assertThat(rows).as(finder + " plan has no table access: " + selects).isNotEmpty();
+
+        // UNION ALL, 조인 등으로 여러 번 읽으면 모든 접근이 인덱스를 타야 한다
+        for (Map<String, Object> row : rows) {
+            assertThat(row.get("type")).as(finder + " access type: " + row).isNotEqualTo("ALL");
+            assertThat(row.get("key")).as(finder + " index: " + row).isNotNull();
+        }
+    }
+
+    record RecordedStatement(String sql, List<Object> parameters) {
+    }
+
+    // DataSource 를 감싸 실행된 PreparedStatement 의 SQL 과 바인딩 값을 기록 (Hibernate, JdbcTemplate 공통)
+    static class StatementRecorder {
+
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+        void clear() {
+            statements.clear();
+        }
+
+        List<RecordedStatement> statements() {
+            return List.copyOf(statements);
+        }
+
+        DataSource wrap(DataSource target) {
+            return new RecordingDataSource(target);
+        }
+
+        private class RecordingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+            RecordingDataSource(DataSource target) {
+                super(target);
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return connection(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return connection(super.getConnection(username, password));
+            }
+
+            @Override
+            public void close() throws Exception {
+                if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+            }
+        }
+
+        private Connection connection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                            return statement(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement statement(PreparedStatement target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (name.startsWith("execute")) {
+                            statements.add(new RecordedStatement(sql,
+                                    Collections.unmodifiableList(new ArrayList<>(parameters.values()))));
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RECORDER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
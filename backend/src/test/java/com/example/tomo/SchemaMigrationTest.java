@@ -0,0 +1,127 @@
+package com.example.tomo;
+
+import com.example.tomo.global.Config.FlywayConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Flyway 도입 전(ddl-auto 로 만든) 스키마와 데이터가 있는 DB 에 마이그레이션을 적용
+// 버전 0 baseline 후 V1(IF NOT EXISTS → 아무 것도 안 함)부터 끝까지 적용되고,
+// ddl-auto=validate 로 컨텍스트가 뜨면 엔티티 매핑이 마이그레이션된 기존 스키마와 맞는 것
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfig.class, FlywayConfig.class, SchemaMigrationTest.PreSeriesSchemaConfig.class})
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationTest {
+
+    // 기준 엔티티로 ddl-auto 가 만들던 테이블 + 역방향 친구 행 하나
+    static final String PRE_SERIES_SCHEMA = """
+            CREATE TABLE users (
+                user_id BIGINT NOT NULL AUTO_INCREMENT,
+                email VARCHAR(255) NOT NULL,
+                firebase_id VARCHAR(255) NOT NULL,
+                invite_code VARCHAR(255) NOT NULL,
+                phone VARCHAR(255) NOT NULL,
+                refresh_token VARCHAR(255) NOT NULL,
+                username VARCHAR(255) NOT NULL,
+                PRIMARY KEY (user_id)
+            ) ENGINE = InnoDB;
+            CREATE TABLE moim (
+                moim_id BIGINT NOT NULL AUTO_INCREMENT,
+                created_at DATE,
+                description LONGTEXT,
+                title VARCHAR(255),
+                PRIMARY KEY (moim_id)
+            ) ENGINE = InnoDB;
+            CREATE TABLE moim_people (
+                id BIGINT NOT NULL AUTO_INCREMENT,
+                leader BIT,
+                moim_id BIGINT,
+                user_id BIGINT,
+                PRIMARY KEY (id),
+                FOREIGN KEY (moim_id) REFERENCES moim (moim_id),
+                FOREIGN KEY (user_id) REFERENCES users (user_id)
+            ) ENGINE = InnoDB;
+            CREATE TABLE friend (
+                friend_id BIGINT NOT NULL AUTO_INCREMENT,
+                b_score INT,
+                created_at DATE,
+                friendship INT,
+                m_score INT,
+                friend_user_id BIGINT,
+                user_id BIGINT,
+                PRIMARY KEY (friend_id),
+                FOREIGN KEY (friend_user_id) REFERENCES users (user_id),
+                FOREIGN KEY (user_id) REFERENCES users (user_id)
+            ) ENGINE = InnoDB;
+            CREATE TABLE promise (
+                promise_id BIGINT NOT NULL AUTO_INCREMENT,
+                location VARCHAR(255),
+                promise_date DATE,
+                promise_name VARCHAR(255),
+                promise_time TIME(6),
+                moim_id BIGINT,
+                PRIMARY KEY (promise_id),
+                FOREIGN KEY (moim_id) REFERENCES moim (moim_id)
+            ) ENGINE = InnoDB;
+            INSERT INTO users (user_id, email, firebase_id, invite_code, phone, refresh_token, username)
+            VALUES (1, 'a@test.com', 'uid-a', 'TOMO-1234', '010-0000-0001', 'token', 'a'),
+                   (2, 'b@test.com', 'uid-b', 'TOMO-1234', '010-0000-0002', 'token', 'b');
+            INSERT INTO friend (user_id, friend_user_id, friendship, created_at)
+            VALUES (2, 1, 40, '2024-01-01')
+            """;
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class PreSeriesSchemaConfig {
+
+        @Bean
+        FlywayMigrationStrategy preSeriesSchemaThenMigrate(DataSource dataSource) {
+            return flyway -> {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                Arrays.stream(PRE_SERIES_SCHEMA.split(";"))
+                        .filter(statement -> !statement.isBlank())
+                        .forEach(jdbcTemplate::execute);
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_shouldUpgradeExistingPreSeriesSchema() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success = 1 ORDER BY installed_rank", String.class))
+                .startsWith("0", "1", "1.1", "1.2")
+                .endsWith("13");
+
+        // 역방향 행은 (작은 id, 큰 id) 한 행으로 바뀌고 점수는 보존, 공통 모임 수는 집계 전(NULL)
+        Map<String, Object> friend = jdbcTemplate.queryForMap(
+                "SELECT user_id, friend_user_id, friendship, common_moim_count FROM friend");
+        assertThat(friend.get("user_id")).isEqualTo(1L);
+        assertThat(friend.get("friend_user_id")).isEqualTo(2L);
+        assertThat(friend.get("friendship")).isEqualTo(40);
+        assertThat(friend.get("common_moim_count")).isNull();
+
+        // 겹치던 기존 초대 코드는 legacy 컬럼으로 옮겨지고 새 코드는 서로 다르다
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT legacy_invite_code FROM users", String.class))
+                .containsExactly("TOMO-1234");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT invite_code) FROM users", Integer.class))
+                .isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scheduler_lease", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.tomo.Sync;
+
+import com.example.tomo.Moim.dtos.getMoimResponseDto;
+import com.example.tomo.Sync.SyncRepository.ChangeRow;
+import com.example.tomo.Sync.SyncRepository.SyncState;
+import com.example.tomo.Sync.dtos.ResponseSyncDto;
+import com.example.tomo.Sync.dtos.SyncFriendDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    @Mock
+    SyncRepository syncRepository;
+
+    SyncService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SyncService(syncRepository, 30);
+    }
+
+    @Test
+    void recordFriendsChanged_shouldGiveEachUserConsecutiveVersions() {
+        // 1 은 두 건 → 버전 2 증가, 2, 3 은 한 건씩
+        when(syncRepository.incrementVersions(Map.of(1L, 2, 2L, 1, 3L, 1)))
+                .thenReturn(Map.of(1L, 12L, 2L, 5L, 3L, 1L));
+
+        service.recordFriendsChanged(1L, List.of(2L, 3L), false);
+
+        verify(syncRepository).upsertChanges(List.of(
+                new ChangeRow(1L, SyncEntityType.FRIEND, 2L, 11L, false),
+                new ChangeRow(2L, SyncEntityType.FRIEND, 1L, 5L, false),
+                new ChangeRow(1L, SyncEntityType.FRIEND, 3L, 12L, false),
+                new ChangeRow(3L, SyncEntityType.FRIEND, 1L, 1L, false)));
+    }
+
+    @Test
+    void recordUserChanged_shouldRecordFriendChangeForEveryFriend() {
+        when(syncRepository.findFriendIds(1L)).thenReturn(List.of(2L, 3L));
+        when(syncRepository.incrementVersions(Map.of(2L, 1, 3L, 1))).thenReturn(Map.of(2L, 8L, 3L, 4L));
+
+        service.recordUserChanged(1L);
+
+        verify(syncRepository).upsertChanges(List.of(
+                new ChangeRow(2L, SyncEntityType.FRIEND, 1L, 8L, false),
+                new ChangeRow(3L, SyncEntityType.FRIEND, 1L, 4L, false)));
+    }
+
+    @Test
+    void recordMoimsRemoved_shouldTombstoneMoimAndItsPromisesForEveryMember() {
+        when(syncRepository.findMemberIdsByMoimIds(List.of(10L))).thenReturn(Map.of(10L, List.of(1L, 2L)));
+        when(syncRepository.findPromiseIdsByMoimIds(List.of(10L))).thenReturn(Map.of(10L, List.of(100L)));
+        when(syncRepository.incrementVersions(Map.of(1L, 2, 2L, 2))).thenReturn(Map.of(1L, 2L, 2L, 7L));
+
+        service.recordMoimsRemoved(List.of(10L));
+
+        verify(syncRepository).upsertChanges(List.of(
+                new ChangeRow(1L, SyncEntityType.MOIM, 10L, 1L, true),
+                new ChangeRow(1L, SyncEntityType.PROMISE, 100L, 2L, true),
+                new ChangeRow(2L, SyncEntityType.MOIM, 10L, 6L, true),
+                new ChangeRow(2L, SyncEntityType.PROMISE, 100L, 7L, true)));
+    }
+
+    @Test
+    void sync_shouldRequestFullResyncForMissingOrCompactedOrUnknownVersion() {
+        when(syncRepository.findState(1L)).thenReturn(Optional.of(new SyncState(50L, 20L)));
+
+        assertThat(service.sync(1L, null).fullResync()).isTrue();
+        assertThat(service.sync(1L, 10L).fullResync()).isTrue();
+        assertThat(service.sync(1L, 60L).fullResync()).isTrue();
+        assertThat(service.sync(1L, 10L).version()).isEqualTo(50L);
+        verify(syncRepository, never()).findChangesAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void sync_shouldReturnCurrentValuesAndTurnVanishedUpsertsIntoRemovals() {
+        when(syncRepository.findState(1L)).thenReturn(Optional.of(new SyncState(44L, 0L)));
+        when(syncRepository.findChangesAfter(1L, 40L, SyncService.PAGE_SIZE + 1)).thenReturn(List.of(
+                new ChangeRow(1L, SyncEntityType.FRIEND, 2L, 41L, false),
+                new ChangeRow(1L, SyncEntityType.FRIEND, 3L, 42L, true),
+                new ChangeRow(1L, SyncEntityType.MOIM, 10L, 43L, false),
+                new ChangeRow(1L, SyncEntityType.PROMISE, 100L, 44L, false)));
+        SyncFriendDto friend = new SyncFriendDto(2L, "b@test.com", "b", 10, LocalDate.of(2025, 1, 1));
+        getMoimResponseDto moim = new getMoimResponseDto(10L, "title", "desc", 3, false, LocalDate.of(2025, 1, 1));
+        when(syncRepository.findFriends(1L, List.of(2L))).thenReturn(List.of(friend));
+        when(syncRepository.findMoims(1L, List.of(10L))).thenReturn(List.of(moim));
+        when(syncRepository.findPromises(1L, List.of(100L))).thenReturn(List.of());
+
+        ResponseSyncDto response = service.sync(1L, 40L);
+
+        assertThat(response.fullResync()).isFalse();
+        assertThat(response.hasMore()).isFalse();
+        assertThat(response.version()).isEqualTo(44L);
+        assertThat(response.friends()).containsExactly(friend);
+        assertThat(response.moims()).containsExactly(moim);
+        assertThat(response.removedFriendIds()).containsExactly(3L);
+        assertThat(response.removedMoimIds()).isEmpty();
+        // 기록 뒤 모임에서 나가 더 이상 볼 수 없는 약속
+        assertThat(response.removedPromiseIds()).containsExactly(100L);
+    }
+
+    @Test
+    void sync_shouldStopAtPageSizeAndReturnLastIncludedVersion() {
+        when(syncRepository.findState(1L)).thenReturn(Optional.of(new SyncState(1000L, 0L)));
+        List<ChangeRow> changes = new ArrayList<>();
+        for (long version = 2; version <= SyncService.PAGE_SIZE + 2; version++) {
+            changes.add(new ChangeRow(1L, SyncEntityType.FRIEND, version + 100, version, true));
+        }
+        when(syncRepository.findChangesAfter(1L, 1L, SyncService.PAGE_SIZE + 1)).thenReturn(changes);
+
+        ResponseSyncDto response = service.sync(1L, 1L);
+
+        assertThat(response.hasMore()).isTrue();
+        assertThat(response.version()).isEqualTo(SyncService.PAGE_SIZE + 1L);
+        assertThat(response.removedFriendIds()).hasSize(SyncService.PAGE_SIZE);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.tomo.Users;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ContactHasherTest {
+
+    ContactHasher hasher = new ContactHasher("test-contact-salt-0001");
+
+    @Test
+    void email_shouldIgnoreCaseAndSurroundingSpaces() {
+        assertThat(hasher.email(" Tomo@Test.com ")).isEqualTo(hasher.email("tomo@test.com"))
+                .hasSize(64)
+                .matches("[0-9a-f]+");
+    }
+
+    @Test
+    void phone_shouldNormalizeFormattingAndCountryCode() {
+        String local = hasher.phone("01012345678");
+
+        assertThat(hasher.phone("010-1234-5678")).isEqualTo(local);
+        assertThat(hasher.phone("+82 10-1234-5678")).isEqualTo(local);
+        assertThat(hasher.phone("---")).isNull();
+        assertThat(hasher.phone(null)).isNull();
+    }
+
+    @Test
+    void constructor_shouldRejectMissingOrShortSalt() {
+        assertThatThrownBy(() -> new ContactHasher(""))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new ContactHasher("tomo-contact-v1"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void hash_shouldDependOnSalt() {
+        assertThat(new ContactHasher("test-contact-salt-0002").email("tomo@test.com")).isNotEqualTo(hasher.email("tomo@test.com"));
+    }
+}
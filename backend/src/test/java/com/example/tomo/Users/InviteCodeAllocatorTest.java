@@ -0,0 +1,71 @@
+package com.example.tomo.Users;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InviteCodeAllocatorTest {
+
+    @Mock
+    InviteCodePoolRepository poolRepository;
+
+    InviteCodeAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new InviteCodeAllocator(poolRepository, 1000, 100);
+    }
+
+    private static List<String> codes(int from, int count) {
+        return IntStream.range(from, from + count).mapToObj(i -> "CODE" + i).toList();
+    }
+
+    @Test
+    void allocate_shouldHandOutEachClaimedCodeOnceUnderConcurrency() throws InterruptedException {
+        when(poolRepository.claim(100)).thenReturn(codes(0, 100), codes(100, 100), codes(200, 100));
+
+        Set<String> allocated = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch done = new CountDownLatch(250);
+        for (int i = 0; i < 250; i++) {
+            executor.execute(() -> {
+                allocated.add(allocator.allocate());
+                done.countDown();
+            });
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(allocated).hasSize(250);
+        verify(poolRepository, times(3)).claim(100);
+    }
+
+    @Test
+    void refill_shouldTopUpPoolWithUniqueCodesAndClaimBatch() {
+        when(poolRepository.countUnclaimed()).thenReturn(400);
+        when(poolRepository.claim(100)).thenReturn(codes(0, 100));
+
+        allocator.refill();
+
+        verify(poolRepository).insertUnused(argThat(codes -> codes.size() == 600
+                && new HashSet<>(codes).size() == 600
+                && codes.stream().allMatch(code -> code.matches("[0-9A-HJKMNP-TV-Z]{8}"))));
+        assertThat(allocator.localSize()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.tomo.Users;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryIndexTest {
+
+    @Mock
+    UserDirectoryRepository repository;
+
+    UserDirectoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserDirectoryIndex(repository);
+    }
+
+    // forEachAfter 호출 시 afterId 보다 큰 사용자만 전달
+    private void givenUsers(UserDirectoryEntry... users) {
+        doAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Consumer<UserDirectoryEntry> consumer = invocation.getArgument(1);
+            for (UserDirectoryEntry user : users) {
+                if (user.id() > afterId) {
+                    consumer.accept(user);
+                }
+            }
+            return null;
+        }).when(repository).forEachAfter(anyLong(), any());
+    }
+
+    private List<Long> suggestIds(String query) {
+        return index.suggest(query, 10, null).stream().map(UserDirectoryEntry::id).toList();
+    }
+
+    @Test
+    void suggest_shouldMatchUsernameAndInviteCodePrefixesAndExactEmail() {
+        givenUsers(
+                new UserDirectoryEntry(1L, "Kim Minsu", "mskim@test.com", "7K3QX9PA"),
+                new UserDirectoryEntry(2L, "Lee", "lee@test.com", "U0000002"),
+                new UserDirectoryEntry(3L, "김토모", "tomo@test.com", "A1B2C3D4"));
+        index.rebuild();
+
+        assertThat(suggestIds("min")).containsExactly(1L);   // 이름의 두 번째 단어
+        assertThat(suggestIds("MSKIM@test.com")).containsExactly(1L);   // 이메일 전체, 대소문자 무시
+        assertThat(suggestIds("msk")).isEmpty();             // 이메일 접두어로는 찾을 수 없음
+        assertThat(suggestIds("lee@te")).isEmpty();
+        assertThat(suggestIds("7k3q")).containsExactly(1L);
+        assertThat(suggestIds("김토")).containsExactly(3L);
+        assertThat(suggestIds("zzz")).isEmpty();
+        assertThat(suggestIds(" ")).isEmpty();
+        assertThat(suggestIds("k")).isEmpty();               // 한 글자는 받지 않음
+    }
+
+    @Test
+    void suggest_shouldRankExactAndCloserMatchesFirst() {
+        givenUsers(
+                new UserDirectoryEntry(1L, "johnathan", "a@test.com", "AAAAAAA1"),
+                new UserDirectoryEntry(2L, "johnny", "b@test.com", "AAAAAAA2"),
+                new UserDirectoryEntry(3L, "someone", "john@test.com", "AAAAAAA3"),
+                new UserDirectoryEntry(4L, "john", "c@test.com", "AAAAAAA4"));
+        index.rebuild();
+
+        assertThat(suggestIds("john")).containsExactly(4L, 2L, 1L);
+        assertThat(suggestIds("john@test.com")).containsExactly(3L);
+        assertThat(index.suggest("john", 2, 4L)).extracting(UserDirectoryEntry::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void putAndRemove_shouldBeVisibleWithoutRebuild() {
+        givenUsers(new UserDirectoryEntry(1L, "alice", "alice@test.com", "AAAAAAA1"));
+        index.rebuild();
+
+        index.put(new UserDirectoryEntry(2L, "alicia", "alicia@test.com", "AAAAAAA2"));
+        assertThat(suggestIds("ali")).containsExactly(1L, 2L);
+
+        // 이름 변경 후 이전 이름으로는 찾을 수 없음
+        index.put(new UserDirectoryEntry(2L, "bob", "alicia@test.com", "AAAAAAA2"));
+        assertThat(suggestIds("bo")).containsExactly(2L);
+        assertThat(suggestIds("alicia@test.com")).containsExactly(2L);   // 이메일 전체로는 여전히 일치
+        assertThat(suggestIds("alici")).isEmpty();
+
+        index.remove(1L);
+        assertThat(suggestIds("alice")).isEmpty();
+    }
+
+    @Test
+    void pollNewUsers_shouldAppendUsersCreatedElsewhere() {
+        UserDirectoryEntry first = new UserDirectoryEntry(1L, "alice", "alice@test.com", "AAAAAAA1");
+        givenUsers(first);
+        index.rebuild();
+
+        givenUsers(first, new UserDirectoryEntry(5L, "alina", "alina@test.com", "AAAAAAA5"));
+        index.pollNewUsers();
+
+        assertThat(suggestIds("ali")).containsExactly(1L, 5L);
+        verify(repository).forEachAfter(eq(1L), any());
+    }
+
+    @Test
+    void rebuild_shouldKeepChangesMadeWhileStreaming() {
+        doAnswer(invocation -> {
+            Consumer<UserDirectoryEntry> consumer = invocation.getArgument(1);
+            consumer.accept(new UserDirectoryEntry(1L, "alice", "alice@test.com", "AAAAAAA1"));
+            // 스트리밍 도중 가입/탈퇴
+            index.put(new UserDirectoryEntry(2L, "alina", "alina@test.com", "AAAAAAA2"));
+            index.remove(1L);
+            return null;
+        }).when(repository).forEachAfter(eq(0L), any());
+
+        index.rebuild();
+
+        assertThat(suggestIds("ali")).containsExactly(2L);
+    }
+}
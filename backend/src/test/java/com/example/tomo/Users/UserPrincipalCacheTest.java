@@ -0,0 +1,63 @@
+package com.example.tomo.Users;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalCacheTest {
+
+    @Mock
+    UserRepository userRepository;
+
+    UserPrincipalCache cache;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(userRepository, 100, 300);
+        user = new User(1L, "uid-1", "tomo", "tomo@test.com");
+    }
+
+    @Test
+    void get_shouldLoadOnceAndServeFromCache() {
+        when(userRepository.findByFirebaseId("uid-1")).thenReturn(Optional.of(user));
+
+        UserPrincipal first = cache.get("uid-1");
+        UserPrincipal second = cache.get("uid-1");
+
+        assertThat(first).isEqualTo(new UserPrincipal(1L, "uid-1", "tomo@test.com", "tomo", 0));
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findByFirebaseId("uid-1");
+    }
+
+    @Test
+    void evict_shouldReloadOnNextGet() {
+        when(userRepository.findByFirebaseId("uid-1")).thenReturn(Optional.of(user));
+
+        cache.get("uid-1");
+        cache.evict("uid-1");
+        cache.get("uid-1");
+
+        verify(userRepository, times(2)).findByFirebaseId("uid-1");
+    }
+
+    @Test
+    void get_shouldThrowAndNotCache_whenUserNotFound() {
+        when(userRepository.findByFirebaseId("unknown")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cache.get("unknown")).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> cache.get("unknown")).isInstanceOf(EntityNotFoundException.class);
+
+        verify(userRepository, times(2)).findByFirebaseId("unknown");
+    }
+}
@@ -1,13 +1,26 @@
 package com.example.tomo.Users;
 
+import com.example.tomo.Friends.CommonMoimCounter;
 import com.example.tomo.Friends.Friend;
+import com.example.tomo.Friends.FriendGraph;
+import com.example.tomo.Friends.FriendLeaderboardService;
 import com.example.tomo.Friends.FriendRepository;
+import com.example.tomo.Friends.FriendSuggestionService;
 import com.example.tomo.Moim.MoimRepository;
 import com.example.tomo.Moim_people.MoimPeopleRepository;
+import com.example.tomo.Sync.SyncService;
+import com.example.tomo.Users.dtos.RequestUpdateProfileDto;
 import com.example.tomo.Users.dtos.RequestUserSignDto;
+import com.example.tomo.Users.dtos.ResponseMyProfileDto;
 import com.example.tomo.Users.dtos.ResponsePostUniformDto;
+import com.example.tomo.Users.dtos.ResponseUserSuggestionDto;
 import com.example.tomo.Users.dtos.getFriendResponseDto;
+import com.example.tomo.global.Auth.AccessTokenRevocationList;
+import com.example.tomo.global.Auth.RefreshTokenStore;
+import com.example.tomo.global.Exception.RateLimitExceededException;
 import com.example.tomo.global.SelfFriendRequestException;
+import com.example.tomo.jwt.JwtTokenProvider;
+import com.example.tomo.jwt.VerifiedAccessToken;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +44,19 @@ class UserServiceTest {
     @Mock FriendRepository friendRepository;
     @Mock MoimPeopleRepository moimPeopleRepository;
     @Mock MoimRepository moimRepository;
+    @Mock CommonMoimCounter commonMoimCounter;
+    @Mock UserPrincipalCache userPrincipalCache;
+    @Mock JwtTokenProvider jwtTokenProvider;
+    @Mock RefreshTokenStore refreshTokenStore;
+    @Mock AccessTokenRevocationList revocationList;
+    @Mock InviteCodeAllocator inviteCodeAllocator;
+    @Mock UserDirectoryIndex userDirectoryIndex;
+    @Mock UserSuggestionLimiter userSuggestionLimiter;
+    @Mock ContactHasher contactHasher;
+    @Mock FriendGraph friendGraph;
+    @Mock FriendSuggestionService friendSuggestionService;
+    @Mock SyncService syncService;
+    @Mock FriendLeaderboardService friendLeaderboardService;
 
     @InjectMocks UserService userService;
 
@@ -49,8 +76,8 @@ class UserServiceTest {
 
     @BeforeEach
     void setup() {
-        user = new User("uid-1", "tomo", "tomo@test.com");
-        friend = new User("uid-2", "john", "john@test.com");
+        user = new User(1L, "uid-1", "tomo", "tomo@test.com");
+        friend = new User(2L, "uid-2", "john", "john@test.com");
     }
     @Test
     void userSignUp_shouldThrowException_whenUserNotFound() {
@@ -79,7 +106,7 @@ class UserServiceTest {
     @Test
     void alreadyFriend_shouldReturnTrue_whenExists() {
         // given
-        when(friendRepository.existsByUserAndFriend(user, friend))
+        when(friendRepository.existsBetween(1L, 2L))
                 .thenReturn(true);
 
         // when
@@ -91,7 +118,7 @@ class UserServiceTest {
     @Test
     void alreadyFriend_shouldReturnFalse_whenNotExists() {
         // given
-        when(friendRepository.existsByUserAndFriend(user, friend))
+        when(friendRepository.existsBetween(1L, 2L))
                 .thenReturn(false);
 
         // when
@@ -103,37 +130,33 @@ class UserServiceTest {
     @Test
     void getUser_shouldReturnUserByEmail() {
         when(userRepository.findByEmail("query@test.com")).thenReturn(Optional.of(user));
-        when(userRepository.findByInviteCode("query@test.com")).thenReturn(Optional.empty());
 
         User result = invokeGetUser("query@test.com");
 
         assertThat(result).isEqualTo(user);
+        verify(userRepository, never()).findByInviteCode(any());
     }
 
     @Test
     void getUser_shouldReturnUserByInviteCode() {
-        when(userRepository.findByEmail("invite123")).thenReturn(Optional.empty());
         when(userRepository.findByInviteCode("invite123")).thenReturn(Optional.of(friend));
 
         User result = invokeGetUser("invite123");
 
         assertThat(result).isEqualTo(friend);
+        verify(userRepository, never()).findByEmail(any());
     }
 
     @Test
-    void getUser_shouldThrowException_whenBothEmailAndInviteMatch() {
-        when(userRepository.findByEmail("duplicate")).thenReturn(Optional.of(user));
-        when(userRepository.findByInviteCode("duplicate")).thenReturn(Optional.of(friend));
-
-        assertThatThrownBy(() -> userService.getUser("duplicate"))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("하나만 전달해야");
+    void getUser_shouldRejectBlankQuery() {
+        assertThatThrownBy(() -> userService.getUser(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(userRepository);
     }
 
 
     @Test
     void getUser_shouldThrowException_whenBothAreNull() {
-        when(userRepository.findByEmail("none")).thenReturn(Optional.empty());
         when(userRepository.findByInviteCode("none")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.getUser("none"))
@@ -143,82 +166,109 @@ class UserServiceTest {
 
     @Test
     void addFriends_shouldAddFriendSuccessfully() {
-        // 1. 로그인한 사용자 조회
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
+        // 1. 로그인한 사용자 (조회 없이 참조)
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
 
         // 2. 친구 조회 (getUser)
         when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friend));
-        when(userRepository.findByInviteCode("friend@test.com")).thenReturn(Optional.empty());
 
         // 3. 이미 친구 여부
-        when(friendRepository.existsByUserAndFriend(user, friend)).thenReturn(false);
+        when(friendRepository.existsBetween(1L, 2L)).thenReturn(false);
 
         // 4. 회원가입 여부 검증 (userSignUp)
         when(userRepository.findByEmail(friend.getEmail())).thenReturn(Optional.of(friend));
 
         // 테스트 실행
-        ResponsePostUniformDto result = userService.addFriends("uid123", "friend@test.com");
+        ResponsePostUniformDto result = userService.addFriends(1L, "friend@test.com");
 
         assertThat(result.isSuccess()).isTrue();
-        verify(friendRepository, times(2)).save(any(Friend.class));
+        verify(userRepository, never()).findByFirebaseId(anyString());
+        verify(commonMoimCounter).initialize(any(Friend.class));
+        verify(friendRepository).save(any(Friend.class));
+        verify(friendGraph).addFriendship(1L, 2L);
+        verify(friendSuggestionService).onFriendshipChanged(1L, 2L);
+        verify(syncService).recordFriendChanged(1L, 2L, false);
+        verify(friendLeaderboardService).onFriendshipChanged(1L, 2L);
     }
 
     @Test
     void addFriends_shouldThrowSelfFriendRequestException() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(userRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
 
-        assertThatThrownBy(() -> userService.addFriends("uid123", "user@test.com"))
+        assertThatThrownBy(() -> userService.addFriends(1L, "user@test.com"))
                 .isInstanceOf(SelfFriendRequestException.class);
     }
     @Test
     void addFriends_shouldThrowEntityExistsException() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friend));
-        when(friendRepository.existsByUserAndFriend(user, friend)).thenReturn(true);
+        when(friendRepository.existsBetween(1L, 2L)).thenReturn(true);
 
-        assertThatThrownBy(() -> userService.addFriends("uid123", "friend@test.com"))
+        assertThatThrownBy(() -> userService.addFriends(1L, "friend@test.com"))
                 .isInstanceOf(EntityExistsException.class);
     }
     @Test
-    void addFriends_shouldThrowEntityNotFoundException_whenUserSignUpFails() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
+    void addFriends_shouldThrowEntityExistsException_whenConcurrentAddWinsUniqueKey() {
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friend));
-        when(friendRepository.existsByUserAndFriend(user, friend)).thenReturn(false);
-        when(userRepository.findByEmail(friend.getEmail())).thenReturn(Optional.empty());
+        when(friendRepository.existsBetween(1L, 2L)).thenReturn(false);
+        when(userRepository.findByEmail(friend.getEmail())).thenReturn(Optional.of(friend));
+        when(friendRepository.save(any(Friend.class))).thenThrow(new DataIntegrityViolationException("uk_friend_user_friend"));
 
-        assertThatThrownBy(() -> userService.addFriends("uid123", "friend@test.com"))
-                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> userService.addFriends(1L, "friend@test.com"))
+                .isInstanceOf(EntityExistsException.class);
+        verifyNoInteractions(friendGraph, friendSuggestionService);
     }
 
     @Test
-    void addFriends_shouldThrowIllegalArgumentException_whenEmailAndInviteBothExist() {
-        User other = new User(3L, "uid789", "other", "other@test.com");
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
-        when(userRepository.findByEmail("dup")).thenReturn(Optional.of(friend));
-        when(userRepository.findByInviteCode("dup")).thenReturn(Optional.of(other));
+    void addFriends_shouldThrowEntityNotFoundException_whenUserSignUpFails() {
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friend));
+        when(friendRepository.existsBetween(1L, 2L)).thenReturn(false);
+        when(userRepository.findByEmail(friend.getEmail())).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> userService.addFriends("uid123", "dup"))
-                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> userService.addFriends(1L, "friend@test.com"))
+                .isInstanceOf(EntityNotFoundException.class);
     }
+
     @Test
     void addFriends_shouldThrowIllegalArgumentException_whenQueryNotFound() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
-        when(userRepository.findByEmail("none")).thenReturn(Optional.empty());
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(userRepository.findByInviteCode("none")).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> userService.addFriends("uid123", "none"))
+        assertThatThrownBy(() -> userService.addFriends(1L, "none"))
                 .isInstanceOf(IllegalArgumentException.class);
     }
     @Test
     void signUser_shouldSaveUser_whenAvailable() {
         RequestUserSignDto dto = new RequestUserSignDto("uuid1", "name", "email@test.com");
         when(userRepository.findByFirebaseId("uuid1")).thenReturn(Optional.empty());
+        when(inviteCodeAllocator.allocate()).thenReturn("7K3QX9PA");
+        when(contactHasher.email("email@test.com")).thenReturn("email-hash");
 
         ResponsePostUniformDto result = userService.signUser(dto);
 
         assertThat(result.isSuccess()).isTrue();
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).save(argThat(saved -> "7K3QX9PA".equals(saved.getInviteCode())
+                && "email-hash".equals(saved.getEmailHash())));
+        verify(userDirectoryIndex).put(argThat(entry -> "7K3QX9PA".equals(entry.inviteCode())));
+    }
+
+    @Test
+    void getUser_shouldFallBackToLegacyInviteCode() {
+        when(userRepository.findTop2ByLegacyInviteCode("TOMO-id-2")).thenReturn(List.of(friend));
+
+        assertThat(userService.getUser("TOMO-id-2")).isEqualTo(friend);
+        verify(userRepository, never()).findByInviteCode(any());
+    }
+
+    @Test
+    void getUser_shouldRejectAmbiguousLegacyInviteCode() {
+        when(userRepository.findTop2ByLegacyInviteCode("TOMO-id-2")).thenReturn(List.of(friend, user));
+
+        assertThatThrownBy(() -> userService.getUser("TOMO-id-2"))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
@@ -230,41 +280,95 @@ class UserServiceTest {
                 .isInstanceOf(EntityExistsException.class);
     }
     @Test
-    void logout_shouldClearRefreshToken() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
-
-        userService.logout("uid123");
-
-        assertThat(user.getRefreshToken()).isNull();
-        verify(userRepository).save(user);
+    void logout_shouldRevokeRefreshTokensAndInvalidateEveryAccessToken() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        int versionBefore = user.getTokenVersion();
+
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        VerifiedAccessToken accessToken = new VerifiedAccessToken(UserPrincipal.from(user), "jti-1", expiresAt);
+
+        userService.logout(1L, accessToken);
+
+        verify(refreshTokenStore).revokeAll(1L);
+        verify(revocationList).revoke("jti-1", expiresAt);
+        // 다른 기기의 AccessToken 은 토큰 버전 불일치로 거부된다
+        assertThat(user.getTokenVersion()).isEqualTo(versionBefore + 1);
+        verify(userRepository, never()).save(any());
+        verify(userPrincipalCache).evict("uid-1");
+        verify(jwtTokenProvider).evictVerifiedTokens("uid-1");
     }
 
     @Test
     void logout_shouldThrowEntityNotFoundException_whenUserNotFound() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.empty());
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> userService.logout("uid123"))
+        assertThatThrownBy(() -> userService.logout(1L, null))
                 .isInstanceOf(EntityNotFoundException.class);
     }
     @Test
     void deleteUser_shouldDeleteUserAndRelatedData() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(moimPeopleRepository.findLeaderMoimIds(user.getId())).thenReturn(List.of(10L));
 
-        userService.deleteUser("uid123");
+        userService.deleteUser(1L);
 
+        verify(commonMoimCounter).onMoimsRemoved(List.of(10L));
         verify(moimPeopleRepository).deleteMoimPeopleByMoimIds(List.of(10L));
         verify(moimRepository).deleteMoimsByIds(List.of(10L));
         verify(moimPeopleRepository).deleteUserFromNonLeaderMoims(user.getId());
         verify(friendRepository).deleteAllByUserId(user.getId());
+        verify(friendGraph).removeUser(1L);
+        verify(friendSuggestionService).onMoimsRemoved(List.of(10L));
+        verify(friendSuggestionService).onUserDeleted(1L);
+        verify(syncService).recordMoimsRemoved(List.of(10L));
+        verify(syncService).recordUserRemoved(1L);
+        verify(friendLeaderboardService).onUserDeleted(1L);
+        verify(refreshTokenStore).deleteAll(1L);
         verify(userRepository).delete(user);
+        verify(userDirectoryIndex).remove(1L);
+        verify(userPrincipalCache).evict("uid-1");
+        verify(jwtTokenProvider).evictVerifiedTokens("uid-1");
+    }
+
+    @Test
+    void getMyProfile_shouldReturnOwnUniqueInviteCode() {
+        user.setInviteCode("7K3QX9PA");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        ResponseMyProfileDto profile = userService.getMyProfile(1L);
+
+        assertThat(profile.getUsername()).isEqualTo("tomo");
+        assertThat(profile.getEmail()).isEqualTo("tomo@test.com");
+        assertThat(profile.getInviteCode()).isEqualTo("7K3QX9PA");
+    }
+
+    @Test
+    void updateProfile_shouldBumpTokenVersionAndIssueNewAccessToken() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.createAccessToken(any(UserPrincipal.class))).thenReturn("new-token");
+
+        String token = userService.updateProfile(1L, new RequestUpdateProfileDto("새이름"));
+
+        assertThat(token).isEqualTo("new-token");
+        assertThat(user.getUsername()).isEqualTo("새이름");
+        assertThat(user.getTokenVersion()).isEqualTo(1);
+        verify(userPrincipalCache).evict("uid-1");
+        verify(syncService).recordUserChanged(1L);
+        verify(jwtTokenProvider).createAccessToken(new UserPrincipal(1L, "uid-1", user.getEmail(), "새이름", 1));
+    }
+
+    @Test
+    void updateProfile_shouldRejectBlankUsername() {
+        assertThatThrownBy(() -> userService.updateProfile(1L, new RequestUpdateProfileDto(" ")))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void deleteUser_shouldThrowEntityNotFoundException_whenUserNotFound() {
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.empty());
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> userService.deleteUser("uid123"))
+        assertThatThrownBy(() -> userService.deleteUser(1L))
                 .isInstanceOf(EntityNotFoundException.class);
     }
 
@@ -272,7 +376,6 @@ class UserServiceTest {
     void getUserInfo_shouldReturnDto() {
         // given
         when(userRepository.findByEmail("friend@test.com")).thenReturn(Optional.of(friend));
-        when(userRepository.findByInviteCode("friend@test.com")).thenReturn(Optional.empty());
 
         // when
         getFriendResponseDto result = userService.getUserInfo("friend@test.com");
@@ -281,28 +384,25 @@ class UserServiceTest {
         assertThat(result.username()).isEqualTo(friend.getUsername());
         assertThat(result.email()).isEqualTo(friend.getEmail());
     }
+
     @Test
-    void saveRefreshToken_shouldUpdateToken() {
-        // given
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.of(user));
+    void suggestUsers_shouldClampSizeAndExcludeSelf() {
+        when(userDirectoryIndex.suggest("jo", UserService.MAX_SUGGESTION_SIZE, 1L))
+                .thenReturn(List.of(new UserDirectoryEntry(2L, "john", "john@test.com", "7K3QX9PA")));
 
-        // when
-        userService.saveRefreshToken("uid123", "newToken");
+        List<ResponseUserSuggestionDto> result = userService.suggestUsers(1L, "jo", 500);
 
-        // then
-        assertThat(user.getRefreshToken()).isEqualTo("newToken");
-        verify(userRepository).save(user);
+        assertThat(result).containsExactly(new ResponseUserSuggestionDto("john", "jo***@test.com", "7K3QX9PA"));
+        verify(userSuggestionLimiter).check(1L);
     }
 
     @Test
-    void saveRefreshToken_shouldThrowException_whenUserNotFound() {
-        // given
-        when(userRepository.findByFirebaseId("uid123")).thenReturn(Optional.empty());
+    void suggestUsers_shouldStopWhenRateLimited() {
+        doThrow(new RateLimitExceededException("limit")).when(userSuggestionLimiter).check(1L);
 
-        // then
-        assertThatThrownBy(() -> userService.saveRefreshToken("uid123", "token"))
-                .isInstanceOf(EntityNotFoundException.class)
-                .hasMessageContaining("로그인 되지 않은 사용자입니다.");
+        assertThatThrownBy(() -> userService.suggestUsers(1L, "jo", null))
+                .isInstanceOf(RateLimitExceededException.class);
+        verifyNoInteractions(userDirectoryIndex);
     }
 
 
@@ -0,0 +1,125 @@
+package com.example.tomo.firebase;
+
+import com.example.tomo.global.Exception.InvalidTokenException;
+import com.example.tomo.global.Exception.TokenExpiredException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LocalIdTokenVerifierTest {
+
+    static final String PROJECT_ID = "tomo-test";
+
+    KeyPair keyPair;
+    SimpleMeterRegistry meterRegistry;
+    LocalIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        meterRegistry = new SimpleMeterRegistry();
+        CachedIdTokenKeys keys = new CachedIdTokenKeys(
+                StaticIdTokenKeySource.of(Map.of("kid-1", keyPair.getPublic())), meterRegistry);
+        keys.load();
+        verifier = new LocalIdTokenVerifier(keys, PROJECT_ID, meterRegistry);
+    }
+
+    private String idToken(String kid, String audience, long expiresInMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setSubject("uid-1")
+                .setIssuer(LocalIdTokenVerifier.ISSUER_PREFIX + PROJECT_ID)
+                .setAudience(audience)
+                .claim("auth_time", now / 1000)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiresInMillis))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    @Test
+    void verifyAndGetUid_shouldReturnSubjectForValidToken() {
+        assertThat(verifier.verifyAndGetUid(idToken("kid-1", PROJECT_ID, 60_000))).isEqualTo("uid-1");
+        assertThat(meterRegistry.counter("firebase.id_token.keys", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("firebase.id_token.verify", "result", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void verifyAndGetUid_shouldRejectOtherProject() {
+        assertThatThrownBy(() -> verifier.verifyAndGetUid(idToken("kid-1", "other-project", 60_000)))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void verifyAndGetUid_shouldRejectUnknownKid() {
+        assertThatThrownBy(() -> verifier.verifyAndGetUid(idToken("kid-unknown", PROJECT_ID, 60_000)))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThat(meterRegistry.counter("firebase.id_token.keys", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    void verifyAndGetUid_shouldReportExpiredToken() {
+        assertThatThrownBy(() -> verifier.verifyAndGetUid(idToken("kid-1", PROJECT_ID, -120_000)))
+                .isInstanceOf(TokenExpiredException.class);
+    }
+
+    @Test
+    void refresh_shouldKeepPreviousKeysWhenSourceFails() {
+        CachedIdTokenKeys keys = new CachedIdTokenKeys(new IdTokenKeySource() {
+            int calls;
+
+            @Override
+            public IdTokenKeySet fetch() throws IOException {
+                if (calls++ > 0) {
+                    throw new IOException("down");
+                }
+                return new IdTokenKeySet(Map.of("kid-1", keyPair.getPublic()), Instant.now());
+            }
+        }, meterRegistry);
+        keys.load();
+
+        keys.refreshIfExpiring();
+
+        assertThat(keys.get("kid-1")).isEqualTo(keyPair.getPublic());
+    }
+
+    @Test
+    void get_shouldRefreshOnceForRepeatedUnknownKidsWithinInterval() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        CachedIdTokenKeys keys = new CachedIdTokenKeys(() -> {
+            calls.incrementAndGet();
+            return new IdTokenKeySet(Map.of("kid-1", keyPair.getPublic()), Instant.now());
+        }, meterRegistry, Duration.ofMinutes(1));
+        keys.load();
+
+        assertThat(keys.get("forged-1")).isNull();
+        // 백그라운드 갱신이 끝날 때까지 대기
+        for (int i = 0; i < 100 && calls.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertThat(keys.get("forged-" + i)).isNull();
+        }
+        Thread.sleep(100);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.tomo.jwt;
+
+import com.example.tomo.Users.UserPrincipal;
+import com.example.tomo.global.Exception.InvalidTokenException;
+import com.example.tomo.global.Exception.TokenExpiredException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    static final String SECRET = "test-secret-key-for-tomo-jwt-provider-0123456789-abcdefghijklmnop";
+
+    static final UserPrincipal PRINCIPAL = new UserPrincipal(1L, "uid-1", "tomo@test.com", "tomo", 3);
+
+    JwtTokenProvider provider = new JwtTokenProvider(SECRET, 100);
+
+    @Test
+    void validateAccessToken_shouldRestorePrincipalFromClaims() throws Exception {
+        String token = provider.createAccessToken(PRINCIPAL);
+
+        assertThat(provider.validateAccessToken(token)).isEqualTo(PRINCIPAL);
+    }
+
+    @Test
+    void verifyAccessToken_shouldExposeDistinctJti() throws Exception {
+        VerifiedAccessToken first = provider.verifyAccessToken(provider.createAccessToken(PRINCIPAL));
+        VerifiedAccessToken second = provider.verifyAccessToken(provider.createAccessToken(PRINCIPAL));
+
+        assertThat(first.jti()).isNotBlank().isNotEqualTo(second.jti());
+        assertThat(first.expiresAtMillis()).isGreaterThan(System.currentTimeMillis());
+    }
+
+    @Test
+    void verifyAccessToken_shouldRejectRefreshToken() {
+        String refresh = provider.createRefreshToken("uid-1");
+
+        assertThatThrownBy(() -> provider.verifyAccessToken(refresh))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void verifyAccessToken_shouldRejectLegacyTokenWithoutType() {
+        String legacy = Jwts.builder()
+                .setSubject("uid-1")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThatThrownBy(() -> provider.verifyAccessToken(legacy))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void validateRefreshTokenAndGetUuid_shouldRejectAccessToken() throws Exception {
+        assertThat(provider.validateRefreshTokenAndGetUuid(provider.createRefreshToken("uid-1"))).isEqualTo("uid-1");
+        String access = provider.createAccessToken(PRINCIPAL);
+
+        assertThatThrownBy(() -> provider.validateRefreshTokenAndGetUuid(access))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void validateTokenAndGetUuid_shouldReturnSubjectRepeatedly() throws Exception {
+        String token = provider.createAccessToken(PRINCIPAL);
+
+        assertThat(provider.validateTokenAndGetUuid(token)).isEqualTo("uid-1");
+        // 두 번째는 캐시에서 반환
+        assertThat(provider.validateTokenAndGetUuid(token)).isEqualTo("uid-1");
+    }
+
+    @Test
+    void validateTokenAndGetUuid_shouldRejectTamperedToken() throws Exception {
+        String token = provider.createAccessToken(PRINCIPAL);
+        provider.validateTokenAndGetUuid(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> provider.validateTokenAndGetUuid(tampered))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void validateTokenAndGetUuid_shouldRejectExpiredToken() {
+        String expired = Jwts.builder()
+                .setSubject("uid-1")
+                .setExpiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThatThrownBy(() -> provider.validateTokenAndGetUuid(expired))
+                .isInstanceOf(TokenExpiredException.class);
+    }
+
+    @Test
+    void evictVerifiedTokens_shouldStillVerifyAfterEviction() throws Exception {
+        String token = provider.createAccessToken(PRINCIPAL);
+        provider.validateTokenAndGetUuid(token);
+
+        provider.evictVerifiedTokens("uid-1");
+
+        assertThat(provider.validateTokenAndGetUuid(token)).isEqualTo("uid-1");
+    }
+
+    @Test
+    void es256_shouldSignWithKidAndVerifyOldKeysDuringRotation() throws Exception {
+        KeyPair oldKey = ecKeyPair();
+        KeyPair newKey = ecKeyPair();
+
+        JwtTokenProvider before = new JwtTokenProvider(new JwtKeyRing(null, "k1", oldKey.getPrivate(),
+                Map.of("k1", (ECPublicKey) oldKey.getPublic())), 100);
+        String oldToken = before.createAccessToken(PRINCIPAL);
+
+        JwtTokenProvider after = new JwtTokenProvider(new JwtKeyRing(null, "k2", newKey.getPrivate(),
+                Map.of("k1", (ECPublicKey) oldKey.getPublic(), "k2", (ECPublicKey) newKey.getPublic())), 100);
+        String newToken = after.createAccessToken(PRINCIPAL);
+
+        String header = new String(Base64.getUrlDecoder().decode(newToken.substring(0, newToken.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        assertThat(header).contains("\"kid\":\"k2\"").contains("\"alg\":\"ES256\"");
+        assertThat(after.validateAccessToken(oldToken)).isEqualTo(PRINCIPAL);
+        assertThat(after.validateAccessToken(newToken)).isEqualTo(PRINCIPAL);
+        assertThat(after.jwks()).extracting(jwk -> jwk.get("kid")).containsExactly("k1", "k2");
+        assertThat(after.jwks().get(0)).containsEntry("kty", "EC").containsEntry("alg", "ES256");
+    }
+
+    @Test
+    void es256_shouldAcceptLegacyHmacTokensUntilSecretIsRemoved() throws Exception {
+        String legacyToken = provider.createAccessToken(PRINCIPAL);
+        KeyPair key = ecKeyPair();
+
+        JwtTokenProvider migrating = new JwtTokenProvider(new JwtKeyRing(
+                Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), "k1", key.getPrivate(),
+                Map.of("k1", (ECPublicKey) key.getPublic())), 100);
+        JwtTokenProvider migrated = new JwtTokenProvider(new JwtKeyRing(
+                null, "k1", key.getPrivate(), Map.of("k1", (ECPublicKey) key.getPublic())), 100);
+
+        assertThat(migrating.validateAccessToken(legacyToken)).isEqualTo(PRINCIPAL);
+        assertThatThrownBy(() -> migrated.validateAccessToken(legacyToken))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    private static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}